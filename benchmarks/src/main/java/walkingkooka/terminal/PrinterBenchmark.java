@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printer;
+import walkingkooka.text.printer.Printers;
+
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures print and println throughput for the {@link Printer} implementations used by terminals, writing to a
+ * destination that discards everything.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrinterBenchmark {
+
+    @Param({"sink", "buffered", "channel"})
+    public String printer;
+
+    @Param({"16", "1024"})
+    public int length;
+
+    private Printer target;
+
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (this.printer) {
+            case "sink":
+                this.target = Printers.sink(LineEnding.NL);
+                break;
+            case "buffered":
+                this.target = TerminalPrinters.buffered(
+                    8192,
+                    Long.MAX_VALUE,
+                    System::currentTimeMillis,
+                    Printers.sink(LineEnding.NL)
+                );
+                break;
+            case "channel":
+                this.target = TerminalPrinters.channel(
+                    Channels.newChannel(OutputStream.nullOutputStream()),
+                    StandardCharsets.UTF_8.newEncoder(),
+                    LineEnding.NL
+                );
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown printer " + this.printer);
+        }
+
+        this.text = "x".repeat(this.length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.target.flush();
+    }
+
+    @Benchmark
+    public void print() {
+        this.target.print(this.text);
+    }
+
+    @Benchmark
+    public void println() {
+        this.target.println(this.text);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.io.TextReaders;
+import walkingkooka.storage.StorageEnvironmentContext;
+import walkingkooka.storage.StorageEnvironmentContextTesting;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printers;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TerminalContext#cloneEnvironment()} of a basic {@link TerminalContext}, which is copy on write,
+ * against cloning the whole {@link StorageEnvironmentContext}, which is what every clone cost before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TerminalContextCloneEnvironmentBenchmark {
+
+    @Param({"1", "16", "256"})
+    public int environmentValueCount;
+
+    private StorageEnvironmentContext storageEnvironmentContext;
+
+    private TerminalContext context;
+
+    private EnvironmentValueName<String> name;
+
+    @Setup
+    public void setup() {
+        this.storageEnvironmentContext = StorageEnvironmentContextTesting.STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment();
+
+        for (int i = 0; i < this.environmentValueCount; i++) {
+            this.name = EnvironmentValueName.with(
+                "name" + i,
+                String.class
+            );
+            this.storageEnvironmentContext.setEnvironmentValue(
+                this.name,
+                "value" + i
+            );
+        }
+
+        this.context = TerminalContexts.basic(
+            TerminalId.with(1),
+            TextReaders.fake(),
+            Printers.sink(LineEnding.NL),
+            Printers.sink(LineEnding.NL),
+            (e, c) -> e,
+            (v) -> {
+            },
+            this.storageEnvironmentContext
+        );
+    }
+
+    @Benchmark
+    public StorageEnvironmentContext cloneStorageEnvironmentContext() {
+        return this.storageEnvironmentContext.cloneEnvironment();
+    }
+
+    @Benchmark
+    public TerminalContext cloneEnvironment() {
+        return this.context.cloneEnvironment();
+    }
+
+    @Benchmark
+    public Optional<String> cloneEnvironmentAndRead() {
+        return this.context.cloneEnvironment()
+            .environmentValue(this.name);
+    }
+
+    @Benchmark
+    public TerminalContext cloneEnvironmentAndWrite() {
+        final TerminalContext clone = this.context.cloneEnvironment();
+        clone.setEnvironmentValue(
+            this.name,
+            "written"
+        );
+        return clone;
+    }
+}
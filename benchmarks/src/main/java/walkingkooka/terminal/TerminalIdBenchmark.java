@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.tree.json.JsonNode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TerminalId} parsing, printing and a JSON round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TerminalIdBenchmark {
+
+    @Param({"1", "7fffffffffffffff"})
+    public String text;
+
+    /**
+     * The next value given to {@link TerminalId#with(long)}, a different value every call, so the cache never returns
+     * an instance with an already computed {@link TerminalId#toString()}.
+     */
+    private long next;
+
+    private String json;
+
+    @Setup
+    public void setup() {
+        this.next = Long.parseLong(
+            this.text,
+            16
+        );
+        this.json = JsonNode.string(this.text)
+            .toString();
+    }
+
+    @Benchmark
+    public TerminalId parse() {
+        return TerminalId.parse(this.text);
+    }
+
+    @Benchmark
+    public String toStringUncached() {
+        return TerminalId.with(this.next++)
+            .toString();
+    }
+
+    @Benchmark
+    public TerminalId jsonRoundTrip() {
+        // the same steps as the registered TerminalId json unmarshaller and marshaller
+        final TerminalId id = TerminalId.parse(
+            JsonNode.parse(this.json)
+                .stringOrFail()
+        );
+
+        final String json = JsonNode.string(id.toString())
+            .toString();
+
+        return TerminalId.parse(
+            JsonNode.parse(json)
+                .stringOrFail()
+        );
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.expression.function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.io.FakeTextReader;
+import walkingkooka.io.TextReader;
+import walkingkooka.terminal.expression.FakeTerminalExpressionEvaluationContext;
+import walkingkooka.terminal.expression.TerminalExpressionEvaluationContext;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printer;
+import walkingkooka.text.printer.Printers;
+import walkingkooka.tree.expression.function.ExpressionFunction;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures shell line handling through the public {@link TerminalExpressionFunctions#shell()}, both BACKSPACE
+ * processing of a single long line and joining many continuation lines into a single command.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TerminalExpressionFunctionShellBenchmark {
+
+    private final static char BACKSPACE = (char) 127;
+
+    @Param({"100", "10000", "100000"})
+    public int length;
+
+    /**
+     * A single line where every third character is a BACKSPACE, similar to a replayed session with many edits.
+     */
+    private String[] edited;
+
+    private String[] continued;
+
+    @Setup
+    public void setup() {
+        final StringBuilder edited = new StringBuilder();
+        for (int i = 0; i < this.length; i++) {
+            edited.append(
+                0 == i % 3 ?
+                    BACKSPACE :
+                    (char) ('a' + i % 26)
+            );
+        }
+        this.edited = new String[]{
+            edited.toString()
+        };
+
+        final int lineCount = Math.max(
+            1,
+            this.length / 80
+        );
+        final String[] continued = new String[lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            continued[i] = "x".repeat(79) +
+                (i < lineCount - 1 ? "\\" : "");
+        }
+        this.continued = continued;
+    }
+
+    @Benchmark
+    public Integer backspaceLine() {
+        return shell(this.edited);
+    }
+
+    @Benchmark
+    public Integer continuationLines() {
+        return shell(this.continued);
+    }
+
+    /**
+     * Runs the shell until all the given lines have been read.
+     */
+    private static Integer shell(final String[] lines) {
+        final TerminalExpressionEvaluationContext context = new FakeTerminalExpressionEvaluationContext() {
+
+            private int next;
+
+            @Override
+            public boolean isTerminalOpen() {
+                return this.next < lines.length;
+            }
+
+            @Override
+            public TextReader input() {
+                return this.input;
+            }
+
+            private final TextReader input = new FakeTextReader() {
+                @Override
+                public Optional<String> readLine(final long timeout) {
+                    return Optional.of(
+                        lines[next++]
+                    );
+                }
+            };
+
+            @Override
+            public Printer output() {
+                return OUTPUT;
+            }
+
+            @Override
+            public Printer error() {
+                return OUTPUT;
+            }
+
+            @Override
+            public LineEnding lineEnding() {
+                return LineEnding.NL;
+            }
+
+            @Override
+            public Object evaluate(final String expression) {
+                return null;
+            }
+        };
+
+        return SHELL.apply(
+            PARAMETERS,
+            context
+        );
+    }
+
+    private final static ExpressionFunction<Integer, TerminalExpressionEvaluationContext> SHELL = TerminalExpressionFunctions.shell();
+
+    private final static Printer OUTPUT = Printers.sink(LineEnding.NL);
+
+    private final static List<Object> PARAMETERS = Lists.of(1);
+}
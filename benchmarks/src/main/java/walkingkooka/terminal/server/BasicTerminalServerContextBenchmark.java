@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.terminal.FakeTerminalContext;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+import walkingkooka.terminal.TerminalIds;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TerminalServerContexts#basic(java.util.function.Supplier)} add, lookup and remove with several threads sharing a single registry.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class BasicTerminalServerContextBenchmark {
+
+    private final static int PREFILLED = 10_000;
+
+    private TerminalServerContext context;
+
+    @Setup
+    public void setup() {
+        this.context = TerminalServerContexts.basic(
+            TerminalIds.sequence(1)
+        );
+
+        for (int i = 0; i < PREFILLED; i++) {
+            this.context.addTerminalContext(TestTerminalContext::new);
+        }
+    }
+
+    @Benchmark
+    public Optional<TerminalContext> lookup() {
+        return this.context.terminalContext(
+            1 + ThreadLocalRandom.current()
+                .nextInt(PREFILLED)
+        );
+    }
+
+    @Benchmark
+    public TerminalServerContext addRemove() {
+        final TerminalContext added = this.context.addTerminalContext(TestTerminalContext::new);
+        return this.context.removeTerminalContext(
+            added.terminalId()
+        );
+    }
+
+    static final class TestTerminalContext extends FakeTerminalContext {
+
+        TestTerminalContext(final TerminalId terminalId) {
+            this.terminalId = terminalId;
+        }
+
+        @Override
+        public TerminalId terminalId() {
+            return this.terminalId;
+        }
+
+        private final TerminalId terminalId;
+
+        @Override
+        public Optional<EmailAddress> user() {
+            return Optional.empty();
+        }
+    }
+}
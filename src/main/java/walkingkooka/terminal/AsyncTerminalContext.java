@@ -0,0 +1,45 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.environment.EnvironmentContext;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link TerminalContext} that can also evaluate without blocking the caller, which allows a small pool of workers
+ * to serve many terminals.
+ */
+@GwtIncompatible
+public interface AsyncTerminalContext extends TerminalContext {
+
+    /**
+     * Evaluates the given expression text, completing the returned {@link CompletionStage} with the value or
+     * exceptionally with any thrown exception. Evaluations for the same terminal happen in the order they were submitted.
+     */
+    CompletionStage<Object> evaluateAsync(final String expression);
+
+    // EnvironmentContext...............................................................................................
+
+    @Override
+    AsyncTerminalContext cloneEnvironment();
+
+    @Override
+    AsyncTerminalContext setEnvironmentContext(final EnvironmentContext environmentContext);
+}
@@ -18,12 +18,19 @@
 package walkingkooka.terminal;
 
 import walkingkooka.environment.EnvironmentContext;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.net.email.EmailAddress;
 import walkingkooka.io.TextReader;
 import walkingkooka.storage.StorageEnvironmentContext;
 import walkingkooka.storage.StorageEnvironmentContextDelegator;
+import walkingkooka.storage.StoragePath;
 import walkingkooka.text.printer.Printer;
 
+import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
@@ -31,10 +38,42 @@ import java.util.function.Function;
 
 /**
  * A {@link TerminalContext} that reads line from a {@link Function}, with the timeout, and prints to a {@link Printer}.
+ * When created without an openTester, the terminal is open until {@link #exitTerminal(Object)} is called, and the
+ * open state is shared by all clones.
+ * <br>
+ * {@link #cloneEnvironment()} is copy on write, the clone shares the {@link StorageEnvironmentContext} until either
+ * needs it for anything other than a read, which then clones it. Cloning per evaluation for isolation is then
+ * cheap for evaluations that only read the environment.
  */
 final class BasicTerminalContext implements TerminalContext,
     StorageEnvironmentContextDelegator {
 
+    static BasicTerminalContext with(final TerminalId terminalId,
+                                     final TextReader input,
+                                     final Printer output,
+                                     final Printer error,
+                                     final BiFunction<String, TerminalContext, Object> evaluator,
+                                     final Consumer<Object> exitValue,
+                                     final StorageEnvironmentContext storageEnvironmentContext) {
+        Objects.requireNonNull(exitValue, "exitValue");
+
+        final BasicTerminalContextOpenTester openTester = BasicTerminalContextOpenTester.open();
+
+        return with(
+            terminalId,
+            openTester,
+            input,
+            output,
+            error,
+            evaluator,
+            (v) -> {
+                openTester.close();
+                exitValue.accept(v);
+            },
+            storageEnvironmentContext
+        );
+    }
+
     static BasicTerminalContext with(final TerminalId terminalId,
                                      final BooleanSupplier openTester,
                                      final TextReader input,
@@ -46,40 +85,45 @@ final class BasicTerminalContext implements TerminalContext,
         return new BasicTerminalContext(
             Objects.requireNonNull(terminalId, "terminalId"),
             Objects.requireNonNull(openTester, "openTester"),
-            Objects.requireNonNull(input, "input"),
-            Objects.requireNonNull(output, "output"),
-            Objects.requireNonNull(error, "error"),
+            BasicTerminalContextEndpoints.with(
+                input,
+                output,
+                error
+            ),
             Objects.requireNonNull(evaluator, "evaluator"),
             Objects.requireNonNull(exitValue, "exitValue"),
-            Objects.requireNonNull(storageEnvironmentContext, "storageEnvironmentContext")
+            Objects.requireNonNull(storageEnvironmentContext, "storageEnvironmentContext"),
+            false // shared
         );
     }
 
     private BasicTerminalContext(final TerminalId terminalId,
                                  final BooleanSupplier openTester,
-                                 final TextReader input,
-                                 final Printer output,
-                                 final Printer error,
+                                 final BasicTerminalContextEndpoints endpoints,
                                  final BiFunction<String, TerminalContext, Object> evaluator,
                                  final Consumer<Object> exitValue,
-                                 final StorageEnvironmentContext storageEnvironmentContext) {
+                                 final StorageEnvironmentContext storageEnvironmentContext,
+                                 final boolean shared) {
         this.terminalId = terminalId;
 
         this.openTester = openTester;
 
-        this.input = input;
-        this.output = output;
-        this.error = error;
+        this.endpoints = endpoints;
 
         this.evaluator = evaluator;
 
         this.exitValue = exitValue;
 
         this.storageEnvironmentContext = storageEnvironmentContext;
-        storageEnvironmentContext.setEnvironmentValue(
-            TERMINAL_ID,
-            terminalId
-        );
+        this.shared = shared;
+
+        // a shared StorageEnvironmentContext already has the TERMINAL_ID
+        if (false == shared) {
+            storageEnvironmentContext.setEnvironmentValue(
+                TERMINAL_ID,
+                terminalId
+            );
+        }
     }
 
     @Override
@@ -93,14 +137,25 @@ final class BasicTerminalContext implements TerminalContext,
     public TextReader input() {
         this.verifyTerminalOpen();
 
-        return this.input;
+        return this.endpoints.input();
     }
 
-    private final TextReader input;
-
     @Override
     public void exitTerminal(final Object value) {
-        this.exitValue.accept(value);
+        try {
+            this.exitValue.accept(value);
+        } finally {
+            // wake up any shell parked reading input, after closing so it notices the terminal has closed.
+            closeInput(
+                this.endpoints.input()
+            );
+        }
+    }
+
+    private static void closeInput(final TextReader input) {
+        if (input instanceof TerminalTextReader) {
+            ((TerminalTextReader) input).closeInput();
+        }
     }
 
     private final Consumer<Object> exitValue;
@@ -122,28 +177,57 @@ final class BasicTerminalContext implements TerminalContext,
     public Printer output() {
         this.verifyTerminalOpen();
         
-        return this.output;
+        return this.endpoints.output();
     }
 
-    private final Printer output;
-
     @Override
     public Printer error() {
         this.verifyTerminalOpen();
         
-        return this.error;
+        return this.endpoints.error();
     }
 
-    private final Printer error;
+    @Override
+    public void attachTerminal(final TextReader input,
+                               final Printer output,
+                               final Printer error) {
+        final TextReader previous = this.endpoints.input();
+
+        this.endpoints.attach(
+            input,
+            output,
+            error
+        );
+
+        // the previous client has gone, wake up any shell parked reading its input, so it reads the new input.
+        if (previous != input) {
+            closeInput(previous);
+        }
+    }
+
+    /**
+     * Shared by all clones, so attaching new endpoints to any clone updates them all.
+     */
+    private final BasicTerminalContextEndpoints endpoints;
 
     @Override
     public Object evaluate(final String expression) {
+        return this.evaluate(
+            expression,
+            this
+        );
+    }
+
+    @Override
+    public Object evaluate(final String expression,
+                           final TerminalContext context) {
         Objects.requireNonNull(expression, "expression");
+        Objects.requireNonNull(context, "context");
         this.verifyTerminalOpen();
 
         return this.evaluator.apply(
             expression,
-            this
+            context
         );
     }
 
@@ -153,13 +237,28 @@ final class BasicTerminalContext implements TerminalContext,
 
     @Override
     public TerminalContext cloneEnvironment() {
-        return this.setEnvironmentContext(
-            this.storageEnvironmentContext.cloneEnvironment()
+        final StorageEnvironmentContext storageEnvironmentContext;
+
+        synchronized (this) {
+            this.shared = true;
+            storageEnvironmentContext = this.storageEnvironmentContext;
+        }
+
+        return new BasicTerminalContext(
+            this.terminalId,
+            this.openTester,
+            this.endpoints,
+            this.evaluator,
+            this.exitValue,
+            storageEnvironmentContext,
+            true // shared
         );
     }
 
     @Override
     public TerminalContext setEnvironmentContext(final EnvironmentContext context) {
+        // read the field, setEnvironmentContext returns a new context rather than changing this one,
+        // so no copy on write clone is needed.
         final StorageEnvironmentContext before = this.storageEnvironmentContext;
         final StorageEnvironmentContext after = before.setEnvironmentContext(context);
 
@@ -168,26 +267,80 @@ final class BasicTerminalContext implements TerminalContext,
             new BasicTerminalContext(
                 this.terminalId,
                 this.openTester,
-                this.input,
-                this.output,
-                this.error,
+                this.endpoints,
                 this.evaluator,
                 this.exitValue,
-                Objects.requireNonNull(after, "context")
+                Objects.requireNonNull(after, "context"),
+                false // shared
             );
     }
 
+    // reads use the StorageEnvironmentContext even when shared, without cloning it.
+
+    @Override
+    public <T> Optional<T> environmentValue(final EnvironmentValueName<T> name) {
+        return this.storageEnvironmentContext.environmentValue(name);
+    }
+
+    @Override
+    public Set<EnvironmentValueName<?>> environmentValueNames() {
+        return this.storageEnvironmentContext.environmentValueNames();
+    }
+
+    @Override
+    public Locale locale() {
+        return this.storageEnvironmentContext.locale();
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return this.storageEnvironmentContext.now();
+    }
+
+    @Override
+    public Optional<EmailAddress> user() {
+        return this.storageEnvironmentContext.user();
+    }
+
+    @Override
+    public Optional<StoragePath> currentWorkingDirectory() {
+        return this.storageEnvironmentContext.currentWorkingDirectory();
+    }
+
+    @Override
+    public Optional<StoragePath> homeDirectory() {
+        return this.storageEnvironmentContext.homeDirectory();
+    }
+
+    /**
+     * Every other {@link StorageEnvironmentContextDelegator} method, including all setters, goes through this method,
+     * which clones a shared {@link StorageEnvironmentContext} first, so changes are never seen by other clones.
+     */
     @Override
     public StorageEnvironmentContext storageEnvironmentContext() {
+        if (this.shared) {
+            synchronized (this) {
+                if (this.shared) {
+                    this.storageEnvironmentContext = this.storageEnvironmentContext.cloneEnvironment();
+                    this.shared = false;
+                }
+            }
+        }
         return this.storageEnvironmentContext;
     }
 
-    private final StorageEnvironmentContext storageEnvironmentContext;
+    private volatile StorageEnvironmentContext storageEnvironmentContext;
+
+    /**
+     * When true the {@link StorageEnvironmentContext} may also be used by a clone and must be cloned before it is used
+     * for anything other than a read.
+     */
+    private volatile boolean shared;
 
     // Object...........................................................................................................
 
     @Override
     public String toString() {
-        return this.terminalId + ", input: " + this.input + ", output: " + this.output + ", error: " + this.error + " " + this.storageEnvironmentContext;
+        return this.terminalId + ", " + this.endpoints + " " + this.storageEnvironmentContext;
     }
 }
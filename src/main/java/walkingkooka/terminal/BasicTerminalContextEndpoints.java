@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import walkingkooka.io.TextReader;
+import walkingkooka.text.printer.Printer;
+
+import java.util.Objects;
+
+/**
+ * Holds the input, output and error of a {@link BasicTerminalContext}, shared by all its clones, so a client that
+ * reconnects may {@link #attach(TextReader, Printer, Printer)} new endpoints to a running terminal. The endpoints are
+ * an immutable {@link Attached} swapped through a single volatile field, so an attach replaces all three at once
+ * without any locking.
+ */
+final class BasicTerminalContextEndpoints {
+
+    static BasicTerminalContextEndpoints with(final TextReader input,
+                                              final Printer output,
+                                              final Printer error) {
+        return new BasicTerminalContextEndpoints(
+            new Attached(
+                Objects.requireNonNull(input, "input"),
+                Objects.requireNonNull(output, "output"),
+                Objects.requireNonNull(error, "error")
+            )
+        );
+    }
+
+    private BasicTerminalContextEndpoints(final Attached attached) {
+        this.attached = attached;
+    }
+
+    void attach(final TextReader input,
+                final Printer output,
+                final Printer error) {
+        this.attached = new Attached(
+            Objects.requireNonNull(input, "input"),
+            Objects.requireNonNull(output, "output"),
+            Objects.requireNonNull(error, "error")
+        );
+    }
+
+    private volatile Attached attached;
+
+    TextReader input() {
+        return this.attached.input;
+    }
+
+    Printer output() {
+        return this.attached.output;
+    }
+
+    Printer error() {
+        return this.attached.error;
+    }
+
+    /**
+     * An immutable input, output and error.
+     */
+    private final static class Attached {
+
+        Attached(final TextReader input,
+                 final Printer output,
+                 final Printer error) {
+            this.input = input;
+            this.output = output;
+            this.error = error;
+        }
+
+        final TextReader input;
+
+        final Printer output;
+
+        final Printer error;
+
+        @Override
+        public String toString() {
+            return "input: " + this.input + ", output: " + this.output + ", error: " + this.error;
+        }
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.attached.toString();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * A {@link BooleanSupplier} that holds the open state of a terminal, which starts open and is pushed closed by
+ * {@link #close()}. Testing the state is a single volatile field read, unlike an openTester that may query a
+ * connection each time.
+ */
+final class BasicTerminalContextOpenTester implements BooleanSupplier {
+
+    static BasicTerminalContextOpenTester open() {
+        return new BasicTerminalContextOpenTester();
+    }
+
+    private BasicTerminalContextOpenTester() {
+        super();
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        return this.open;
+    }
+
+    void close() {
+        this.open = false;
+    }
+
+    private volatile boolean open = true;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.open ?
+            "open" :
+            "closed";
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+
+/**
+ * A {@link TerminalTextReader} that parks readers in {@link #readLine(long)} until a complete line is added,
+ * the input is closed or the timeout expires. Unlike polling readers no time is spent waking up when there is no input.
+ * <br>
+ * Lines are terminated by CR, LF or CRLF, and the line terminator is not included in the returned line.
+ */
+@GwtIncompatible
+final class BlockingTerminalTextReader implements TerminalTextReader {
+
+    static BlockingTerminalTextReader empty() {
+        return new BlockingTerminalTextReader();
+    }
+
+    private BlockingTerminalTextReader() {
+        super();
+    }
+
+    // TerminalTextReader...............................................................................................
+
+    @Override
+    public void addInput(final CharSequence text) {
+        Objects.requireNonNull(text, "text");
+
+        synchronized (this.lock) {
+            if (this.closed) {
+                throw new IllegalStateException("Input closed");
+            }
+
+            final int linesBefore = this.lines.size();
+            final int length = text.length();
+
+            for (int i = 0; i < length; i++) {
+                final char c = text.charAt(i);
+
+                switch (c) {
+                    case '\n':
+                        // LF following CR completes a CRLF and has already been handled
+                        if (false == this.skipLf) {
+                            this.addLine();
+                        }
+                        this.skipLf = false;
+                        break;
+                    case '\r':
+                        this.addLine();
+                        this.skipLf = true;
+                        break;
+                    default:
+                        this.line.append(c);
+                        this.skipLf = false;
+                        break;
+                }
+            }
+
+            if (linesBefore != this.lines.size()) {
+                this.lock.notifyAll();
+            }
+        }
+    }
+
+    private void addLine() {
+        this.lines.add(
+            this.line.toString()
+        );
+        this.line.setLength(0);
+    }
+
+    @Override
+    public void closeInput() {
+        synchronized (this.lock) {
+            if (false == this.closed) {
+                if (this.line.length() > 0) {
+                    this.addLine();
+                }
+                this.closed = true;
+                this.lock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public boolean isInputClosed() {
+        synchronized (this.lock) {
+            return this.closed;
+        }
+    }
+
+    // TextReader.......................................................................................................
+
+    /**
+     * Waits until a line is available, the input is closed or the timeout expires. A timeout of zero or less will
+     * return immediately. An interrupted wait restores the interrupt flag and throws {@link IllegalStateException},
+     * so a reader such as a shell stops rather than spinning on a wait that fails immediately.
+     */
+    @Override
+    public Optional<String> readLine(final long timeout) {
+        synchronized (this.lock) {
+            final long start = System.currentTimeMillis();
+            long deadline = start + timeout;
+            if (deadline < start) {
+                deadline = Long.MAX_VALUE; // overflow
+            }
+
+            long remaining = timeout;
+
+            while (this.lines.isEmpty() && false == this.closed && remaining > 0) {
+                try {
+                    this.lock.wait(remaining);
+                } catch (final InterruptedException cause) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted", cause);
+                }
+                remaining = deadline - System.currentTimeMillis();
+            }
+
+            return Optional.ofNullable(
+                this.lines.poll()
+            );
+        }
+    }
+
+    private final Object lock = new Object();
+
+    /**
+     * Complete lines waiting to be read.
+     */
+    private final Queue<String> lines = new ArrayDeque<>();
+
+    /**
+     * The incomplete line being accumulated.
+     */
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * Set after a CR so a following LF is ignored.
+     */
+    private boolean skipLf;
+
+    private boolean closed;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        synchronized (this.lock) {
+            return this.lines.size() + " line(s)" + (this.closed ? " closed" : "");
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printer;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link Printer} that accumulates printed text, so many small prints are written as a few large prints to the
+ * wrapped {@link Printer}. The buffer is written when
+ * <ul>
+ *     <li>it holds at least bufferSize characters, or {@link #MAX_BUFFER_SIZE} if bufferSize is zero</li>
+ *     <li>a print happens at least flushInterval after the last write, if flushInterval is greater than zero</li>
+ *     <li>{@link #flush()} is called, which the shell does at the end of each evaluation</li>
+ * </ul>
+ * The flushInterval is flush-on-next-write, it is only tested when something is printed, there is no timer. Text
+ * printed just before a pause remains buffered until the next print, {@link #flush()} or {@link #close()}, no matter
+ * how long the pause.
+ * <br>
+ * Setting both bufferSize and flushInterval to zero buffers everything until the end of the evaluation, or until
+ * {@link #MAX_BUFFER_SIZE} characters are buffered, so a long running evaluation cannot grow the buffer without limit.
+ */
+final class BufferedTerminalPrinter implements Printer {
+
+    static BufferedTerminalPrinter with(final int bufferSize,
+                                        final long flushInterval,
+                                        final LongSupplier now,
+                                        final Printer printer) {
+        if (bufferSize < 0) {
+            throw new IllegalArgumentException("Invalid bufferSize " + bufferSize + " < 0");
+        }
+        if (flushInterval < 0) {
+            throw new IllegalArgumentException("Invalid flushInterval " + flushInterval + " < 0");
+        }
+
+        return new BufferedTerminalPrinter(
+            bufferSize,
+            flushInterval,
+            Objects.requireNonNull(now, "now"),
+            Objects.requireNonNull(printer, "printer")
+        );
+    }
+
+    private BufferedTerminalPrinter(final int bufferSize,
+                                    final long flushInterval,
+                                    final LongSupplier now,
+                                    final Printer printer) {
+        this.bufferSize = 0 == bufferSize ?
+            MAX_BUFFER_SIZE :
+            bufferSize;
+        this.flushInterval = flushInterval;
+        this.now = now;
+        this.printer = printer;
+
+        this.lastWrite = now.getAsLong();
+    }
+
+    @Override
+    public void print(final CharSequence chars) {
+        Objects.requireNonNull(chars, "chars");
+
+        synchronized (this.buffer) {
+            this.buffer.append(chars);
+
+            if (this.buffer.length() >= this.bufferSize) {
+                this.write();
+            } else {
+                final long flushInterval = this.flushInterval;
+                if (flushInterval > 0 && this.now.getAsLong() - this.lastWrite >= flushInterval) {
+                    this.write();
+                }
+            }
+        }
+    }
+
+    @Override
+    public LineEnding lineEnding() {
+        return this.printer.lineEnding();
+    }
+
+    @Override
+    public void flush() {
+        synchronized (this.buffer) {
+            this.write();
+        }
+        this.printer.flush();
+    }
+
+    @Override
+    public void close() {
+        this.flush();
+        this.printer.close();
+    }
+
+    /**
+     * Prints any buffered text to the wrapped {@link Printer}, the caller must hold the buffer lock.
+     */
+    private void write() {
+        final StringBuilder buffer = this.buffer;
+        if (buffer.length() > 0) {
+            this.printer.print(
+                buffer.toString()
+            );
+            buffer.setLength(0);
+        }
+        this.lastWrite = this.now.getAsLong();
+    }
+
+    /**
+     * The buffer size used when none is given, so text is always eventually written.
+     */
+    // @VisibleForTesting
+    final static int MAX_BUFFER_SIZE = 64 * 1024;
+
+    private final int bufferSize;
+
+    private final long flushInterval;
+
+    private final LongSupplier now;
+
+    private final Printer printer;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private long lastWrite;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.printer.toString();
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import walkingkooka.Cast;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * An evaluator for {@link TerminalContext#evaluate(String)} that splits parsing from evaluating, keeping a bounded
+ * least recently used cache of parsed expressions which may be shared by many {@link TerminalContext terminals}.
+ * Entries are keyed by the command text and an environment key, such as the {@link java.util.Locale}, so commands
+ * that parse differently in different environments are not confused.
+ * <br>
+ * Large caches are split into {@link #SEGMENT_COUNT} segments selected by the key hash, each a least recently used
+ * cache with its own lock and a share of the maxSize, so concurrent hits on different commands rarely contend. Small
+ * caches use a single segment, so eviction is exactly least recently used.
+ */
+final class CachingTerminalContextEvaluator<P> implements BiFunction<String, TerminalContext, Object> {
+
+    static <P> CachingTerminalContextEvaluator<P> with(final BiFunction<String, TerminalContext, P> parser,
+                                                       final BiFunction<P, TerminalContext, Object> evaluator,
+                                                       final Function<TerminalContext, Object> environmentKey,
+                                                       final int maxSize) {
+        Objects.requireNonNull(parser, "parser");
+        Objects.requireNonNull(evaluator, "evaluator");
+        Objects.requireNonNull(environmentKey, "environmentKey");
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid maxSize " + maxSize + " <= 0");
+        }
+
+        return new CachingTerminalContextEvaluator<>(
+            parser,
+            evaluator,
+            environmentKey,
+            maxSize
+        );
+    }
+
+    private CachingTerminalContextEvaluator(final BiFunction<String, TerminalContext, P> parser,
+                                            final BiFunction<P, TerminalContext, Object> evaluator,
+                                            final Function<TerminalContext, Object> environmentKey,
+                                            final int maxSize) {
+        this.parser = parser;
+        this.evaluator = evaluator;
+        this.environmentKey = environmentKey;
+        this.maxSize = maxSize;
+
+        final int segmentCount = maxSize >= SEGMENT_COUNT * MIN_SEGMENT_SIZE ?
+            SEGMENT_COUNT :
+            1;
+        final Segment<P>[] segments = Cast.to(new Segment[segmentCount]);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(
+                maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0)
+            );
+        }
+        this.segments = segments;
+    }
+
+    /**
+     * The number of segments of a large cache, must be a power of two.
+     */
+    // @VisibleForTesting
+    final static int SEGMENT_COUNT = 16;
+
+    /**
+     * Caches smaller than {@link #SEGMENT_COUNT} times this use a single segment.
+     */
+    // @VisibleForTesting
+    final static int MIN_SEGMENT_SIZE = 16;
+
+    @Override
+    public Object apply(final String text,
+                        final TerminalContext context) {
+        Objects.requireNonNull(text, "text");
+        Objects.requireNonNull(context, "context");
+
+        final CachingTerminalContextEvaluatorKey key = CachingTerminalContextEvaluatorKey.with(
+            text,
+            this.environmentKey.apply(context)
+        );
+
+        final Segment<P> segment = this.segment(key);
+
+        P parsed;
+        synchronized (segment) {
+            parsed = segment.get(key);
+        }
+
+        if (null == parsed) {
+            // parse outside the lock, a concurrent miss for the same text simply parses twice
+            parsed = this.parser.apply(
+                text,
+                context
+            );
+
+            if (null != parsed) {
+                synchronized (segment) {
+                    segment.put(
+                        key,
+                        parsed
+                    );
+                }
+            }
+        }
+
+        return this.evaluator.apply(
+            parsed,
+            context
+        );
+    }
+
+    private Segment<P> segment(final CachingTerminalContextEvaluatorKey key) {
+        final Segment<P>[] segments = this.segments;
+        final int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    // @VisibleForTesting
+    int size() {
+        int size = 0;
+        for (final Segment<P> segment : this.segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    // @VisibleForTesting
+    int segmentCount() {
+        return this.segments.length;
+    }
+
+    private final BiFunction<String, TerminalContext, P> parser;
+
+    private final BiFunction<P, TerminalContext, Object> evaluator;
+
+    private final Function<TerminalContext, Object> environmentKey;
+
+    private final int maxSize;
+
+    private final Segment<P>[] segments;
+
+    /**
+     * A least recently used cache holding a share of the entries, guarded by its own monitor.
+     */
+    private final static class Segment<P> extends LinkedHashMap<CachingTerminalContextEvaluatorKey, P> {
+
+        Segment(final int maxSize) {
+            super(
+                16,
+                0.75f,
+                true // access order
+            );
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<CachingTerminalContextEvaluatorKey, P> eldest) {
+            return this.size() > this.maxSize;
+        }
+
+        private final int maxSize;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.parser + " " + this.evaluator + " " + this.size() + "/" + this.maxSize;
+    }
+}
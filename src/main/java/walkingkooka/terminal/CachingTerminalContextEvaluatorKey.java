@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import walkingkooka.Cast;
+
+import java.util.Objects;
+
+/**
+ * The key for a cached parsed expression, the command text and the environment key it was parsed with.
+ */
+final class CachingTerminalContextEvaluatorKey {
+
+    static CachingTerminalContextEvaluatorKey with(final String text,
+                                                   final Object environment) {
+        return new CachingTerminalContextEvaluatorKey(
+            text,
+            environment
+        );
+    }
+
+    private CachingTerminalContextEvaluatorKey(final String text,
+                                               final Object environment) {
+        this.text = text;
+        this.environment = environment;
+    }
+
+    private final String text;
+
+    private final Object environment;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return 31 * this.text.hashCode() + Objects.hashCode(this.environment);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof CachingTerminalContextEvaluatorKey &&
+                this.equals0(Cast.to(other));
+    }
+
+    private boolean equals0(final CachingTerminalContextEvaluatorKey other) {
+        return this.text.equals(other.text) &&
+            Objects.equals(
+                this.environment,
+                other.environment
+            );
+    }
+
+    @Override
+    public String toString() {
+        return this.text + " " + this.environment;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.util.function.BiFunction;
+
+/**
+ * An evaluator for {@link TerminalContext#evaluate(String)} whose in-flight evaluations may be cancelled, for example
+ * when a user presses Ctrl-C or the terminal is removed.
+ */
+@GwtIncompatible
+public interface CancellableTerminalContextEvaluator extends BiFunction<String, TerminalContext, Object> {
+
+    /**
+     * Cancels any evaluation running for the given {@link TerminalId}, returning true if one was cancelled.
+     */
+    boolean cancel(final TerminalId terminalId);
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.util.Objects;
+
+/**
+ * A {@link Printer} that encodes text directly into a direct {@link ByteBuffer} and writes to a {@link WritableByteChannel},
+ * bypassing the locking and per character work of {@link java.io.PrintStream}. Bytes are only written to the channel
+ * when the buffer is full or on {@link #flush()}.
+ * <br>
+ * Malformed and unmappable characters are replaced rather than failing the print. {@link #flush()} and {@link #close()}
+ * end the input to the encoder, so a trailing unpaired high surrogate is written as a replacement rather than dropped.
+ * <br>
+ * {@link #close()} flushes but never closes the channel, which belongs to the caller and is typically the process wide
+ * standard output or error.
+ */
+@GwtIncompatible
+final class ChannelPrinter implements Printer {
+
+    final static int BUFFER_SIZE = 8192;
+
+    static ChannelPrinter with(final WritableByteChannel channel,
+                               final CharsetEncoder encoder,
+                               final LineEnding lineEnding) {
+        return new ChannelPrinter(
+            Objects.requireNonNull(channel, "channel"),
+            Objects.requireNonNull(encoder, "encoder"),
+            Objects.requireNonNull(lineEnding, "lineEnding")
+        );
+    }
+
+    private ChannelPrinter(final WritableByteChannel channel,
+                           final CharsetEncoder encoder,
+                           final LineEnding lineEnding) {
+        this.channel = channel;
+        this.encoder = encoder.onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.lineEnding = lineEnding;
+    }
+
+    @Override
+    public synchronized void print(final CharSequence chars) {
+        Objects.requireNonNull(chars, "chars");
+
+        CharSequence text = chars;
+
+        // a high surrogate left over from the previous print must be encoded with its low surrogate
+        final char pending = this.pendingHighSurrogate;
+        if (0 != pending) {
+            this.pendingHighSurrogate = 0;
+            text = pending + chars.toString();
+        }
+
+        final CharBuffer in = CharBuffer.wrap(text);
+        this.encode(
+            in,
+            false
+        );
+
+        if (in.hasRemaining()) {
+            this.pendingHighSurrogate = in.get();
+        }
+    }
+
+    private void encode(final CharBuffer in,
+                        final boolean endOfInput) {
+        for (; ; ) {
+            final CoderResult result = this.encoder.encode(
+                in,
+                this.buffer,
+                endOfInput
+            );
+            if (result.isOverflow()) {
+                this.drain();
+                continue;
+            }
+            if (result.isError()) {
+                throw new IllegalArgumentException("Unable to encode " + result);
+            }
+            break; // underflow
+        }
+    }
+
+    @Override
+    public LineEnding lineEnding() {
+        return this.lineEnding;
+    }
+
+    @Override
+    public synchronized void flush() {
+        this.endInput();
+        this.drain();
+    }
+
+    /**
+     * Flushes, leaving the channel open.
+     */
+    @Override
+    public synchronized void close() {
+        this.flush();
+    }
+
+    /**
+     * Encodes any pending high surrogate as the end of input, flushes the encoder and resets it, ready for more prints.
+     */
+    private void endInput() {
+        final char pending = this.pendingHighSurrogate;
+        this.pendingHighSurrogate = 0;
+
+        this.encode(
+            0 != pending ?
+                CharBuffer.wrap(
+                    new char[]{pending}
+                ) :
+                CharBuffer.allocate(0),
+            true
+        );
+
+        final CharsetEncoder encoder = this.encoder;
+        while (encoder.flush(this.buffer).isOverflow()) {
+            this.drain();
+        }
+        encoder.reset();
+    }
+
+    /**
+     * Writes all bytes in the buffer to the channel.
+     */
+    private void drain() {
+        final ByteBuffer buffer = this.buffer;
+        buffer.flip();
+
+        try {
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+        } catch (final IOException cause) {
+            throw new UncheckedIOException(cause);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private final WritableByteChannel channel;
+
+    private final CharsetEncoder encoder;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private char pendingHighSurrogate;
+
+    private final LineEnding lineEnding;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.channel + " " + this.encoder.charset();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.environment.EnvironmentContext;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * An {@link AsyncTerminalContext} that wraps another {@link TerminalContext}, running each
+ * {@link #evaluateAsync(String)} on an {@link Executor}. Evaluations are chained so a terminal never has two
+ * evaluations running at the same time, even when the {@link Executor} has many threads. {@link #evaluate(String)}
+ * joins the same chain and waits for its result, and clones share the chain, so every evaluation of a terminal is
+ * ordered. An evaluation that itself evaluates, for example a source or nested shell, runs inline as it already holds
+ * its place in the chain.
+ */
+@GwtIncompatible
+final class ExecutorTerminalContext implements AsyncTerminalContext,
+    TerminalContextDelegator {
+
+    static ExecutorTerminalContext with(final TerminalContext context,
+                                        final Executor executor) {
+        return new ExecutorTerminalContext(
+            Objects.requireNonNull(context, "context"),
+            Objects.requireNonNull(executor, "executor"),
+            new Chain()
+        );
+    }
+
+    private ExecutorTerminalContext(final TerminalContext context,
+                                    final Executor executor,
+                                    final Chain chain) {
+        this.context = context;
+        this.executor = executor;
+        this.chain = chain;
+    }
+
+    @Override
+    public CompletionStage<Object> evaluateAsync(final String expression) {
+        Objects.requireNonNull(expression, "expression");
+
+        return this.submit(expression)
+            .minimalCompletionStage();
+    }
+
+    @Override
+    public Object evaluate(final String expression) {
+        Objects.requireNonNull(expression, "expression");
+
+        // already evaluating for this chain, waiting would deadlock on the running evaluation
+        if (this.chain == EVALUATING.get()) {
+            return this.context.evaluate(expression);
+        }
+
+        try {
+            return this.submit(expression)
+                .get();
+        } catch (final ExecutionException cause) {
+            final Throwable thrown = cause.getCause();
+            if (thrown instanceof RuntimeException) {
+                throw (RuntimeException) thrown;
+            }
+            if (thrown instanceof Error) {
+                throw (Error) thrown;
+            }
+            throw new IllegalStateException(thrown);
+        } catch (final InterruptedException cause) {
+            Thread.currentThread()
+                .interrupt();
+            throw new IllegalStateException("Evaluation interrupted: " + expression);
+        }
+    }
+
+    private CompletableFuture<Object> submit(final String expression) {
+        final Chain chain = this.chain;
+        final CompletableFuture<Object> future;
+
+        synchronized (chain) {
+            future = chain.last.handle(
+                (v, t) -> null // failures of the previous evaluation dont affect this one
+            ).thenApplyAsync(
+                (ignored) -> {
+                    final Chain previous = EVALUATING.get();
+                    EVALUATING.set(chain);
+                    try {
+                        return this.context.evaluate(expression);
+                    } finally {
+                        if (null == previous) {
+                            EVALUATING.remove();
+                        } else {
+                            EVALUATING.set(previous);
+                        }
+                    }
+                },
+                this.executor
+            );
+            chain.last = future;
+        }
+
+        return future;
+    }
+
+    /**
+     * Holds the most recently submitted evaluation, the next evaluation will only start after it completes. Shared by
+     * all clones of a terminal.
+     */
+    private final static class Chain {
+
+        private CompletableFuture<Object> last = CompletableFuture.completedFuture(null);
+    }
+
+    private final Chain chain;
+
+    /**
+     * The {@link Chain} whose evaluation the current thread is running, if any.
+     */
+    private final static ThreadLocal<Chain> EVALUATING = new ThreadLocal<>();
+
+    private final Executor executor;
+
+    // TerminalContextDelegator.........................................................................................
+
+    @Override
+    public TerminalContext terminalContext() {
+        return this.context;
+    }
+
+    private final TerminalContext context;
+
+    // EnvironmentContext...............................................................................................
+
+    @Override
+    public AsyncTerminalContext cloneEnvironment() {
+        return new ExecutorTerminalContext(
+            this.context.cloneEnvironment(),
+            this.executor,
+            this.chain
+        );
+    }
+
+    @Override
+    public AsyncTerminalContext setEnvironmentContext(final EnvironmentContext environmentContext) {
+        Objects.requireNonNull(environmentContext, "environmentContext");
+
+        final TerminalContext before = this.context;
+        final TerminalContext after = before.setEnvironmentContext(environmentContext);
+
+        return before == after ?
+            this :
+            new ExecutorTerminalContext(
+                after,
+                this.executor,
+                this.chain
+            );
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import walkingkooka.environment.EnvironmentContext;
+import walkingkooka.text.printer.Printer;
+
+import java.util.Objects;
+
+/**
+ * A {@link TerminalContext} that wraps another, recording everything printed to its {@link #output()} and
+ * {@link #error()} in a {@link TerminalScrollback}, which may be replayed to a client that reconnects. Expressions are
+ * evaluated against this wrapper, so their printing is also recorded.
+ */
+final class ScrollbackTerminalContext implements TerminalContextDelegator {
+
+    static ScrollbackTerminalContext with(final TerminalContext context,
+                                          final TerminalScrollback scrollback) {
+        return new ScrollbackTerminalContext(
+            Objects.requireNonNull(context, "context"),
+            Objects.requireNonNull(scrollback, "scrollback")
+        );
+    }
+
+    private ScrollbackTerminalContext(final TerminalContext context,
+                                      final TerminalScrollback scrollback) {
+        this.context = context;
+        this.scrollback = scrollback;
+    }
+
+    @Override
+    public Object evaluate(final String expression) {
+        return this.context.evaluate(
+            expression,
+            this
+        );
+    }
+
+    @Override
+    public Printer output() {
+        final Printer output = this.context.output();
+
+        TerminalScrollbackPrinter printer = this.output;
+        if (null == printer || printer.printer != output) {
+            printer = TerminalScrollbackPrinter.with(
+                output,
+                this.scrollback
+            );
+            this.output = printer;
+        }
+
+        return printer;
+    }
+
+    /**
+     * Cached so repeated {@link #output()} do not create a new {@link Printer}, unless the wrapped output changes.
+     */
+    private volatile TerminalScrollbackPrinter output;
+
+    @Override
+    public Printer error() {
+        final Printer error = this.context.error();
+
+        TerminalScrollbackPrinter printer = this.error;
+        if (null == printer || printer.printer != error) {
+            printer = TerminalScrollbackPrinter.with(
+                error,
+                this.scrollback
+            );
+            this.error = printer;
+        }
+
+        return printer;
+    }
+
+    /**
+     * Cached so repeated {@link #error()} do not create a new {@link Printer}, unless the wrapped error changes.
+     */
+    private volatile TerminalScrollbackPrinter error;
+
+    private final TerminalScrollback scrollback;
+
+    // TerminalContextDelegator.........................................................................................
+
+    @Override
+    public TerminalContext terminalContext() {
+        return this.context;
+    }
+
+    private final TerminalContext context;
+
+    // EnvironmentContext...............................................................................................
+
+    @Override
+    public TerminalContext cloneEnvironment() {
+        return new ScrollbackTerminalContext(
+            this.context.cloneEnvironment(),
+            this.scrollback
+        );
+    }
+
+    @Override
+    public TerminalContext setEnvironmentContext(final EnvironmentContext environmentContext) {
+        Objects.requireNonNull(environmentContext, "environmentContext");
+
+        final TerminalContext before = this.context;
+        final TerminalContext after = before.setEnvironmentContext(environmentContext);
+
+        return before == after ?
+            this :
+            new ScrollbackTerminalContext(
+                after,
+                this.scrollback
+            );
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
@@ -23,17 +23,27 @@ import walkingkooka.io.TextReader;
 import walkingkooka.io.TextReaders;
 import walkingkooka.storage.StorageEnvironmentContext;
 import walkingkooka.storage.StorageEnvironmentContextDelegator;
+import walkingkooka.text.LineEnding;
 import walkingkooka.text.printer.Printer;
 import walkingkooka.text.printer.Printers;
 import walkingkooka.util.OpenChecker;
 
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
 import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
 /**
- * A {@link TerminalContext} that reads and write to the System IN and OUT streams.
+ * A {@link TerminalContext} that reads and write to the System IN and OUT streams, either through {@link System#in} and
+ * {@link System#out} or directly through channels of their file descriptors.
  */
 @GwtIncompatible
 final class SystemTerminalContext implements TerminalContext,
@@ -48,25 +58,87 @@ final class SystemTerminalContext implements TerminalContext,
                                       final StorageEnvironmentContext storageEnvironmentContext) {
         return new SystemTerminalContext(
             Objects.requireNonNull(terminalId, "terminalId"),
+            TextReaders.reader(
+                new InputStreamReader(System.in),
+                (c) -> {
+                } // dont echo!
+            ),
+            Printers.sysOut(),
+            Printers.sysErr(),
             Objects.requireNonNull(evaluator, "evaluator"),
             Objects.requireNonNull(exitValue, "exitValue"),
             Objects.requireNonNull(storageEnvironmentContext, "storageEnvironmentContext")
         );
     }
 
+    /**
+     * Factory that creates a new {@link SystemTerminalContext} that reads and writes the standard file descriptors
+     * using NIO channels and the given {@link Charset}, bypassing {@link java.io.PrintStream}, which is useful when
+     * large amounts of text are piped through the terminal.
+     */
+    static SystemTerminalContext channels(final TerminalId terminalId,
+                                          final Charset charset,
+                                          final BiFunction<String, TerminalContext, Object> evaluator,
+                                          final Consumer<Object> exitValue,
+                                          final StorageEnvironmentContext storageEnvironmentContext) {
+        Objects.requireNonNull(charset, "charset");
+
+        return new SystemTerminalContext(
+            Objects.requireNonNull(terminalId, "terminalId"),
+            TextReaders.reader(
+                channelReader(
+                    new FileInputStream(FileDescriptor.in).getChannel(),
+                    charset
+                ),
+                (c) -> {
+                } // dont echo!
+            ),
+            ChannelPrinter.with(
+                new FileOutputStream(FileDescriptor.out).getChannel(),
+                charset.newEncoder(),
+                LineEnding.SYSTEM
+            ),
+            ChannelPrinter.with(
+                new FileOutputStream(FileDescriptor.err).getChannel(),
+                charset.newEncoder(),
+                LineEnding.SYSTEM
+            ),
+            Objects.requireNonNull(evaluator, "evaluator"),
+            Objects.requireNonNull(exitValue, "exitValue"),
+            Objects.requireNonNull(storageEnvironmentContext, "storageEnvironmentContext")
+        );
+    }
+
+    /**
+     * Creates a {@link BufferedReader} that decodes the given channel, replacing any malformed input.
+     */
+    // @VisibleForTesting
+    static BufferedReader channelReader(final ReadableByteChannel channel,
+                                        final Charset charset) {
+        return new BufferedReader(
+            Channels.newReader(
+                channel,
+                charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE),
+                ChannelPrinter.BUFFER_SIZE
+            ),
+            ChannelPrinter.BUFFER_SIZE
+        );
+    }
+
     private SystemTerminalContext(final TerminalId terminalId,
+                                  final TextReader input,
+                                  final Printer output,
+                                  final Printer error,
                                   final BiFunction<String, TerminalContext, Object> evaluator,
                                   final Consumer<Object> exitValue,
                                   final StorageEnvironmentContext storageEnvironmentContext) {
         this.terminalId = terminalId;
 
-        this.input = TextReaders.reader(
-            new InputStreamReader(System.in),
-            (c) -> {
-            } // dont echo!
-        );
-        this.output = Printers.sysOut();
-        this.error = Printers.sysErr();
+        this.input = input;
+        this.output = output;
+        this.error = error;
 
         this.evaluator = evaluator;
 
@@ -123,12 +195,22 @@ final class SystemTerminalContext implements TerminalContext,
 
     @Override
     public Object evaluate(final String expression) {
+        return this.evaluate(
+            expression,
+            this
+        );
+    }
+
+    @Override
+    public Object evaluate(final String expression,
+                           final TerminalContext context) {
         Objects.requireNonNull(expression, "expression");
+        Objects.requireNonNull(context, "context");
         this.openChecker.check();
 
         return this.evaluator.apply(
             expression,
-            this
+            context
         );
     }
 
@@ -154,6 +236,9 @@ final class SystemTerminalContext implements TerminalContext,
             this :
             new SystemTerminalContext(
                 this.terminalId,
+                this.input,
+                this.output,
+                this.error,
                 this.evaluator,
                 this.exitValue,
                 Objects.requireNonNull(after, "context")
@@ -25,6 +25,8 @@ import walkingkooka.storage.StorageEnvironmentContext;
 import walkingkooka.text.printer.Printer;
 import walkingkooka.tree.expression.CanEvaluateString;
 
+import java.util.Objects;
+
 /**
  * A {@link Context} that provides some line-based interactivity, to read lines and print text.
  */
@@ -39,6 +41,15 @@ public interface TerminalContext extends CanEvaluateString,
         TerminalId.class
     );
 
+    /**
+     * The maximum time in milliseconds a single {@link #evaluate(String)} may take, when evaluated by an evaluator
+     * that supports timeouts.
+     */
+    EnvironmentValueName<Long> EVALUATE_TIMEOUT = EnvironmentValueName.with(
+        "evaluateTimeout",
+        Long.class
+    );
+
     /**
      * Returns the {@link TerminalId} identifying this session.
      */
@@ -69,6 +80,33 @@ public interface TerminalContext extends CanEvaluateString,
      */
     Printer error();
 
+    /**
+     * Evaluates the expression with the given {@link TerminalContext} receiving any calls made by the expression, such as
+     * {@link #exitTerminal(Object)} or printing to {@link #output()}, so a wrapper may pass itself to observe them.
+     * The default ignores the given {@link TerminalContext}.
+     */
+    default Object evaluate(final String expression,
+                            final TerminalContext context) {
+        Objects.requireNonNull(context, "context");
+
+        return this.evaluate(expression);
+    }
+
+    /**
+     * Replaces the input, output and error of this terminal while it is running, keeping its {@link TerminalId} and
+     * environment, typically when a client reconnects. The default throws {@link UnsupportedOperationException}, as
+     * only some terminals support reconnecting.
+     */
+    default void attachTerminal(final TextReader input,
+                                final Printer output,
+                                final Printer error) {
+        Objects.requireNonNull(input, "input");
+        Objects.requireNonNull(output, "output");
+        Objects.requireNonNull(error, "error");
+
+        throw new UnsupportedOperationException();
+    }
+
     // EnvironmentContext...............................................................................................
 
     @Override
@@ -64,6 +64,28 @@ public interface TerminalContextDelegator extends TerminalContext,
             .error();
     }
 
+    @Override
+    default void attachTerminal(final TextReader input,
+                                final Printer output,
+                                final Printer error) {
+        this.terminalContext()
+            .attachTerminal(
+                input,
+                output,
+                error
+            );
+    }
+
+    @Override
+    default Object evaluate(final String expression,
+                            final TerminalContext context) {
+        return this.terminalContext()
+            .evaluate(
+                expression,
+                context
+            );
+    }
+
     TerminalContext terminalContext();
 
     // CanEvaluateStringDelegator.......................................................................................
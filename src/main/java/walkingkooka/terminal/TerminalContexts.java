@@ -23,12 +23,48 @@ import walkingkooka.reflect.PublicStaticHelper;
 import walkingkooka.storage.StorageEnvironmentContext;
 import walkingkooka.text.printer.Printer;
 
+import java.nio.charset.Charset;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 public final class TerminalContexts implements PublicStaticHelper {
 
+    /**
+     * {@see ExecutorTerminalContext}
+     */
+    @GwtIncompatible
+    public static AsyncTerminalContext async(final TerminalContext context,
+                                             final Executor executor) {
+        return ExecutorTerminalContext.with(
+            context,
+            executor
+        );
+    }
+
+    /**
+     * {@see BasicTerminalContext}
+     */
+    public static TerminalContext basic(final TerminalId terminalId,
+                                        final TextReader input,
+                                        final Printer output,
+                                        final Printer error,
+                                        final BiFunction<String, TerminalContext, Object> evaluator,
+                                        final Consumer<Object> exitValue,
+                                        final StorageEnvironmentContext storageEnvironmentContext) {
+        return BasicTerminalContext.with(
+            terminalId,
+            input,
+            output,
+            error,
+            evaluator,
+            exitValue,
+            storageEnvironmentContext
+        );
+    }
+
     /**
      * {@see BasicTerminalContext}
      */
@@ -52,6 +88,21 @@ public final class TerminalContexts implements PublicStaticHelper {
         );
     }
 
+    /**
+     * {@see CachingTerminalContextEvaluator}
+     */
+    public static <P> BiFunction<String, TerminalContext, Object> cachingEvaluator(final BiFunction<String, TerminalContext, P> parser,
+                                                                                  final BiFunction<P, TerminalContext, Object> evaluator,
+                                                                                  final Function<TerminalContext, Object> environmentKey,
+                                                                                  final int maxSize) {
+        return CachingTerminalContextEvaluator.with(
+            parser,
+            evaluator,
+            environmentKey,
+            maxSize
+        );
+    }
+
     /**
      * {@see FakeTerminalContext}
      */
@@ -59,6 +110,17 @@ public final class TerminalContexts implements PublicStaticHelper {
         return new FakeTerminalContext();
     }
 
+    /**
+     * {@see ScrollbackTerminalContext}
+     */
+    public static TerminalContext scrollback(final TerminalContext context,
+                                             final TerminalScrollback scrollback) {
+        return ScrollbackTerminalContext.with(
+            context,
+            scrollback
+        );
+    }
+
     /**
      * {@see SystemTerminalContext}
      */
@@ -75,6 +137,38 @@ public final class TerminalContexts implements PublicStaticHelper {
         );
     }
 
+    /**
+     * {@see SystemTerminalContext}
+     */
+    @GwtIncompatible
+    public static TerminalContext systemChannels(final TerminalId terminalId,
+                                                 final Charset charset,
+                                                 final BiFunction<String, TerminalContext, Object> evaluator,
+                                                 final Consumer<Object> exitValue,
+                                                 final StorageEnvironmentContext storageEnvironmentContext) {
+        return SystemTerminalContext.channels(
+            terminalId,
+            charset,
+            evaluator,
+            exitValue,
+            storageEnvironmentContext
+        );
+    }
+
+    /**
+     * {@see TimeoutTerminalContextEvaluator}
+     */
+    @GwtIncompatible
+    public static CancellableTerminalContextEvaluator timeoutEvaluator(final BiFunction<String, TerminalContext, Object> evaluator,
+                                                                       final long defaultTimeout,
+                                                                       final Executor executor) {
+        return TimeoutTerminalContextEvaluator.with(
+            evaluator,
+            defaultTimeout,
+            executor
+        );
+    }
+
     /**
      * Stop creation
      */
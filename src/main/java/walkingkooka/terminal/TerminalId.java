@@ -45,26 +45,101 @@ public final class TerminalId implements Comparable<TerminalId>,
      * Parses some text into a {@link TerminalId}. This is the inverse of {@link TerminalId#toString()}.
      */
     public static TerminalId parse(final String text) {
+        return parse((CharSequence) text);
+    }
+
+    /**
+     * Parses some hex text into a {@link TerminalId}. This is the inverse of {@link TerminalId#toString()}.
+     * Accepts the same text as {@link Long#parseLong(String, int)} with a radix of 16, without creating any
+     * intermediate objects.
+     */
+    public static TerminalId parse(final CharSequence text) {
         CharSequences.failIfNullOrEmpty(text, "text");
 
-        try {
-            return new TerminalId(Long.parseLong(text, 16));
-        } catch (final NumberFormatException cause) {
-            throw new IllegalArgumentException(cause.getMessage(), cause);
+        final int length = text.length();
+
+        int i = 0;
+        boolean negative = false;
+
+        final char first = text.charAt(0);
+        if ('-' == first || '+' == first) {
+            negative = '-' == first;
+            i++;
+            if (length == i) {
+                throw invalidText(text);
+            }
+        }
+
+        // accumulate negatively so Long.MIN_VALUE can be parsed
+        final long limit = negative ?
+            Long.MIN_VALUE :
+            -Long.MAX_VALUE;
+        final long multiplyLimit = limit / 16;
+
+        long value = 0;
+        while (i < length) {
+            final int digit = Character.digit(
+                text.charAt(i),
+                16
+            );
+            if (digit < 0 || value < multiplyLimit) {
+                throw invalidText(text);
+            }
+            value = value * 16;
+            if (value < limit + digit) {
+                throw invalidText(text);
+            }
+            value = value - digit;
+            i++;
         }
+
+        return with(
+            negative ?
+                value :
+                -value
+        );
+    }
+
+    private static IllegalArgumentException invalidText(final CharSequence text) {
+        return new IllegalArgumentException("Invalid TerminalId " + CharSequences.quoteIfChars(text));
     }
 
     /**
-     * Creates a new {@link TerminalId}
+     * Returns a {@link TerminalId} with the given value, recently used {@link TerminalId} are returned from a small
+     * cache, which means their printed forms are not recomputed.
      */
     public static TerminalId with(final long value) {
-        return new TerminalId(value);
+        final TerminalId[] cache = CACHE;
+        final int index = cacheIndex(value);
+
+        TerminalId terminalId = cache[index];
+        if (null == terminalId || value != terminalId.longValue) {
+            terminalId = new TerminalId(value);
+            cache[index] = terminalId; // races are harmless, the loser is simply not cached
+        }
+
+        return terminalId;
+    }
+
+    private static int cacheIndex(final long value) {
+        final int hash = Long.hashCode(value);
+        return (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
     }
 
-    private TerminalId(final Long value) {
+    private final static int CACHE_SIZE = 256;
+
+    /**
+     * A direct mapped cache of recently created {@link TerminalId}. The value field is final, so instances are safely
+     * published even without synchronization. The lazily computed {@link #toString()} and {@link #urlFragment()} are
+     * not final, they are racy single-check caches of immutable objects, so a thread that sees null simply computes
+     * an equal value again.
+     */
+    private final static TerminalId[] CACHE = new TerminalId[CACHE_SIZE];
+
+    private TerminalId(final long value) {
         super();
 
-        this.value = value;
+        this.longValue = value;
     }
 
     // HateosResource ...................................................................................................
@@ -81,12 +156,22 @@ public final class TerminalId implements Comparable<TerminalId>,
 
     // Value ...........................................................................................................
 
+    /**
+     * Boxes the primitive value on demand, callers on hot paths should prefer {@link #longValue()}.
+     */
     @Override
     public Long value() {
-        return this.value;
+        return this.longValue;
+    }
+
+    /**
+     * Returns the primitive value, avoiding unboxing {@link #value()}.
+     */
+    public long longValue() {
+        return this.longValue;
     }
 
-    private final Long value;
+    private final long longValue;
 
     // HasNotFoundText..................................................................................................
 
@@ -99,9 +184,19 @@ public final class TerminalId implements Comparable<TerminalId>,
 
     @Override
     public UrlFragment urlFragment() {
-        return UrlFragment.with(this.toString());
+        UrlFragment urlFragment = this.urlFragment;
+        if (null == urlFragment) {
+            urlFragment = UrlFragment.with(this.toString());
+            this.urlFragment = urlFragment;
+        }
+        return urlFragment;
     }
 
+    /**
+     * Lazily created cache of {@link #urlFragment()}, racy but safe as {@link UrlFragment} is immutable.
+     */
+    private UrlFragment urlFragment;
+
     // JsonNodeContext..................................................................................................
 
     static TerminalId unmarshall(final JsonNode node,
@@ -126,7 +221,7 @@ public final class TerminalId implements Comparable<TerminalId>,
 
     @Override
     public int hashCode() {
-        return this.value.hashCode();
+        return Long.hashCode(this.longValue);
     }
 
     @Override
@@ -137,23 +232,37 @@ public final class TerminalId implements Comparable<TerminalId>,
     }
 
     private boolean equals0(final TerminalId id) {
-        return this.value.equals(id.value());
+        return this.longValue == id.longValue;
     }
 
     // Comparable.......................................................................................................
 
     @Override
     public int compareTo(final TerminalId other) {
-        return this.value.compareTo(other.value);
+        return Long.compare(
+            this.longValue,
+            other.longValue
+        );
     }
 
     // Object...........................................................................................................
 
     @Override
     public String toString() {
-        return Long.toHexString(this.value);
+        String toString = this.toString;
+        if (null == toString) {
+            toString = Long.toHexString(this.longValue);
+            this.toString = toString;
+        }
+        return toString;
     }
 
+    /**
+     * Lazily computed hex form, used by {@link #toString()}, {@link #urlFragment()} and marshalling. Racy but safe as
+     * {@link String} is immutable.
+     */
+    private String toString;
+
     // TreePrintable....................................................................................................
 
     @Override
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free {@link Supplier} that returns {@link TerminalId} with increasing values.
+ */
+@GwtIncompatible
+final class TerminalIdSequenceSupplier implements Supplier<TerminalId> {
+
+    static TerminalIdSequenceSupplier with(final long start) {
+        return new TerminalIdSequenceSupplier(start);
+    }
+
+    private TerminalIdSequenceSupplier(final long start) {
+        super();
+
+        this.next = new AtomicLong(start);
+    }
+
+    @Override
+    public TerminalId get() {
+        return TerminalId.with(
+            this.next.getAndIncrement()
+        );
+    }
+
+    private final AtomicLong next;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "sequence " + Long.toHexString(this.next.get());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free {@link Supplier} that packs a timestamp, node and sequence into each {@link TerminalId}, similar to
+ * Twitter snowflake ids. Different nodes will never return the same {@link TerminalId}, which means terminals may be
+ * routed to their node using {@link TerminalIds#snowflakeNode(TerminalId)} without any shared state.
+ * <pre>
+ * 41 bits milliseconds since {@link #EPOCH}
+ * 10 bits node
+ * 12 bits sequence
+ * </pre>
+ * When more than 4096 ids are requested within the same millisecond, or the clock moves backwards, the timestamp
+ * is borrowed from the future so ids always increase.
+ */
+@GwtIncompatible
+final class TerminalIdSnowflakeSupplier implements Supplier<TerminalId> {
+
+    /**
+     * 2025-01-01T00:00:00Z
+     */
+    final static long EPOCH = 1735689600000L;
+
+    final static int SEQUENCE_BITS = 12;
+
+    final static int NODE_BITS = 10;
+
+    final static int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    final static long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * Extracts the node from a {@link TerminalId} created by any {@link TerminalIdSnowflakeSupplier}.
+     */
+    static int node(final TerminalId terminalId) {
+        Objects.requireNonNull(terminalId, "terminalId");
+
+        return (int) (terminalId.longValue() >>> SEQUENCE_BITS) & MAX_NODE;
+    }
+
+    static TerminalIdSnowflakeSupplier with(final int node,
+                                            final LongSupplier now) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Invalid node " + node + " not between 0 and " + MAX_NODE);
+        }
+
+        return new TerminalIdSnowflakeSupplier(
+            node,
+            Objects.requireNonNull(now, "now")
+        );
+    }
+
+    private TerminalIdSnowflakeSupplier(final int node,
+                                        final LongSupplier now) {
+        super();
+
+        this.node = (long) node << SEQUENCE_BITS;
+        this.now = now;
+    }
+
+    @Override
+    public TerminalId get() {
+        final AtomicLong state = this.state;
+        long next;
+
+        for (; ; ) {
+            final long last = state.get();
+            final long millis = this.now.getAsLong() - EPOCH;
+
+            // a new millisecond resets the sequence, otherwise increment and let any sequence overflow carry into the timestamp
+            next = millis > (last >>> SEQUENCE_BITS) ?
+                millis << SEQUENCE_BITS :
+                last + 1;
+
+            if (state.compareAndSet(last, next)) {
+                break;
+            }
+        }
+
+        return TerminalId.with(
+            ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) |
+                this.node |
+                (next & SEQUENCE_MASK)
+        );
+    }
+
+    /**
+     * The node already shifted into position.
+     */
+    private final long node;
+
+    private final LongSupplier now;
+
+    /**
+     * The last timestamp shifted left with the sequence in the low bits.
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "snowflake " + (this.node >>> SEQUENCE_BITS);
+    }
+}
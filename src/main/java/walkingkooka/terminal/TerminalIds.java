@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.reflect.PublicStaticHelper;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A collection of {@link TerminalId} {@link Supplier}, which may be given to
+ * {@link walkingkooka.terminal.server.TerminalServerContexts#basic(Supplier)}.
+ */
+public final class TerminalIds implements PublicStaticHelper {
+
+    /**
+     * {@see TerminalIdSequenceSupplier}
+     */
+    @GwtIncompatible
+    public static Supplier<TerminalId> sequence(final long start) {
+        return TerminalIdSequenceSupplier.with(start);
+    }
+
+    /**
+     * {@see TerminalIdSnowflakeSupplier}
+     */
+    @GwtIncompatible
+    public static Supplier<TerminalId> snowflake(final int node,
+                                                 final LongSupplier now) {
+        return TerminalIdSnowflakeSupplier.with(
+            node,
+            now
+        );
+    }
+
+    /**
+     * Returns the node that created a {@link TerminalId} using a {@link #snowflake(int, LongSupplier)}.
+     */
+    @GwtIncompatible
+    public static int snowflakeNode(final TerminalId terminalId) {
+        return TerminalIdSnowflakeSupplier.node(terminalId);
+    }
+
+    /**
+     * Stop creation
+     */
+    private TerminalIds() {
+        throw new UnsupportedOperationException();
+    }
+}
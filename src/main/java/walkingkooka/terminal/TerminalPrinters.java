@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printer;
+
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.util.function.LongSupplier;
+
+/**
+ * A collection of {@link Printer} that may be given to a {@link TerminalContext}.
+ */
+public final class TerminalPrinters implements PublicStaticHelper {
+
+    /**
+     * {@see BufferedTerminalPrinter}
+     */
+    public static Printer buffered(final int bufferSize,
+                                   final long flushInterval,
+                                   final LongSupplier now,
+                                   final Printer printer) {
+        return BufferedTerminalPrinter.with(
+            bufferSize,
+            flushInterval,
+            now,
+            printer
+        );
+    }
+
+    /**
+     * {@see ChannelPrinter}
+     */
+    @GwtIncompatible
+    public static Printer channel(final WritableByteChannel channel,
+                                  final CharsetEncoder encoder,
+                                  final LineEnding lineEnding) {
+        return ChannelPrinter.with(
+            channel,
+            encoder,
+            lineEnding
+        );
+    }
+
+    /**
+     * {@see TerminalScrollbackPrinter}
+     */
+    public static Printer scrollback(final Printer printer,
+                                     final TerminalScrollback scrollback) {
+        return TerminalScrollbackPrinter.with(
+            printer,
+            scrollback
+        );
+    }
+
+    /**
+     * Stop creation
+     */
+    private TerminalPrinters() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import java.util.Objects;
+
+/**
+ * A fixed capacity ring buffer that records the most recent output of a terminal. Every character appended advances
+ * the {@link #position()}, a client that remembers the position it last received may {@link #replay(long)} only the
+ * characters it missed, while memory used per terminal stays fixed at capacity characters.
+ */
+public final class TerminalScrollback {
+
+    public static TerminalScrollback with(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity + " <= 0");
+        }
+
+        return new TerminalScrollback(capacity);
+    }
+
+    /**
+     * Creates a {@link TerminalScrollback} holding the given text, which ends at the given position, typically when
+     * restoring a terminal whose scrollback was saved using {@link #replay(long)} and {@link #position()}.
+     */
+    public static TerminalScrollback with(final int capacity,
+                                          final long position,
+                                          final String text) {
+        Objects.requireNonNull(text, "text");
+
+        final int length = text.length();
+        if (position < length) {
+            throw new IllegalArgumentException("Invalid position " + position + " < " + length);
+        }
+
+        final TerminalScrollback scrollback = with(capacity);
+        scrollback.position = position - length;
+        scrollback.append(text);
+        return scrollback;
+    }
+
+    private TerminalScrollback(final int capacity) {
+        this.buffer = new char[capacity];
+    }
+
+    /**
+     * Appends the given characters, overwriting the oldest characters when full.
+     */
+    public synchronized void append(final CharSequence chars) {
+        Objects.requireNonNull(chars, "chars");
+
+        final char[] buffer = this.buffer;
+        final int capacity = buffer.length;
+        final int length = chars.length();
+
+        // only the last capacity characters can be kept
+        final int start = Math.max(
+            0,
+            length - capacity
+        );
+        final int write = (int) ((this.position + start) % capacity);
+        final int first = Math.min(
+            length - start,
+            capacity - write
+        );
+
+        copy(
+            chars,
+            start,
+            start + first,
+            buffer,
+            write
+        );
+        copy(
+            chars,
+            start + first,
+            length,
+            buffer,
+            0
+        );
+
+        this.position += length;
+    }
+
+    private static void copy(final CharSequence chars,
+                             final int start,
+                             final int end,
+                             final char[] buffer,
+                             final int write) {
+        if (chars instanceof String) {
+            ((String) chars).getChars(
+                start,
+                end,
+                buffer,
+                write
+            );
+        } else {
+            int w = write;
+            for (int i = start; i < end; i++) {
+                buffer[w] = chars.charAt(i);
+                w++;
+            }
+        }
+    }
+
+    /**
+     * Returns the characters appended since the given position. If some of those characters have been overwritten,
+     * only the oldest remaining characters onwards are returned.
+     */
+    public synchronized String replay(final long from) {
+        if (from < 0) {
+            throw new IllegalArgumentException("Invalid from " + from + " < 0");
+        }
+        final long position = this.position;
+        if (from > position) {
+            throw new IllegalArgumentException("Invalid from " + from + " > " + position);
+        }
+
+        final char[] buffer = this.buffer;
+        final int capacity = buffer.length;
+
+        final long start = Math.max(
+            from,
+            position - capacity
+        );
+        final int length = (int) (position - start);
+        final int read = (int) (start % capacity);
+        final int first = Math.min(
+            length,
+            capacity - read
+        );
+
+        final char[] replay = new char[length];
+        System.arraycopy(
+            buffer,
+            read,
+            replay,
+            0,
+            first
+        );
+        System.arraycopy(
+            buffer,
+            0,
+            replay,
+            first,
+            length - first
+        );
+
+        return new String(replay);
+    }
+
+    /**
+     * The total number of characters ever appended.
+     */
+    public synchronized long position() {
+        return this.position;
+    }
+
+    private long position;
+
+    /**
+     * The maximum number of characters kept.
+     */
+    public int capacity() {
+        return this.buffer.length;
+    }
+
+    private final char[] buffer;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "capacity " + this.capacity() + " position " + this.position();
+    }
+}
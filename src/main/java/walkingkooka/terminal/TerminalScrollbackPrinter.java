@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printer;
+
+import java.util.Objects;
+
+/**
+ * A {@link Printer} that prints to another {@link Printer} and also appends everything printed to a
+ * {@link TerminalScrollback}.
+ */
+final class TerminalScrollbackPrinter implements Printer {
+
+    static TerminalScrollbackPrinter with(final Printer printer,
+                                          final TerminalScrollback scrollback) {
+        return new TerminalScrollbackPrinter(
+            Objects.requireNonNull(printer, "printer"),
+            Objects.requireNonNull(scrollback, "scrollback")
+        );
+    }
+
+    private TerminalScrollbackPrinter(final Printer printer,
+                                      final TerminalScrollback scrollback) {
+        this.printer = printer;
+        this.scrollback = scrollback;
+    }
+
+    @Override
+    public void print(final CharSequence chars) {
+        Objects.requireNonNull(chars, "chars");
+
+        this.printer.print(chars);
+        this.scrollback.append(chars);
+    }
+
+    @Override
+    public LineEnding lineEnding() {
+        return this.printer.lineEnding();
+    }
+
+    @Override
+    public void flush() {
+        this.printer.flush();
+    }
+
+    @Override
+    public void close() {
+        this.printer.close();
+    }
+
+    final Printer printer;
+
+    private final TerminalScrollback scrollback;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.printer.toString();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import walkingkooka.io.TextReader;
+
+/**
+ * A {@link TextReader} that is fed text by the owner of the terminal connection, such as a SSH channel, rather than
+ * polling an underlying stream. Readers may block in {@link #readLine(long)} until a line is available or the input is
+ * closed, which means an idle shell costs nothing.
+ */
+public interface TerminalTextReader extends TextReader {
+
+    /**
+     * Adds some text, which may contain zero or more complete lines. Any incomplete line is buffered until the rest
+     * of the line or {@link #closeInput()}.
+     */
+    void addInput(final CharSequence text);
+
+    /**
+     * Closes this input, waking up any waiting readers. Any buffered incomplete line becomes the last line.
+     */
+    void closeInput();
+
+    /**
+     * Returns true if {@link #closeInput()} has been called.
+     */
+    boolean isInputClosed();
+}
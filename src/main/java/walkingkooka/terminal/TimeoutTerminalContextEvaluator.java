@@ -0,0 +1,204 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.collect.map.Maps;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+
+/**
+ * A {@link CancellableTerminalContextEvaluator} that runs each evaluation on an {@link Executor}, waiting at most
+ * {@link TerminalContext#EVALUATE_TIMEOUT} or the default timeout for the result, a timeout that is zero or negative
+ * fails with an {@link IllegalArgumentException}. When an evaluation times out or is cancelled, its worker thread is
+ * interrupted and an {@link IllegalStateException} thrown, which the shell prints before reading the next command.
+ * Evaluators must respond to interrupts for their worker to be freed.
+ * <br>
+ * If the thread waiting for the result is interrupted, for example by
+ * {@link walkingkooka.terminal.server.TerminalServerContexts#threadPerTerminal} when a terminal is removed, the
+ * evaluation is also cancelled.
+ * <br>
+ * An evaluation that itself evaluates, for example a source or nested shell, runs the nested evaluation inline on
+ * the same worker. The outer evaluation remains the one that {@link #cancel(TerminalId)} interrupts, and nested
+ * evaluations never wait on another worker, which would deadlock a bounded pool.
+ * <br>
+ * Use {@link walkingkooka.terminal.server.TerminalServerContexts#cancelling} to cancel in-flight evaluations when a
+ * terminal is removed, {@link #cancel(TerminalId)} cancels every evaluation running for the terminal.
+ */
+@GwtIncompatible
+final class TimeoutTerminalContextEvaluator implements CancellableTerminalContextEvaluator {
+
+    static TimeoutTerminalContextEvaluator with(final BiFunction<String, TerminalContext, Object> evaluator,
+                                                final long defaultTimeout,
+                                                final Executor executor) {
+        Objects.requireNonNull(evaluator, "evaluator");
+        if (defaultTimeout <= 0) {
+            throw new IllegalArgumentException("Invalid defaultTimeout " + defaultTimeout + " <= 0");
+        }
+        Objects.requireNonNull(executor, "executor");
+
+        return new TimeoutTerminalContextEvaluator(
+            evaluator,
+            defaultTimeout,
+            executor
+        );
+    }
+
+    private TimeoutTerminalContextEvaluator(final BiFunction<String, TerminalContext, Object> evaluator,
+                                            final long defaultTimeout,
+                                            final Executor executor) {
+        this.evaluator = evaluator;
+        this.defaultTimeout = defaultTimeout;
+        this.executor = executor;
+    }
+
+    @Override
+    public Object apply(final String text,
+                        final TerminalContext context) {
+        Objects.requireNonNull(text, "text");
+        Objects.requireNonNull(context, "context");
+
+        // already on a worker, run inline, the outer evaluation timeout and cancel still apply
+        if (Boolean.TRUE.equals(this.worker.get())) {
+            return this.evaluator.apply(
+                text,
+                context
+            );
+        }
+
+        final long timeout = context.environmentValue(TerminalContext.EVALUATE_TIMEOUT)
+            .orElse(this.defaultTimeout);
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Invalid " + TerminalContext.EVALUATE_TIMEOUT + " " + timeout + " <= 0");
+        }
+
+        final FutureTask<Object> task = new FutureTask<>(
+            () -> {
+                this.worker.set(Boolean.TRUE);
+                try {
+                    return this.evaluator.apply(
+                        text,
+                        context
+                    );
+                } finally {
+                    this.worker.remove();
+                }
+            }
+        );
+
+        final TerminalId terminalId = context.terminalId();
+        this.terminalIdToTasks.compute(
+            terminalId,
+            (id, tasks) -> {
+                final Set<FutureTask<Object>> add = null != tasks ?
+                    tasks :
+                    ConcurrentHashMap.newKeySet();
+                add.add(task);
+                return add;
+            }
+        );
+
+        try {
+            this.executor.execute(task);
+
+            return task.get(
+                timeout,
+                TimeUnit.MILLISECONDS
+            );
+        } catch (final TimeoutException cause) {
+            task.cancel(true);
+            throw new IllegalStateException("Evaluation timed out after " + timeout + "ms: " + text);
+        } catch (final CancellationException cause) {
+            throw new IllegalStateException("Evaluation cancelled: " + text);
+        } catch (final InterruptedException cause) {
+            task.cancel(true);
+            Thread.currentThread()
+                .interrupt();
+            throw new IllegalStateException("Evaluation interrupted: " + text);
+        } catch (final ExecutionException cause) {
+            final Throwable thrown = cause.getCause();
+            if (thrown instanceof RuntimeException) {
+                throw (RuntimeException) thrown;
+            }
+            if (thrown instanceof Error) {
+                throw (Error) thrown;
+            }
+            throw new IllegalStateException(thrown);
+        } finally {
+            this.terminalIdToTasks.computeIfPresent(
+                terminalId,
+                (id, tasks) -> {
+                    tasks.remove(task);
+                    return tasks.isEmpty() ?
+                        null :
+                        tasks;
+                }
+            );
+        }
+    }
+
+    @Override
+    public boolean cancel(final TerminalId terminalId) {
+        Objects.requireNonNull(terminalId, "terminalId");
+
+        boolean cancelled = false;
+
+        final Set<FutureTask<Object>> tasks = this.terminalIdToTasks.get(terminalId);
+        if (null != tasks) {
+            for (final FutureTask<Object> task : tasks) {
+                cancelled |= task.cancel(true);
+            }
+        }
+
+        return cancelled;
+    }
+
+    private final BiFunction<String, TerminalContext, Object> evaluator;
+
+    private final long defaultTimeout;
+
+    private final Executor executor;
+
+    /**
+     * True while the current thread is running an evaluation submitted by this evaluator.
+     */
+    private final ThreadLocal<Boolean> worker = new ThreadLocal<>();
+
+    /**
+     * The outermost evaluations running for each terminal, used by {@link #cancel(TerminalId)}. A terminal may have
+     * several, for example a {@link TerminalContext#cloneEnvironment() clone} evaluating on another thread.
+     */
+    private final Map<TerminalId, Set<FutureTask<Object>>> terminalIdToTasks = Maps.concurrent();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.evaluator + " " + this.defaultTimeout + "ms";
+    }
+}
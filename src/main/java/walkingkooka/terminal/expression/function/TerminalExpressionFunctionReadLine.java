@@ -29,7 +29,8 @@ import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
 import java.util.List;
 
 /**
- * Reads a line from the {@link TerminalContext#readLine(long)}.
+ * Reads a line from the {@link TerminalContext#readLine(long)}, after flushing {@link TerminalContext#output()} and
+ * {@link TerminalContext#error()} so any buffered prompt is visible.
  */
 final class TerminalExpressionFunctionReadLine<C extends TerminalExpressionEvaluationContext> extends TerminalExpressionFunction<String, C> {
 
@@ -68,6 +69,12 @@ final class TerminalExpressionFunctionReadLine<C extends TerminalExpressionEvalu
                         final C context) {
         this.checkParameterCount(parameters);
 
+        // flush any buffered prompt so it is visible before blocking on the read
+        context.output()
+            .flush();
+        context.error()
+            .flush();
+
         return context.input()
             .readLine(
                 TIMEOUT.get(parameters, 0)
@@ -19,8 +19,10 @@ package walkingkooka.terminal.expression.function;
 
 import walkingkooka.Cast;
 import walkingkooka.collect.list.Lists;
+import walkingkooka.io.TextReader;
 import walkingkooka.terminal.HasTerminalErrorText;
 import walkingkooka.terminal.HasTerminalOutputText;
+import walkingkooka.terminal.TerminalTextReader;
 import walkingkooka.terminal.expression.TerminalExpressionEvaluationContext;
 import walkingkooka.text.HasTextWithLineBreaks;
 import walkingkooka.text.LineEnding;
@@ -38,12 +40,19 @@ import java.util.Optional;
  * A very simple shell or REPL that tries to read a line of text with support for line-continuation. Each complete input is then
  * {@link TerminalExpressionEvaluationContext#evaluate(String)}.
  * <br>
- * The BACKSPACE character will remove the previous character in the input buffer.
+ * The BACKSPACE character will remove the previous character in the input buffer, a BACKSPACE with no previous
+ * character is ignored.
  * <br>
  * Note input or output redirection is not supported.
  * <br>
  * If an exit command is executed, the {@link TerminalExpressionEvaluationContext#isTerminalOpen()}, will become false
  * and reading of input will stop and the function exited with a code of 0.
+ * <br>
+ * The {@link #blocking()} shell defaults to a timeout that effectively waits forever, and is intended to be used with a
+ * {@link walkingkooka.terminal.TerminalTextReader} which wakes up readers when a line is added or the input is closed,
+ * so idle sessions do not poll. When such an input is closed and drained, the shell returns even if the terminal is
+ * still open. An interrupted read throws, which also ends the shell. It is named shellBlocking, so both shells may be
+ * registered together.
  */
 final class TerminalExpressionFunctionShell<C extends TerminalExpressionEvaluationContext> extends TerminalExpressionFunction<Integer, C> {
 
@@ -54,23 +63,48 @@ final class TerminalExpressionFunctionShell<C extends TerminalExpressionEvaluati
         return Cast.to(INSTANCE);
     }
 
-    private final static TerminalExpressionFunctionShell<?> INSTANCE = new TerminalExpressionFunctionShell<>();
+    /**
+     * Type safe blocking instance getter.
+     */
+    static <C extends TerminalExpressionEvaluationContext> TerminalExpressionFunctionShell<C> blocking() {
+        return Cast.to(BLOCKING);
+    }
+
+    // @VisibleForTesting
+    final static int DEFAULT_TIMEOUT = 50;
+
+    // @VisibleForTesting
+    final static int BLOCKING_TIMEOUT = Integer.MAX_VALUE;
 
-    private TerminalExpressionFunctionShell() {
-        super("shell");
+    private final static TerminalExpressionFunctionShell<?> INSTANCE = new TerminalExpressionFunctionShell<>(
+        "shell",
+        DEFAULT_TIMEOUT
+    );
+
+    private final static TerminalExpressionFunctionShell<?> BLOCKING = new TerminalExpressionFunctionShell<>(
+        "shellBlocking",
+        BLOCKING_TIMEOUT
+    );
+
+    private TerminalExpressionFunctionShell(final String name,
+                                            final int defaultTimeout) {
+        super(name);
+
+        this.timeout = ExpressionFunctionParameterName.with("timeout")
+            .optional(Integer.class)
+            .setDefaultValue(Optional.of(defaultTimeout))
+            .setKinds(ExpressionFunctionParameterKind.CONVERT_EVALUATE_RESOLVE_REFERENCES);
+        this.parameters = Lists.of(this.timeout);
     }
 
     @Override
     public List<ExpressionFunctionParameter<?>> parameters(final int count) {
-        return PARAMETERS;
+        return this.parameters;
     }
 
-    private final static ExpressionFunctionParameter<Integer> TIMEOUT = ExpressionFunctionParameterName.with("timeout")
-        .optional(Integer.class)
-        .setDefaultValue(Optional.of(50))
-        .setKinds(ExpressionFunctionParameterKind.CONVERT_EVALUATE_RESOLVE_REFERENCES);
+    private final ExpressionFunctionParameter<Integer> timeout;
 
-    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = Lists.of(TIMEOUT);
+    private final List<ExpressionFunctionParameter<?>> parameters;
 
     @Override
     public Class<Integer> returnType() {
@@ -84,7 +118,7 @@ final class TerminalExpressionFunctionShell<C extends TerminalExpressionEvaluati
                          final C context) {
         this.checkParameterCount(parameters);
 
-        final int timeout = TIMEOUT.getOrFail(
+        final int timeout = this.timeout.getOrFail(
             parameters,
             0
         );
@@ -92,16 +126,23 @@ final class TerminalExpressionFunctionShell<C extends TerminalExpressionEvaluati
             throw new IllegalArgumentException("Invalid Timeout " + timeout + " <= 0");
         }
 
-        StringBuilder buffer = new StringBuilder();
-        final Printer output = context.output();
-        final Printer error = context.error();
+        final StringBuilder buffer = new StringBuilder();
 
         while (context.isTerminalOpen()) {
-            final String line = context.input()
-                .readLine(timeout)
+            // input, output and error are read each time, as the terminal may have been re-attached to another client.
+            final TextReader input = context.input();
+            final String line = input.readLine(timeout)
                 .orElse(null);
 
-            if (null != line) {
+            if (null == line) {
+                // a closed input will never produce another line, stop rather than spin, unless a re-attach closed it
+                // and replaced it with the input of the new client.
+                if (input instanceof TerminalTextReader && ((TerminalTextReader) input).isInputClosed()) {
+                    if (false == context.isTerminalOpen() || input == context.input()) {
+                        break;
+                    }
+                }
+            } else {
                 final boolean lineContinued = line.endsWith(LINE_CONTINUATION);
                 final int lineLength = line.length();
 
@@ -118,110 +159,146 @@ final class TerminalExpressionFunctionShell<C extends TerminalExpressionEvaluati
                 }
 
                 final String text = fixText(buffer);
-                buffer = new StringBuilder();
+                buffer.setLength(0);
 
                 // empty lines are ignored.
-                if (text.trim().isEmpty()) {
+                if (text.isEmpty()) {
                     continue;
                 }
 
                 try {
-                    final Object value = context.evaluate(text);
-                    if (null != value) {
-                        final String outputString;
-                        final String errorString;
-
-                        // print SpreadsheetError#message which has detailed message
-                        // #NAME?
-                        if (value instanceof HasTerminalOutputText) {
-                            final HasTerminalOutputText hasTerminalOutputText = (HasTerminalOutputText) value;
-                            outputString = hasTerminalOutputText.terminalOutputText();
-                            errorString = null;
-                        } else {
-                            if (value instanceof HasTerminalErrorText) {
-                                outputString = null;
-
-                                final HasTerminalErrorText hasTerminalErrorText = (HasTerminalErrorText) value;
-                                errorString = hasTerminalErrorText.terminalErrorText();
-
-                            } else {
-                                if (value instanceof HasTextWithLineBreaks) {
-                                    final HasTextWithLineBreaks textWithLineBreaks = (HasTextWithLineBreaks) value;
-                                    outputString = textWithLineBreaks.textWithLineBreaks(
-                                        context.lineEnding()
-                                    );
-                                } else {
-                                    outputString = context.convertOrFail(
-                                        value,
-                                        String.class
-                                    );
-                                }
-
-                                errorString = null;
-                            }
-                        }
+                    evaluateAndPrint(
+                        text,
+                        context
+                    );
+                } finally {
+                    context.output()
+                        .flush(); // evaluated expression/function might have printed but not flushed.
+                    context.error()
+                        .flush();
+                }
+            }
+        }
 
-                        if (null != outputString) {
-                            output.print(outputString);
+        return 0;
+    }
 
-                            printLineEndingIfMissing(
-                                outputString,
-                                output
-                            );
-                        }
-                        if (null != errorString) {
-                            error.print(errorString);
+    /**
+     * Evaluates the given text, printing any value to {@link TerminalExpressionEvaluationContext#output()} or
+     * {@link TerminalExpressionEvaluationContext#error()} and the stack trace of any thrown {@link RuntimeException} to
+     * the error. Neither {@link Printer} is flushed, that is left to the caller.
+     */
+    static void evaluateAndPrint(final String text,
+                                 final TerminalExpressionEvaluationContext context) {
+        final Printer output = context.output();
+        final Printer error = context.error();
 
-                            printLineEndingIfMissing(
-                                errorString,
-                                error
+        try {
+            final Object value = context.evaluate(text);
+            if (null != value) {
+                final String outputString;
+                final String errorString;
+
+                // print SpreadsheetError#message which has detailed message
+                // #NAME?
+                if (value instanceof HasTerminalOutputText) {
+                    final HasTerminalOutputText hasTerminalOutputText = (HasTerminalOutputText) value;
+                    outputString = hasTerminalOutputText.terminalOutputText();
+                    errorString = null;
+                } else {
+                    if (value instanceof HasTerminalErrorText) {
+                        outputString = null;
+
+                        final HasTerminalErrorText hasTerminalErrorText = (HasTerminalErrorText) value;
+                        errorString = hasTerminalErrorText.terminalErrorText();
+
+                    } else {
+                        if (value instanceof HasTextWithLineBreaks) {
+                            final HasTextWithLineBreaks textWithLineBreaks = (HasTextWithLineBreaks) value;
+                            outputString = textWithLineBreaks.textWithLineBreaks(
+                                context.lineEnding()
+                            );
+                        } else {
+                            outputString = context.convertOrFail(
+                                value,
+                                String.class
                             );
                         }
+
+                        errorString = null;
                     }
-                } catch (final RuntimeException cause) {
-                    final PrintStream printStream = error.asPrintStream();
+                }
 
-                    cause.printStackTrace(printStream);
-                    printStream.flush();
-                } finally {
-                    output.flush(); // evaluated expression/function might have printed but not flushed.
-                    error.flush();
+                if (null != outputString) {
+                    output.print(outputString);
+
+                    printLineEndingIfMissing(
+                        outputString,
+                        output
+                    );
+                }
+                if (null != errorString) {
+                    error.print(errorString);
+
+                    printLineEndingIfMissing(
+                        errorString,
+                        error
+                    );
                 }
             }
-        }
+        } catch (final RuntimeException cause) {
+            final PrintStream printStream = error.asPrintStream();
 
-        return 0;
+            cause.printStackTrace(printStream);
+            printStream.flush();
+        }
     }
 
-    private final static String LINE_CONTINUATION = "\\";
+    final static String LINE_CONTINUATION = "\\";
 
     /**
      * Currently fixing text means handling BACKSPACE characters from the given input text buffer.
-     * When a backspace character is encountered it and the following character, are removed from the final text.
+     * Each BACKSPACE removes itself and the previous character, a BACKSPACE without a previous character is simply removed.
+     * The buffer is compacted in place in a single pass, leaving the cleaned text in the buffer, and the trimmed text
+     * is returned.
      */
-    private static String fixText(final StringBuilder text) {
-        int i = 0;
+    // @VisibleForTesting
+    static String fixText(final StringBuilder text) {
+        final int length = text.length();
+        int write = 0;
 
-        while (i < text.length()) {
-            final char c = text.charAt(i);
+        for (int read = 0; read < length; read++) {
+            final char c = text.charAt(read);
             if (BACKSPACE == c) {
-                // consume backspace and "delete" previous char.
-                if (i > 0) {
-                    text.deleteCharAt(i); // remove BACKSPACE character
-                    i--;
-                    text.deleteCharAt(i); // remove the previous DELETED character
-                    i--;
-                    continue;
+                if (write > 0) {
+                    write--; // "delete" previous char.
+                }
+            } else {
+                if (write != read) {
+                    text.setCharAt(write, c);
                 }
+                write++;
             }
+        }
 
-            i++;
+        text.setLength(write);
+
+        // trim without creating an intermediate String
+        int start = 0;
+        while (start < write && text.charAt(start) <= ' ') {
+            start++;
         }
 
-        return text.toString()
-            .trim();
-    }
+        int end = write;
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
 
+        return text.substring(
+            start,
+            end
+        );
+    }
 
     private final static char BACKSPACE = (char) 127;
 
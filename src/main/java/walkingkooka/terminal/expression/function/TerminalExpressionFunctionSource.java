@@ -0,0 +1,233 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.expression.function;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.io.TextReader;
+import walkingkooka.terminal.TerminalTextReader;
+import walkingkooka.terminal.expression.TerminalExpressionEvaluationContext;
+import walkingkooka.tree.expression.ExpressionPurityContext;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Executes a script, evaluating each statement back-to-back without waiting for input between them. The script is
+ * either the given text parameter, or when absent all lines read from {@link TerminalExpressionEvaluationContext#input()}
+ * until the end of input.
+ * <br>
+ * Lines are split, joined when continued and have BACKSPACE characters processed just like
+ * {@link TerminalExpressionFunctionShell}. The output and error are only flushed once after the entire script is executed.
+ * <br>
+ * Execution stops early if a statement such as exit closes the terminal.
+ */
+final class TerminalExpressionFunctionSource<C extends TerminalExpressionEvaluationContext> extends TerminalExpressionFunction<Integer, C> {
+
+    /**
+     * Type safe instance getter.
+     */
+    static <C extends TerminalExpressionEvaluationContext> TerminalExpressionFunctionSource<C> instance() {
+        return Cast.to(INSTANCE);
+    }
+
+    private final static TerminalExpressionFunctionSource<?> INSTANCE = new TerminalExpressionFunctionSource<>();
+
+    private TerminalExpressionFunctionSource() {
+        super("source");
+    }
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+        return PARAMETERS;
+    }
+
+    final static ExpressionFunctionParameter<String> SCRIPT = ExpressionFunctionParameterName.with("script")
+        .optional(String.class)
+        .setKinds(ExpressionFunctionParameterKind.CONVERT_EVALUATE_RESOLVE_REFERENCES);
+
+    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = Lists.of(SCRIPT);
+
+    @Override
+    public Class<Integer> returnType() {
+        return Integer.class;
+    }
+
+    @Override
+    public Integer apply(final List<Object> parameters,
+                         final C context) {
+        this.checkParameterCount(parameters);
+
+        final Optional<String> script = SCRIPT.get(
+            parameters,
+            0
+        );
+
+        final StringBuilder buffer = new StringBuilder();
+
+        try {
+            if (script.isPresent()) {
+                executeScript(
+                    script.get(),
+                    buffer,
+                    context
+                );
+            } else {
+                executeInput(
+                    buffer,
+                    context
+                );
+            }
+
+            // a continued last line without a following line is still executed
+            if (buffer.length() > 0 && context.isTerminalOpen()) {
+                execute(
+                    buffer,
+                    context
+                );
+            }
+        } finally {
+            context.output()
+                .flush();
+            context.error()
+                .flush();
+        }
+
+        return TerminalExpressionFunctionShell.OK_EXIT_CODE;
+    }
+
+    /**
+     * Splits the script into lines accepting CR, LF and CRLF line endings.
+     */
+    private static void executeScript(final String script,
+                                      final StringBuilder buffer,
+                                      final TerminalExpressionEvaluationContext context) {
+        final int length = script.length();
+        int start = 0;
+
+        for (int i = 0; i < length && context.isTerminalOpen(); i++) {
+            final char c = script.charAt(i);
+            if ('\r' == c || '\n' == c) {
+                line(
+                    script,
+                    start,
+                    i,
+                    buffer,
+                    context
+                );
+
+                if ('\r' == c && i + 1 < length && '\n' == script.charAt(i + 1)) {
+                    i++;
+                }
+                start = i + 1;
+            }
+        }
+
+        if (start < length && context.isTerminalOpen()) {
+            line(
+                script,
+                start,
+                length,
+                buffer,
+                context
+            );
+        }
+    }
+
+    /**
+     * Reads and executes lines until the end of input. A {@link TerminalTextReader} is read until it is closed, so a
+     * script that is still streaming is not truncated. Any other {@link TextReader} is read until no line arrives within
+     * the shell default timeout.
+     */
+    private static void executeInput(final StringBuilder buffer,
+                                     final TerminalExpressionEvaluationContext context) {
+        while (context.isTerminalOpen()) {
+            final TextReader input = context.input();
+            final boolean terminalTextReader = input instanceof TerminalTextReader;
+
+            final String line = input.readLine(
+                    terminalTextReader ?
+                        TerminalExpressionFunctionShell.BLOCKING_TIMEOUT :
+                        TerminalExpressionFunctionShell.DEFAULT_TIMEOUT
+                ).orElse(null);
+            if (null == line) {
+                if (terminalTextReader && false == ((TerminalTextReader) input).isInputClosed()) {
+                    continue;
+                }
+                break;
+            }
+
+            line(
+                line,
+                0,
+                line.length(),
+                buffer,
+                context
+            );
+        }
+    }
+
+    /**
+     * Appends the line to the buffer, executing the buffer unless the line is continued.
+     */
+    private static void line(final String text,
+                             final int start,
+                             final int end,
+                             final StringBuilder buffer,
+                             final TerminalExpressionEvaluationContext context) {
+        final boolean lineContinued = end > start &&
+            TerminalExpressionFunctionShell.LINE_CONTINUATION.charAt(0) == text.charAt(end - 1);
+
+        buffer.append(
+            text,
+            start,
+            lineContinued ?
+                end - 1 :
+                end
+        );
+
+        if (false == lineContinued) {
+            execute(
+                buffer,
+                context
+            );
+        }
+    }
+
+    private static void execute(final StringBuilder buffer,
+                                final TerminalExpressionEvaluationContext context) {
+        final String statement = TerminalExpressionFunctionShell.fixText(buffer);
+        buffer.setLength(0);
+
+        // empty lines are ignored.
+        if (false == statement.isEmpty()) {
+            TerminalExpressionFunctionShell.evaluateAndPrint(
+                statement,
+                context
+            );
+        }
+    }
+
+    @Override
+    public boolean isPure(final ExpressionPurityContext expressionPurityContext) {
+        return false;
+    }
+}
@@ -68,6 +68,20 @@ public final class TerminalExpressionFunctions implements PublicStaticHelper {
         return TerminalExpressionFunctionShell.instance();
     }
 
+    /**
+     * {@see TerminalExpressionFunctionShell}
+     */
+    public static <C extends TerminalExpressionEvaluationContext> ExpressionFunction<Integer, C> shellBlocking() {
+        return TerminalExpressionFunctionShell.blocking();
+    }
+
+    /**
+     * {@see TerminalExpressionFunctionSource}
+     */
+    public static <C extends TerminalExpressionEvaluationContext> ExpressionFunction<Integer, C> source() {
+        return TerminalExpressionFunctionSource.instance();
+    }
+
     /**
      * Stop creation
      */
@@ -17,18 +17,33 @@
 
 package walkingkooka.terminal.server;
 
-import walkingkooka.collect.map.Maps;
+import walkingkooka.net.email.EmailAddress;
 import walkingkooka.terminal.TerminalContext;
 import walkingkooka.terminal.TerminalId;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
  * A server that contains all {@link TerminalContext}.
+ * <br>
+ * Lookups read a {@link TerminalContextLongMap} without locking. Pages are served from an immutable array sorted by
+ * {@link TerminalId}, which is rebuilt by the first listing after an add or remove, so listing never takes a lock that
+ * writers hold, and an unchanged registry is never copied or sorted again.
+ * <br>
+ * Terminals are also indexed by their {@link TerminalContext#user()} when saved, so listing or removing a user's
+ * terminals visits only that user's terminals. A terminal whose user later changes is no longer listed under its
+ * old user, and is moved to its new user the next time its old user's terminals are listed or removed.
  */
 final class BasicTerminalServerContext implements TerminalServerContext {
 
@@ -62,22 +77,42 @@ final class BasicTerminalServerContext implements TerminalServerContext {
 
     private final Supplier<TerminalId> nextTerminalId;
 
-    private void saveTerminalContext(final TerminalContext context) {
+    @Override
+    public TerminalContext saveTerminalContext(final TerminalContext context) {
+        Objects.requireNonNull(context, "terminalContext");
+
         final TerminalId terminalId = context.terminalId();
+        final long id = terminalId.longValue();
 
         final Object previous = this.terminalIdToTerminalContext.putIfAbsent(
-            terminalId,
+            id,
             context
         );
         if (null != previous) {
             throw new IllegalStateException("TerminalContext created with duplicate TerminalId: " + terminalId);
         }
+        this.modified();
+
+        synchronized (this.userToTerminalIds) {
+            this.userToTerminalIds.computeIfAbsent(
+                context.user(),
+                (u) -> new HashSet<>()
+            ).add(terminalId);
+        }
+        return context;
     }
 
     @Override
     public Optional<TerminalContext> terminalContext(final TerminalId id) {
         Objects.requireNonNull(id, "id");
 
+        return this.terminalContext(
+            id.longValue()
+        );
+    }
+
+    @Override
+    public Optional<TerminalContext> terminalContext(final long id) {
         return Optional.ofNullable(
             this.terminalIdToTerminalContext.get(id)
         );
@@ -87,11 +122,294 @@ final class BasicTerminalServerContext implements TerminalServerContext {
     public TerminalServerContext removeTerminalContext(final TerminalId id) {
         Objects.requireNonNull(id, "id");
 
-        this.terminalIdToTerminalContext.remove(id);
+        final long value = id.longValue();
+
+        final TerminalContext removed = this.terminalIdToTerminalContext.remove(value);
+        if (null != removed) {
+            this.modified();
+            this.unindexUser(removed);
+        }
+        return this;
+    }
+
+    /**
+     * Removes the {@link TerminalId} of the given {@link TerminalContext} from the user index, searching every user if
+     * its user changed since it was saved.
+     */
+    private void unindexUser(final TerminalContext terminalContext) {
+        final TerminalId terminalId = terminalContext.terminalId();
+
+        synchronized (this.userToTerminalIds) {
+            final Optional<EmailAddress> user = terminalContext.user();
+            final Set<TerminalId> terminalIds = this.userToTerminalIds.get(user);
+
+            if (null != terminalIds && terminalIds.remove(terminalId)) {
+                if (terminalIds.isEmpty()) {
+                    this.userToTerminalIds.remove(user);
+                }
+            } else {
+                this.userToTerminalIds.values()
+                    .removeIf(
+                        (ids) -> ids.remove(terminalId) && ids.isEmpty()
+                    );
+            }
+        }
+    }
+
+    @Override
+    public List<TerminalContext> userTerminalContexts(final Optional<EmailAddress> user) {
+        Objects.requireNonNull(user, "user");
+
+        final List<TerminalContext> terminalContexts = new ArrayList<>();
+
+        for (final TerminalId terminalId : this.userTerminalIds(user)) {
+            final TerminalContext terminalContext = this.terminalIdToTerminalContext.get(
+                terminalId.longValue()
+            );
+            if (null != terminalContext) {
+                if (user.equals(terminalContext.user())) {
+                    terminalContexts.add(terminalContext);
+                } else {
+                    this.reindexUser(
+                        terminalContext,
+                        user
+                    );
+                }
+            }
+        }
+
+        terminalContexts.sort(TERMINAL_ID_COMPARATOR);
+        return terminalContexts;
+    }
+
+    @Override
+    public TerminalServerContext removeUserTerminalContexts(final Optional<EmailAddress> user) {
+        Objects.requireNonNull(user, "user");
+
+        for (final TerminalId terminalId : this.userTerminalIds(user)) {
+            final long value = terminalId.longValue();
+
+            final TerminalContext terminalContext = this.terminalIdToTerminalContext.get(value);
+            if (null != terminalContext) {
+                if (user.equals(terminalContext.user())) {
+                    this.removeTerminalContext(terminalId);
+                } else {
+                    this.reindexUser(
+                        terminalContext,
+                        user
+                    );
+                }
+            }
+        }
         return this;
     }
 
-    private final Map<TerminalId, TerminalContext> terminalIdToTerminalContext = Maps.concurrent();
+    private List<TerminalId> userTerminalIds(final Optional<EmailAddress> user) {
+        synchronized (this.userToTerminalIds) {
+            final Set<TerminalId> terminalIds = this.userToTerminalIds.get(user);
+            return null != terminalIds ?
+                new ArrayList<>(terminalIds) :
+                new ArrayList<>();
+        }
+    }
+
+    /**
+     * Moves a {@link TerminalContext} whose user changed since it was saved from its old user to its current user.
+     */
+    private void reindexUser(final TerminalContext terminalContext,
+                             final Optional<EmailAddress> oldUser) {
+        final TerminalId terminalId = terminalContext.terminalId();
+
+        synchronized (this.userToTerminalIds) {
+            final Set<TerminalId> terminalIds = this.userToTerminalIds.get(oldUser);
+            if (null != terminalIds && terminalIds.remove(terminalId)) {
+                if (terminalIds.isEmpty()) {
+                    this.userToTerminalIds.remove(oldUser);
+                }
+                this.userToTerminalIds.computeIfAbsent(
+                    terminalContext.user(),
+                    (u) -> new HashSet<>()
+                ).add(terminalId);
+            }
+        }
+    }
+
+    @Override
+    public List<TerminalContext> terminalContexts(final int offset,
+                                                  final int count) {
+        checkOffsetAndCount(
+            offset,
+            count
+        );
+
+        final TerminalContext[] sorted = this.sorted();
+        final int size = sorted.length;
+
+        return offset >= size || 0 == count ?
+            new ArrayList<>() :
+            new ArrayList<>(
+                Arrays.asList(sorted)
+                    .subList(
+                        offset,
+                        (int) Math.min(
+                            (long) offset + count,
+                            size
+                        )
+                    )
+            );
+    }
+
+    /**
+     * Returns all {@link TerminalContext} sorted by {@link TerminalId}, reusing the last sorted snapshot if nothing was
+     * added or removed since.
+     */
+    private TerminalContext[] sorted() {
+        // read the count before copying, so a write during the copy leaves the snapshot stale rather than wrongly current
+        final int modificationCount = this.modificationCount;
+
+        final Snapshot snapshot = this.snapshot;
+        if (null != snapshot && modificationCount == snapshot.modificationCount) {
+            return snapshot.terminalContexts;
+        }
+
+        final TerminalContext[] terminalContexts = this.terminalIdToTerminalContext.values();
+        Arrays.sort(
+            terminalContexts,
+            TERMINAL_ID_COMPARATOR
+        ); // ids are mostly added in order, which is nearly linear for a merge sort
+
+        this.snapshot = new Snapshot(
+            modificationCount,
+            terminalContexts
+        );
+        return terminalContexts;
+    }
+
+    /**
+     * Called after every add or remove, making any {@link Snapshot} stale.
+     */
+    private void modified() {
+        // racy increments may be lost, but every write still changes the count from the one any earlier listing read
+        this.modificationCount++;
+    }
+
+    private final TerminalContextLongMap terminalIdToTerminalContext = TerminalContextLongMap.empty();
+
+    private volatile int modificationCount;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * An immutable array of {@link TerminalContext} sorted by {@link TerminalId}, and the modification count read
+     * before it was copied.
+     */
+    private final static class Snapshot {
+
+        Snapshot(final int modificationCount,
+                 final TerminalContext[] terminalContexts) {
+            this.modificationCount = modificationCount;
+            this.terminalContexts = terminalContexts;
+        }
+
+        final int modificationCount;
+
+        final TerminalContext[] terminalContexts;
+    }
+
+    /**
+     * The {@link TerminalId} of each user's terminals, keyed by the user when saved, also the lock that guards it.
+     */
+    private final Map<Optional<EmailAddress>, Set<TerminalId>> userToTerminalIds = new HashMap<>();
+
+    // paging...........................................................................................................
+
+    static void checkOffsetAndCount(final int offset,
+                                    final int count) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid offset " + offset + " < 0");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " < 0");
+        }
+    }
+
+    /**
+     * Returns the requested page of the given {@link TerminalContext}, which must already be sorted by {@link TerminalId}.
+     */
+    static List<TerminalContext> page(final List<TerminalContext> terminalContexts,
+                                      final int offset,
+                                      final int count) {
+        final int size = terminalContexts.size();
+        if (offset >= size || 0 == count) {
+            return new ArrayList<>();
+        }
+
+        return new ArrayList<>(
+            terminalContexts.subList(
+                offset,
+                (int) Math.min(
+                    (long) offset + count,
+                    size
+                )
+            )
+        );
+    }
+
+    /**
+     * Merges the given lists, each already sorted by {@link TerminalId}, returning the requested page. Only the first
+     * offset + count of each list are visited, and nothing is sorted.
+     */
+    static List<TerminalContext> merge(final List<List<TerminalContext>> sorted,
+                                       final int offset,
+                                       final int count) {
+        final List<TerminalContext> terminalContexts = new ArrayList<>();
+
+        final int listCount = sorted.size();
+        final int[] next = new int[listCount];
+        int skip = offset;
+
+        while (terminalContexts.size() < count) {
+            int min = -1;
+            TerminalContext minTerminalContext = null;
+
+            for (int i = 0; i < listCount; i++) {
+                final List<TerminalContext> list = sorted.get(i);
+                if (next[i] < list.size()) {
+                    final TerminalContext terminalContext = list.get(next[i]);
+                    if (null == minTerminalContext || TERMINAL_ID_COMPARATOR.compare(terminalContext, minTerminalContext) < 0) {
+                        min = i;
+                        minTerminalContext = terminalContext;
+                    }
+                }
+            }
+
+            if (-1 == min) {
+                break;
+            }
+            next[min]++;
+
+            if (skip > 0) {
+                skip--;
+            } else {
+                terminalContexts.add(minTerminalContext);
+            }
+        }
+
+        return terminalContexts;
+    }
+
+    /**
+     * Returns offset + count clamped to {@link Integer#MAX_VALUE}, the count to fetch from each source before merging.
+     */
+    static int end(final int offset,
+                   final int count) {
+        return (int) Math.min(
+            (long) offset + count,
+            Integer.MAX_VALUE
+        );
+    }
+
+    final static Comparator<TerminalContext> TERMINAL_ID_COMPARATOR = Comparator.comparing(TerminalContext::terminalId);
 
     // Object...........................................................................................................
 
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.terminal.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.terminal.CancellableTerminalContextEvaluator;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A {@link TerminalServerContext} that cancels any evaluation still running in the given
+ * {@link CancellableTerminalContextEvaluator} when a {@link TerminalContext} is removed, so
+ * removing a terminal also frees the worker running its evaluation.
+ */
+@GwtIncompatible
+final class CancellingTerminalServerContext implements TerminalServerContextDelegator {
+
+    static CancellingTerminalServerContext with(final CancellableTerminalContextEvaluator evaluator,
+                                                final TerminalServerContext context) {
+        return new CancellingTerminalServerContext(
+            Objects.requireNonNull(evaluator, "evaluator"),
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private CancellingTerminalServerContext(final CancellableTerminalContextEvaluator evaluator,
+                                            final TerminalServerContext context) {
+        this.evaluator = evaluator;
+        this.context = context;
+    }
+
+    @Override
+    public TerminalContext addTerminalContext(final Function<TerminalId, TerminalContext> terminalContextFactory) {
+        Objects.requireNonNull(terminalContextFactory, "terminalContextFactory");
+
+        return this.context.addTerminalContext(terminalContextFactory);
+    }
+
+    @Override
+    public TerminalContext saveTerminalContext(final TerminalContext terminalContext) {
+        Objects.requireNonNull(terminalContext, "terminalContext");
+
+        return this.context.saveTerminalContext(terminalContext);
+    }
+
+    @Override
+    public TerminalServerContext removeTerminalContext(final TerminalId id) {
+        Objects.requireNonNull(id, "id");
+
+        this.context.removeTerminalContext(id);
+        this.evaluator.cancel(id);
+        return this;
+    }
+
+    private final CancellableTerminalContextEvaluator evaluator;
+
+    // TerminalServerContextDelegator...................................................................................
+
+    @Override
+    public TerminalServerContext terminalServerContext() {
+        return this.context;
+    }
+
+    private final TerminalServerContext context;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.terminal.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.terminal.TerminalContext;
+
+import java.util.function.BiFunction;
+
+/**
+ * An evaluator for {@link TerminalContext#evaluate(String)} that owns resources such as worker threads, which are
+ * released by {@link #close()}.
+ */
+@GwtIncompatible
+public interface CloseableTerminalContextEvaluator extends BiFunction<String, TerminalContext, Object>,
+    AutoCloseable {
+
+    /**
+     * Stops accepting new evaluations, cancels any that are waiting and lets the workers finish once any running
+     * evaluations complete.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.terminal.TerminalContext;
+
+import java.util.List;
+
+/**
+ * A {@link TerminalServerContext} that may be drained, typically during a shutdown or rolling restart.
+ */
+@GwtIncompatible
+public interface DrainableTerminalServerContext extends TerminalServerContext {
+
+    /**
+     * Stops accepting new {@link TerminalContext}, exits every open {@link TerminalContext} with the given value, waiting
+     * up to timeout milliseconds for their shells to finish and remove them. The stragglers whose shells are still
+     * running are returned.
+     */
+    List<TerminalContext> drain(final Object exitValue,
+                                final long timeout);
+
+    /**
+     * Returns true once {@link #drain(Object, long)} has been called.
+     */
+    boolean isDraining();
+}
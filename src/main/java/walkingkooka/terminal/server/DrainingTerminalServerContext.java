@@ -0,0 +1,233 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A {@link DrainableTerminalServerContext} that wraps another {@link TerminalServerContext}. Once draining, adding a
+ * {@link TerminalContext} fails with a {@link IllegalStateException}. Each {@link TerminalContext#exitTerminal(Object)}
+ * is run on the given {@link Executor}, so a slow exit does not hold up the others.
+ * <br>
+ * A {@link TerminalContext} has drained once its shell has finished, which is when it is removed from the wrapped
+ * {@link TerminalServerContext}, as shell runners such as
+ * {@link TerminalServerContexts#threadPerTerminal(java.util.function.Consumer, TerminalServerContext)} remove a
+ * {@link TerminalContext} when its shell returns. The wrapped {@link TerminalServerContext} is created by a function
+ * given a {@link TerminalServerContextListener}, which should be registered using
+ * {@link TerminalServerContexts#listener(TerminalServerContextListener, Executor, TerminalServerContext)} below the
+ * shell runner, so {@link #drain(Object, long)} waits for removal events rather than polling.
+ */
+@GwtIncompatible
+final class DrainingTerminalServerContext implements DrainableTerminalServerContext,
+    TerminalServerContextDelegator {
+
+    static DrainingTerminalServerContext with(final Executor executor,
+                                              final Function<TerminalServerContextListener, TerminalServerContext> context) {
+        return new DrainingTerminalServerContext(
+            Objects.requireNonNull(executor, "executor"),
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private DrainingTerminalServerContext(final Executor executor,
+                                          final Function<TerminalServerContextListener, TerminalServerContext> context) {
+        this.executor = executor;
+        this.context = Objects.requireNonNull(
+            context.apply(
+                new TerminalServerContextListener() {
+                    @Override
+                    public void terminalContextRemoved(final TerminalContext terminalContext) {
+                        DrainingTerminalServerContext.this.removed(terminalContext);
+                    }
+                }
+            ),
+            "context"
+        );
+    }
+
+    @Override
+    public TerminalContext addTerminalContext(final Function<TerminalId, TerminalContext> terminalContextFactory) {
+        Objects.requireNonNull(terminalContextFactory, "terminalContextFactory");
+
+        return this.add(
+            () -> this.context.addTerminalContext(terminalContextFactory)
+        );
+    }
+
+    @Override
+    public TerminalContext saveTerminalContext(final TerminalContext terminalContext) {
+        Objects.requireNonNull(terminalContext, "terminalContext");
+
+        return this.add(
+            () -> this.context.saveTerminalContext(terminalContext)
+        );
+    }
+
+    private TerminalContext add(final Supplier<TerminalContext> adder) {
+        // the read lock is shared by adds, drain takes the write lock so no add is in flight once draining is set
+        final Lock lock = this.lock.readLock();
+        lock.lock();
+        try {
+            if (this.draining) {
+                throw new IllegalStateException("Draining");
+            }
+
+            return adder.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // DrainableTerminalServerContext...................................................................................
+
+    @Override
+    public List<TerminalContext> drain(final Object exitValue,
+                                       final long timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Invalid timeout " + timeout + " < 0");
+        }
+
+        final Lock lock = this.lock.writeLock();
+        lock.lock();
+        try {
+            this.draining = true;
+        } finally {
+            lock.unlock();
+        }
+
+        final TerminalServerContext context = this.context;
+        final Map<TerminalId, TerminalContext> running = this.running;
+        final List<TerminalContext> open = new ArrayList<>();
+
+        synchronized (running) {
+            for (final TerminalContext terminalContext : context.terminalContexts(0, Integer.MAX_VALUE)) {
+                running.put(
+                    terminalContext.terminalId(),
+                    terminalContext
+                );
+            }
+
+            // a terminal removed after the listing but before it was put, sent its removal event too early, check once
+            running.keySet()
+                .removeIf(
+                    (id) -> false == context.terminalContext(id)
+                        .isPresent()
+                );
+
+            for (final TerminalContext terminalContext : running.values()) {
+                if (terminalContext.isTerminalOpen()) {
+                    open.add(terminalContext);
+                }
+            }
+        }
+
+        for (final TerminalContext terminalContext : open) {
+            this.executor.execute(
+                () -> ThreadPerTerminalServerContext.exit(
+                    terminalContext,
+                    exitValue
+                )
+            );
+        }
+
+        // wait for shells to finish, each removal event removes its terminal from running
+        final long deadline = System.currentTimeMillis() + timeout;
+
+        synchronized (running) {
+            for (; ; ) {
+                final long remaining = deadline - System.currentTimeMillis();
+                if (running.isEmpty() || remaining <= 0) {
+                    break;
+                }
+
+                try {
+                    running.wait(remaining);
+                } catch (final InterruptedException interrupted) {
+                    Thread.currentThread()
+                        .interrupt();
+                    break;
+                }
+            }
+
+            final List<TerminalContext> stragglers = new ArrayList<>(
+                running.values()
+            );
+            running.clear();
+            return stragglers;
+        }
+    }
+
+    /**
+     * Receives removal events from the wrapped {@link TerminalServerContext}, waking {@link #drain(Object, long)}.
+     */
+    private void removed(final TerminalContext terminalContext) {
+        final Map<TerminalId, TerminalContext> running = this.running;
+
+        synchronized (running) {
+            if (null != running.remove(terminalContext.terminalId())) {
+                running.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * The terminals a {@link #drain(Object, long)} is waiting for, also the lock that guards it.
+     */
+    private final Map<TerminalId, TerminalContext> running = new LinkedHashMap<>();
+
+    @Override
+    public boolean isDraining() {
+        return this.draining;
+    }
+
+    private volatile boolean draining;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Executor executor;
+
+    // TerminalServerContextDelegator...................................................................................
+
+    @Override
+    public TerminalServerContext terminalServerContext() {
+        return this.context;
+    }
+
+    private final TerminalServerContext context;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
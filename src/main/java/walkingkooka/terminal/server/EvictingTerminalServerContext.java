@@ -0,0 +1,387 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A {@link TerminalServerContext} that evicts {@link TerminalContext} from the wrapped {@link TerminalServerContext}.
+ * <ul>
+ *     <li>closed terminals, where {@link TerminalContext#isTerminalOpen()} is false, are removed when fetched, or
+ *     checked a few at a time and removed before any open terminal is evicted to stay within the maximum count</li>
+ *     <li>terminals that have not been fetched for longer than the time to live</li>
+ *     <li>the least recently used terminals, if the maximum count would be exceeded by an add</li>
+ * </ul>
+ * The sweep is amortised across every add, fetch and page, and only takes the lock once the oldest terminal may
+ * have expired. Terminals are ordered by their access time in a queue which is corrected lazily, a fetch only records
+ * the access time in a concurrent map and never takes a global lock. Open terminals that are evicted are exited.
+ * <br>
+ * Note there is no background thread, a server with no activity at all does not sweep until its next request.
+ */
+final class EvictingTerminalServerContext implements TerminalServerContextDelegator {
+
+    static EvictingTerminalServerContext with(final long timeToLive,
+                                              final int maxCount,
+                                              final LongSupplier now,
+                                              final TerminalServerContext context) {
+        if (timeToLive <= 0) {
+            throw new IllegalArgumentException("Invalid timeToLive " + timeToLive + " <= 0");
+        }
+        if (maxCount <= 0) {
+            throw new IllegalArgumentException("Invalid maxCount " + maxCount + " <= 0");
+        }
+
+        return new EvictingTerminalServerContext(
+            timeToLive,
+            maxCount,
+            Objects.requireNonNull(now, "now"),
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private EvictingTerminalServerContext(final long timeToLive,
+                                          final int maxCount,
+                                          final LongSupplier now,
+                                          final TerminalServerContext context) {
+        this.timeToLive = timeToLive;
+        this.maxCount = maxCount;
+        this.now = now;
+        this.context = context;
+    }
+
+    @Override
+    public TerminalContext addTerminalContext(final Function<TerminalId, TerminalContext> terminalContextFactory) {
+        Objects.requireNonNull(terminalContextFactory, "terminalContextFactory");
+
+        return this.add(
+            () -> this.context.addTerminalContext(terminalContextFactory)
+        );
+    }
+
+    @Override
+    public TerminalContext saveTerminalContext(final TerminalContext terminalContext) {
+        Objects.requireNonNull(terminalContext, "terminalContext");
+
+        return this.add(
+            () -> this.context.saveTerminalContext(terminalContext)
+        );
+    }
+
+    /**
+     * Evicts to make room, then adds or saves a {@link TerminalContext} to the wrapped {@link TerminalServerContext}
+     * using the given {@link Supplier}, and records its access time.
+     */
+    private TerminalContext add(final Supplier<TerminalContext> adder) {
+        final List<TerminalContext> evicted;
+        final TerminalContext terminalContext;
+
+        // adds are serialized so concurrent adds cannot exceed maxCount
+        synchronized (this.lock) {
+            evicted = this.evict(this.maxCount - 1);
+
+            terminalContext = adder.get();
+
+            final TerminalId terminalId = terminalContext.terminalId();
+            final long now = this.now.getAsLong();
+
+            this.terminalIdToLastAccess.put(
+                terminalId,
+                now
+            );
+            this.queue.add(
+                new SimpleImmutableEntry<>(
+                    terminalId,
+                    now
+                )
+            );
+            this.updateNextSweep();
+        }
+
+        exit(evicted);
+
+        return terminalContext;
+    }
+
+    @Override
+    public Optional<TerminalContext> terminalContext(final TerminalId id) {
+        this.sweepIfDue();
+
+        return this.touch(
+            this.context.terminalContext(id)
+        );
+    }
+
+    @Override
+    public Optional<TerminalContext> terminalContext(final long id) {
+        this.sweepIfDue();
+
+        return this.touch(
+            this.context.terminalContext(id)
+        );
+    }
+
+    /**
+     * Records the access time of a found {@link TerminalContext}, removing it if it has been closed.
+     */
+    private Optional<TerminalContext> touch(final Optional<TerminalContext> terminalContext) {
+        Optional<TerminalContext> result = terminalContext;
+
+        if (terminalContext.isPresent()) {
+            final TerminalContext found = terminalContext.get();
+            final TerminalId terminalId = found.terminalId();
+
+            if (found.isTerminalOpen()) {
+                this.terminalIdToLastAccess.replace(
+                    terminalId,
+                    this.now.getAsLong()
+                );
+            } else {
+                this.removeTerminalContext(terminalId);
+                result = Optional.empty();
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public TerminalServerContext removeTerminalContext(final TerminalId id) {
+        Objects.requireNonNull(id, "id");
+
+        this.context.removeTerminalContext(id);
+        this.terminalIdToLastAccess.remove(id);
+        return this;
+    }
+
+    @Override
+    public List<TerminalContext> terminalContexts(final int offset,
+                                                  final int count) {
+        this.sweepIfDue();
+
+        return this.context.terminalContexts(
+            offset,
+            count
+        );
+    }
+
+    /**
+     * Evicts expired terminals, but only takes the lock once the oldest queued access may have expired.
+     */
+    private void sweepIfDue() {
+        if (this.now.getAsLong() >= this.nextSweep) {
+            final List<TerminalContext> evicted;
+            synchronized (this.lock) {
+                evicted = this.evict(this.maxCount);
+            }
+            exit(evicted);
+        }
+    }
+
+    /**
+     * Removes expired terminals, followed by the least recently used until at most maxCount remain, returning the
+     * removed {@link TerminalContext}. Must be called while holding the lock.
+     * <br>
+     * The queue may hold stale access times, these are re-queued with the latest access time when they reach the head,
+     * so each eviction costs O(log n) rather than a scan of every terminal.
+     */
+    private List<TerminalContext> evict(final int maxCount) {
+        final long expired = this.now.getAsLong() - this.timeToLive;
+        final Map<TerminalId, Long> terminalIdToLastAccess = this.terminalIdToLastAccess;
+        final PriorityQueue<Entry<TerminalId, Long>> queue = this.queue;
+
+        final List<TerminalContext> evicted = Lists.array();
+
+        for (; ; ) {
+            final Entry<TerminalId, Long> head = queue.peek();
+            if (null == head) {
+                break;
+            }
+
+            final TerminalId terminalId = head.getKey();
+            final Long lastAccess = terminalIdToLastAccess.get(terminalId);
+
+            // removed since queued
+            if (null == lastAccess) {
+                queue.poll();
+                continue;
+            }
+
+            // fetched since queued, re-queue with the latest access time
+            if (lastAccess > head.getValue()) {
+                queue.poll();
+                queue.add(
+                    new SimpleImmutableEntry<>(
+                        terminalId,
+                        lastAccess
+                    )
+                );
+                continue;
+            }
+
+            if (lastAccess > expired) {
+                if (terminalIdToLastAccess.size() <= maxCount) {
+                    break;
+                }
+
+                // over the maximum count, prefer dropping closed terminals to evicting the least recently used open one
+                if (this.removeClosed() && terminalIdToLastAccess.size() <= maxCount) {
+                    break;
+                }
+            }
+
+            queue.poll();
+            this.context.terminalContext(terminalId)
+                .ifPresent(evicted::add);
+            this.removeTerminalContext(terminalId);
+        }
+
+        this.updateNextSweep();
+
+        return evicted;
+    }
+
+    /**
+     * Checks the next few terminals after a cursor that wraps around, removing any that are closed, and returns true
+     * if any were removed. Must be called while holding the lock.
+     * <br>
+     * Only a few terminals are checked per call, so the cost of each eviction stays bounded, while repeated evictions
+     * eventually check every terminal.
+     */
+    private boolean removeClosed() {
+        boolean removed = false;
+
+        for (int i = 0; i < CLOSED_CHECK_COUNT; i++) {
+            Iterator<TerminalId> closedCursor = this.closedCursor;
+            if (null == closedCursor || false == closedCursor.hasNext()) {
+                closedCursor = this.terminalIdToLastAccess.keySet()
+                    .iterator();
+                this.closedCursor = closedCursor;
+
+                if (false == closedCursor.hasNext()) {
+                    break;
+                }
+            }
+
+            final TerminalId terminalId;
+            try {
+                terminalId = closedCursor.next();
+            } catch (final ConcurrentModificationException restart) {
+                // a map without weakly consistent iterators was changed by a remove outside the lock
+                this.closedCursor = null;
+                continue;
+            }
+
+            final TerminalContext terminalContext = this.context.terminalContext(terminalId)
+                .orElse(null);
+            if (null == terminalContext || false == terminalContext.isTerminalOpen()) {
+                closedCursor.remove();
+                this.context.removeTerminalContext(terminalId);
+                removed = true;
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * The number of terminals checked by each {@link #removeClosed()}.
+     */
+    private final static int CLOSED_CHECK_COUNT = 16;
+
+    /**
+     * The position of {@link #removeClosed()} within all terminals, guarded by {@link #lock}.
+     */
+    private Iterator<TerminalId> closedCursor;
+
+    /**
+     * Must be called while holding the lock.
+     */
+    private void updateNextSweep() {
+        final Entry<TerminalId, Long> head = this.queue.peek();
+
+        this.nextSweep = null == head ?
+            Long.MAX_VALUE :
+            head.getValue() + this.timeToLive;
+    }
+
+    /**
+     * Exits any evicted {@link TerminalContext} that is still open, outside the lock.
+     */
+    private static void exit(final List<TerminalContext> evicted) {
+        for (final TerminalContext terminalContext : evicted) {
+            if (terminalContext.isTerminalOpen()) {
+                terminalContext.exitTerminal(null);
+            }
+        }
+    }
+
+    private final long timeToLive;
+
+    private final int maxCount;
+
+    private final LongSupplier now;
+
+    /**
+     * Holds the last time each {@link TerminalId} was added or fetched.
+     */
+    private final Map<TerminalId, Long> terminalIdToLastAccess = Maps.concurrent();
+
+    /**
+     * Holds terminals ordered by a possibly stale access time, guarded by {@link #lock}.
+     */
+    private final PriorityQueue<Entry<TerminalId, Long>> queue = new PriorityQueue<>(Entry.<TerminalId, Long>comparingByValue());
+
+    /**
+     * The earliest time any queued terminal may expire.
+     */
+    private volatile long nextSweep = Long.MAX_VALUE;
+
+    private final Object lock = new Object();
+
+    // TerminalServerContextDelegator...................................................................................
+
+    @Override
+    public TerminalServerContext terminalServerContext() {
+        return this.context;
+    }
+
+    private final TerminalServerContext context;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.terminal.TerminalContext;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * An evaluator for {@link TerminalContext#evaluate(String)} that queues each evaluation by the {@link TerminalContext#user()}
+ * and runs them on a fixed number of worker threads, so a single user running many or heavy commands cannot starve
+ * other users.
+ * <br>
+ * Users are picked using stride scheduling, a form of weighted fair queuing. Each user has a pass which advances by
+ * {@link #STRIDE} divided by its weight every time one of its evaluations starts, and the waiting user with the lowest
+ * pass runs next. A user that becomes active starts at the current virtual time, so idle time does not bank credit.
+ * Users already running the maximum concurrent evaluations are skipped until one completes.
+ * <br>
+ * The calling thread waits for its evaluation to complete, and if interrupted cancels it. A cancelled evaluation that
+ * has not started is removed from its queue and never advances the pass of its user. An evaluation that itself
+ * evaluates, runs the nested evaluation inline on its worker, as queueing it could deadlock waiting for a worker or
+ * for the user concurrency limit held by the outer evaluation.
+ * <br>
+ * Weights must be between 1 and {@link #STRIDE}, a larger weight would never advance its pass, starving other users.
+ * <br>
+ * {@link #close()} stops the worker threads.
+ */
+@GwtIncompatible
+final class FairTerminalContextEvaluator implements CloseableTerminalContextEvaluator {
+
+    static FairTerminalContextEvaluator with(final BiFunction<String, TerminalContext, Object> evaluator,
+                                             final int workerCount,
+                                             final ToIntFunction<Optional<EmailAddress>> weight,
+                                             final int maxConcurrentPerUser) {
+        Objects.requireNonNull(evaluator, "evaluator");
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Invalid workerCount " + workerCount + " <= 0");
+        }
+        Objects.requireNonNull(weight, "weight");
+        if (maxConcurrentPerUser <= 0) {
+            throw new IllegalArgumentException("Invalid maxConcurrentPerUser " + maxConcurrentPerUser + " <= 0");
+        }
+
+        return new FairTerminalContextEvaluator(
+            evaluator,
+            workerCount,
+            weight,
+            maxConcurrentPerUser
+        );
+    }
+
+    private FairTerminalContextEvaluator(final BiFunction<String, TerminalContext, Object> evaluator,
+                                         final int workerCount,
+                                         final ToIntFunction<Optional<EmailAddress>> weight,
+                                         final int maxConcurrentPerUser) {
+        this.evaluator = evaluator;
+        this.workerCount = workerCount;
+        this.weight = weight;
+        this.maxConcurrentPerUser = maxConcurrentPerUser;
+
+        final Thread[] workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = TerminalServerThreads.unstarted(
+                "FairTerminalContextEvaluator-" + i,
+                this::work
+            );
+        }
+        this.workers = workers;
+
+        for (final Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    @Override
+    public Object apply(final String text,
+                        final TerminalContext context) {
+        Objects.requireNonNull(text, "text");
+        Objects.requireNonNull(context, "context");
+
+        final Optional<EmailAddress> user = context.user();
+        final int weight = this.weight.applyAsInt(user);
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Invalid weight " + weight + " <= 0 for " + user.map(EmailAddress::toString).orElse("Anonymous"));
+        }
+        if (weight > STRIDE) {
+            throw new IllegalArgumentException("Invalid weight " + weight + " > " + STRIDE + " for " + user.map(EmailAddress::toString).orElse("Anonymous"));
+        }
+
+        // already on a worker, run inline, queueing could wait forever for this worker or the user concurrency limit
+        if (Boolean.TRUE.equals(this.worker.get())) {
+            return this.evaluator.apply(
+                text,
+                context
+            );
+        }
+
+        final FutureTask<Object> task = new FutureTask<>(
+            () -> this.evaluator.apply(
+                text,
+                context
+            )
+        );
+
+        final UserQueue queue;
+
+        synchronized (this.lock) {
+            if (this.closed) {
+                throw new IllegalStateException("Evaluator closed");
+            }
+
+            UserQueue userQueue = this.userToQueue.get(user);
+            if (null == userQueue) {
+                userQueue = new UserQueue(
+                    user,
+                    this.virtualTime
+                );
+                this.userToQueue.put(
+                    user,
+                    userQueue
+                );
+            }
+            queue = userQueue;
+            queue.weight = weight;
+            queue.tasks.add(task);
+            this.queued++;
+
+            this.lock.notifyAll();
+        }
+
+        try {
+            return task.get();
+        } catch (final CancellationException cause) {
+            throw new IllegalStateException("Evaluation cancelled: " + text);
+        } catch (final InterruptedException cause) {
+            task.cancel(true);
+            this.dequeue(
+                queue,
+                task
+            );
+            Thread.currentThread()
+                .interrupt();
+            throw new IllegalStateException("Evaluation interrupted: " + text);
+        } catch (final ExecutionException cause) {
+            final Throwable thrown = cause.getCause();
+            if (thrown instanceof RuntimeException) {
+                throw (RuntimeException) thrown;
+            }
+            if (thrown instanceof Error) {
+                throw (Error) thrown;
+            }
+            throw new IllegalStateException(thrown);
+        }
+    }
+
+    /**
+     * The loop executed by each worker thread.
+     */
+    private void work() {
+        this.worker.set(Boolean.TRUE);
+
+        for (; ; ) {
+            final UserQueue queue;
+            final FutureTask<Object> task;
+
+            synchronized (this.lock) {
+                UserQueue next;
+                while (null == (next = this.next())) {
+                    if (this.closed) {
+                        return;
+                    }
+                    try {
+                        this.lock.wait();
+                    } catch (final InterruptedException cause) {
+                        return;
+                    }
+                }
+
+                queue = next;
+                task = queue.tasks.poll();
+                this.queued--;
+
+                // cancelled before it started, drop it without charging the user a pass
+                if (task.isDone()) {
+                    this.removeIfIdle(queue);
+                    continue;
+                }
+
+                this.virtualTime = queue.pass;
+                queue.pass += STRIDE / queue.weight;
+                queue.running++;
+            }
+
+            try {
+                task.run(); // cancelled tasks do nothing
+            } finally {
+                synchronized (this.lock) {
+                    queue.running--;
+                    this.removeIfIdle(queue);
+                    this.lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this.lock) {
+            if (false == this.closed) {
+                this.closed = true;
+
+                for (final UserQueue queue : this.userToQueue.values()) {
+                    for (final FutureTask<Object> task : queue.tasks) {
+                        task.cancel(false);
+                    }
+                    this.queued -= queue.tasks.size();
+                    queue.tasks.clear();
+                }
+                this.userToQueue.values()
+                    .removeIf(q -> 0 == q.running);
+
+                this.lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Returns true if every worker thread has stopped.
+     */
+    // @VisibleForTesting
+    boolean isTerminated() {
+        for (final Thread worker : this.workers) {
+            if (worker.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the {@link UserQueue} with waiting tasks and the lowest pass, skipping users at their concurrency limit.
+     */
+    private UserQueue next() {
+        UserQueue next = null;
+
+        for (final UserQueue queue : this.userToQueue.values()) {
+            if (queue.tasks.isEmpty() || queue.running >= this.maxConcurrentPerUser) {
+                continue;
+            }
+            if (null == next || queue.pass < next.pass) {
+                next = queue;
+            }
+        }
+
+        return next;
+    }
+
+    /**
+     * Removes a task whose caller was interrupted before a worker took it, so it neither occupies the queue nor advances
+     * the pass of its user.
+     */
+    private void dequeue(final UserQueue queue,
+                         final FutureTask<Object> task) {
+        synchronized (this.lock) {
+            if (queue.tasks.remove(task)) {
+                this.queued--;
+                this.removeIfIdle(queue);
+            }
+        }
+    }
+
+    /**
+     * Forgetting idle users keeps the scan in {@link #next()} proportional to the active users.
+     */
+    private void removeIfIdle(final UserQueue queue) {
+        if (queue.tasks.isEmpty() && 0 == queue.running) {
+            this.userToQueue.remove(queue.user);
+        }
+    }
+
+    // @VisibleForTesting
+    int queued() {
+        synchronized (this.lock) {
+            return this.queued;
+        }
+    }
+
+    /**
+     * The pass advance for a user with a weight of one.
+     */
+    // @VisibleForTesting
+    final static long STRIDE = 1L << 20;
+
+    private final BiFunction<String, TerminalContext, Object> evaluator;
+
+    private final int workerCount;
+
+    private final ToIntFunction<Optional<EmailAddress>> weight;
+
+    private final int maxConcurrentPerUser;
+
+    private final Thread[] workers;
+
+    /**
+     * True while the current thread is one of the {@link #workers}.
+     */
+    private final ThreadLocal<Boolean> worker = new ThreadLocal<>();
+
+    private final Object lock = new Object();
+
+    /**
+     * Set by {@link #close()}, guarded by {@link #lock}
+     */
+    private boolean closed;
+
+    /**
+     * Insertion ordered so ties in pass favour the user that became active first, guarded by {@link #lock}
+     */
+    private final Map<Optional<EmailAddress>, UserQueue> userToQueue = new LinkedHashMap<>();
+
+    /**
+     * The pass of the most recently started evaluation, guarded by {@link #lock}
+     */
+    private long virtualTime;
+
+    /**
+     * The total number of tasks waiting in all queues, guarded by {@link #lock}
+     */
+    private int queued;
+
+    /**
+     * The waiting tasks and scheduling state for a single user, guarded by {@link #lock}
+     */
+    private static final class UserQueue {
+
+        UserQueue(final Optional<EmailAddress> user,
+                  final long pass) {
+            this.user = user;
+            this.pass = pass;
+        }
+
+        final Optional<EmailAddress> user;
+
+        final ArrayDeque<FutureTask<Object>> tasks = new ArrayDeque<>();
+
+        long pass;
+
+        int weight;
+
+        int running;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + " " + this.workerCount + " " + this.maxConcurrentPerUser;
+    }
+}
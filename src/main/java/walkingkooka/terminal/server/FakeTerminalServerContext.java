@@ -17,9 +17,11 @@
 
 package walkingkooka.terminal.server;
 
+import walkingkooka.net.email.EmailAddress;
 import walkingkooka.terminal.TerminalContext;
 import walkingkooka.terminal.TerminalId;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -34,6 +36,11 @@ public class FakeTerminalServerContext implements TerminalServerContext {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public TerminalContext saveTerminalContext(final TerminalContext terminalContext) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public Optional<TerminalContext> terminalContext(final TerminalId id) {
         throw new UnsupportedOperationException();
@@ -43,4 +50,20 @@ public class FakeTerminalServerContext implements TerminalServerContext {
     public TerminalServerContext removeTerminalContext(final TerminalId id) {
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    public List<TerminalContext> terminalContexts(final int offset,
+                                                  final int count) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<TerminalContext> userTerminalContexts(final Optional<EmailAddress> user) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TerminalServerContext removeUserTerminalContexts(final Optional<EmailAddress> user) {
+        throw new UnsupportedOperationException();
+    }
 }
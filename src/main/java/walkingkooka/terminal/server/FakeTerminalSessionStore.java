@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import walkingkooka.terminal.TerminalId;
+
+import java.util.Objects;
+import java.util.Optional;
+
+public class FakeTerminalSessionStore implements TerminalSessionStore {
+
+    public FakeTerminalSessionStore() {
+        super();
+    }
+
+    @Override
+    public void save(final TerminalSession session) {
+        Objects.requireNonNull(session, "session");
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<TerminalSession> load(final TerminalId terminalId) {
+        Objects.requireNonNull(terminalId, "terminalId");
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void delete(final TerminalId terminalId) {
+        Objects.requireNonNull(terminalId, "terminalId");
+        throw new UnsupportedOperationException();
+    }
+}
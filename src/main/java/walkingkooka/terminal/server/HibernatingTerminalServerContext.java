@@ -0,0 +1,363 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link TerminalServerContext} that hibernates idle {@link TerminalContext} to a {@link TerminalSessionStore},
+ * exiting and removing them, and restores them on the next {@link #terminalContext(TerminalId)}.
+ * <ul>
+ *     <li>Adds, lookups and pages sweep once the earliest last access may have passed the time to idle. Open idle
+ *     terminals are saved using the hibernator, removed and then exited, closed idle terminals are only removed.</li>
+ *     <li>A lookup of a hibernated {@link TerminalId} loads its {@link TerminalSession}, creates the
+ *     {@link TerminalContext} using the restorer, saves it to the wrapped {@link TerminalServerContext} using
+ *     {@link TerminalServerContext#saveTerminalContext(TerminalContext)} keeping its {@link TerminalId}, and deletes
+ *     the {@link TerminalSession}.</li>
+ * </ul>
+ * Terminals are ordered by their last access in a queue which is corrected lazily, like
+ * {@link EvictingTerminalServerContext}, so a sweep only visits the terminals that may have become idle rather than
+ * every terminal, and a lookup only records its access time in a concurrent map without taking the lock.
+ * <br>
+ * Hibernating and restoring share one lock, and a session is saved before its terminal is removed, so a concurrent
+ * lookup always finds a terminal either in memory or in the {@link TerminalSessionStore}. Only the
+ * {@link TerminalSession} is kept, memory is only freed when the {@link TerminalSessionStore} keeps sessions elsewhere,
+ * such as a {@link StorageTerminalSessionStore}.
+ * Hibernated terminals are not included in {@link #terminalContexts(int, int)}.
+ */
+final class HibernatingTerminalServerContext implements TerminalServerContext {
+
+    static HibernatingTerminalServerContext with(final long timeToIdle,
+                                                 final LongSupplier now,
+                                                 final Function<TerminalContext, TerminalSession> hibernator,
+                                                 final Function<TerminalSession, TerminalContext> restorer,
+                                                 final TerminalSessionStore store,
+                                                 final TerminalServerContext context) {
+        if (timeToIdle <= 0) {
+            throw new IllegalArgumentException("Invalid timeToIdle " + timeToIdle + " <= 0");
+        }
+
+        return new HibernatingTerminalServerContext(
+            timeToIdle,
+            Objects.requireNonNull(now, "now"),
+            Objects.requireNonNull(hibernator, "hibernator"),
+            Objects.requireNonNull(restorer, "restorer"),
+            Objects.requireNonNull(store, "store"),
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private HibernatingTerminalServerContext(final long timeToIdle,
+                                             final LongSupplier now,
+                                             final Function<TerminalContext, TerminalSession> hibernator,
+                                             final Function<TerminalSession, TerminalContext> restorer,
+                                             final TerminalSessionStore store,
+                                             final TerminalServerContext context) {
+        this.timeToIdle = timeToIdle;
+        this.now = now;
+        this.hibernator = hibernator;
+        this.restorer = restorer;
+        this.store = store;
+        this.context = context;
+    }
+
+    @Override
+    public TerminalContext addTerminalContext(final Function<TerminalId, TerminalContext> terminalContextFactory) {
+        Objects.requireNonNull(terminalContextFactory, "terminalContextFactory");
+
+        this.sweepIfDue();
+
+        final TerminalContext terminalContext = this.context.addTerminalContext(terminalContextFactory);
+        this.touch(
+            terminalContext.terminalId()
+        );
+        return terminalContext;
+    }
+
+    @Override
+    public TerminalContext saveTerminalContext(final TerminalContext terminalContext) {
+        Objects.requireNonNull(terminalContext, "terminalContext");
+
+        this.sweepIfDue();
+
+        final TerminalContext saved = this.context.saveTerminalContext(terminalContext);
+        this.touch(
+            saved.terminalId()
+        );
+        return saved;
+    }
+
+    @Override
+    public Optional<TerminalContext> terminalContext(final TerminalId id) {
+        Objects.requireNonNull(id, "id");
+
+        TerminalContext terminalContext = this.context.terminalContext(id)
+            .orElse(null);
+        if (null == terminalContext) {
+            terminalContext = this.restore(id);
+        }
+
+        if (null != terminalContext) {
+            // only refresh, a terminal hibernated meanwhile must not leave a last access behind
+            this.terminalIdToLastAccess.replace(
+                id,
+                this.now.getAsLong()
+            );
+        }
+
+        // sweep after refreshing so the terminal being fetched is never hibernated
+        this.sweepIfDue();
+
+        return Optional.ofNullable(terminalContext);
+    }
+
+    /**
+     * Restores the hibernated {@link TerminalContext} with the given {@link TerminalId}, if one was saved. Restores
+     * share the lock with hibernating, so a lookup waits for a hibernate in progress to save its session.
+     */
+    private TerminalContext restore(final TerminalId id) {
+        synchronized (this.lock) {
+            // another lookup may have restored the terminal while this one waited for the lock
+            TerminalContext terminalContext = this.context.terminalContext(id)
+                .orElse(null);
+
+            if (null == terminalContext) {
+                final TerminalSession session = this.store.load(id)
+                    .orElse(null);
+                if (null != session) {
+                    final TerminalContext restored = this.restorer.apply(session);
+
+                    final TerminalId restoredId = restored.terminalId();
+                    if (false == id.equals(restoredId)) {
+                        throw new IllegalStateException("Restored terminal " + restoredId + " expected " + id);
+                    }
+
+                    terminalContext = this.context.saveTerminalContext(restored);
+                    this.store.delete(id);
+                    this.touch(id);
+                }
+            }
+
+            return terminalContext;
+        }
+    }
+
+    @Override
+    public TerminalServerContext removeTerminalContext(final TerminalId id) {
+        Objects.requireNonNull(id, "id");
+
+        synchronized (this.lock) {
+            this.context.removeTerminalContext(id);
+            this.store.delete(id);
+            this.terminalIdToLastAccess.remove(id);
+        }
+        return this;
+    }
+
+    @Override
+    public List<TerminalContext> terminalContexts(final int offset,
+                                                  final int count) {
+        BasicTerminalServerContext.checkOffsetAndCount(
+            offset,
+            count
+        );
+
+        this.sweepIfDue();
+
+        return this.context.terminalContexts(
+            offset,
+            count
+        );
+    }
+
+    /**
+     * Hibernates idle terminals, but only takes the lock once the earliest last access may have passed the time to idle.
+     */
+    private void sweepIfDue() {
+        if (this.now.getAsLong() >= this.nextSweep) {
+            this.hibernateIdle();
+        }
+    }
+
+    /**
+     * Hibernates open terminals that have not been fetched within the time to idle, and removes idle closed terminals.
+     * Only the head of the queue is visited, stale access times are re-queued with the latest access time when they
+     * reach the head, so each terminal hibernated costs O(log n). Hibernated terminals are exited after the lock is
+     * released.
+     */
+    void hibernateIdle() {
+        final List<TerminalContext> hibernated = Lists.array();
+
+        synchronized (this.lock) {
+            final long idle = this.now.getAsLong() - this.timeToIdle;
+            final Map<TerminalId, Long> terminalIdToLastAccess = this.terminalIdToLastAccess;
+            final PriorityQueue<Entry<TerminalId, Long>> queue = this.queue;
+
+            for (; ; ) {
+                final Entry<TerminalId, Long> head = queue.peek();
+                if (null == head) {
+                    break;
+                }
+
+                final TerminalId id = head.getKey();
+                final Long lastAccess = terminalIdToLastAccess.get(id);
+
+                // removed or hibernated since queued
+                if (null == lastAccess) {
+                    queue.poll();
+                    continue;
+                }
+
+                // fetched since queued, re-queue with the latest access time
+                if (lastAccess > head.getValue()) {
+                    queue.poll();
+                    queue.add(
+                        new SimpleImmutableEntry<>(
+                            id,
+                            lastAccess
+                        )
+                    );
+                    continue;
+                }
+
+                if (lastAccess > idle) {
+                    break;
+                }
+
+                // a lookup that refreshed the last access meanwhile keeps the terminal, the next pass re-queues it
+                if (terminalIdToLastAccess.remove(id, lastAccess)) {
+                    queue.poll();
+
+                    final TerminalContext terminalContext = this.hibernate(id);
+                    if (null != terminalContext) {
+                        hibernated.add(terminalContext);
+                    }
+                }
+            }
+
+            this.updateNextSweep();
+        }
+
+        for (final TerminalContext terminalContext : hibernated) {
+            if (terminalContext.isTerminalOpen()) {
+                terminalContext.exitTerminal(null);
+            }
+        }
+    }
+
+    /**
+     * Saves the {@link TerminalSession} of an open {@link TerminalContext} and then removes it, returning the removed
+     * {@link TerminalContext}. Must be called while holding the lock.
+     */
+    private TerminalContext hibernate(final TerminalId id) {
+        final TerminalContext terminalContext = this.context.terminalContext(id)
+            .orElse(null);
+
+        // save before removing, so a concurrent lookup finds the terminal in memory or the store
+        if (null != terminalContext && terminalContext.isTerminalOpen()) {
+            this.store.save(
+                this.hibernator.apply(terminalContext)
+            );
+        }
+
+        this.context.removeTerminalContext(id);
+
+        return terminalContext;
+    }
+
+    /**
+     * Records the last access of a new or restored {@link TerminalContext} and queues it.
+     */
+    private void touch(final TerminalId id) {
+        final long now = this.now.getAsLong();
+
+        synchronized (this.lock) {
+            this.terminalIdToLastAccess.put(
+                id,
+                now
+            );
+            this.queue.add(
+                new SimpleImmutableEntry<>(
+                    id,
+                    now
+                )
+            );
+            this.updateNextSweep();
+        }
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    private void updateNextSweep() {
+        final Entry<TerminalId, Long> head = this.queue.peek();
+
+        this.nextSweep = null == head ?
+            Long.MAX_VALUE :
+            head.getValue() + this.timeToIdle;
+    }
+
+    private final long timeToIdle;
+
+    private final LongSupplier now;
+
+    private final Function<TerminalContext, TerminalSession> hibernator;
+
+    private final Function<TerminalSession, TerminalContext> restorer;
+
+    private final TerminalSessionStore store;
+
+    /**
+     * Holds the last time each in memory {@link TerminalId} was added, fetched or restored.
+     */
+    private final Map<TerminalId, Long> terminalIdToLastAccess = Maps.concurrent();
+
+    /**
+     * Holds terminals ordered by a possibly stale last access, guarded by {@link #lock}.
+     */
+    private final PriorityQueue<Entry<TerminalId, Long>> queue = new PriorityQueue<>(Entry.<TerminalId, Long>comparingByValue());
+
+    /**
+     * The earliest time any queued terminal may become idle.
+     */
+    private volatile long nextSweep = Long.MAX_VALUE;
+
+    private final Object lock = new Object();
+
+    private final TerminalServerContext context;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.environment.EnvironmentContext;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalContextDelegator;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link TerminalContext} that wraps another, calling the closed {@link BiConsumer} the first time
+ * {@link #exitTerminal(Object)} completes. Clones share the closed state, as they belong to the same terminal.
+ * Expressions are evaluated against this wrapper, so an expression calling {@link #exitTerminal(Object)} also fires
+ * the closed event.
+ */
+@GwtIncompatible
+final class ListenerTerminalContext implements TerminalContextDelegator {
+
+    static ListenerTerminalContext with(final TerminalContext context,
+                                        final BiConsumer<TerminalContext, Object> closed) {
+        return new ListenerTerminalContext(
+            Objects.requireNonNull(context, "context"),
+            Objects.requireNonNull(closed, "closed"),
+            new AtomicBoolean(),
+            new AtomicBoolean()
+        );
+    }
+
+    private ListenerTerminalContext(final TerminalContext context,
+                                    final BiConsumer<TerminalContext, Object> closed,
+                                    final AtomicBoolean exited,
+                                    final AtomicBoolean removed) {
+        this.context = context;
+        this.closed = closed;
+        this.exited = exited;
+        this.removed = removed;
+    }
+
+    @Override
+    public void exitTerminal(final Object value) {
+        this.context.exitTerminal(value);
+
+        if (this.exited.compareAndSet(false, true)) {
+            this.closed.accept(
+                this,
+                value
+            );
+        }
+    }
+
+    private final BiConsumer<TerminalContext, Object> closed;
+
+    @Override
+    public Object evaluate(final String expression) {
+        return this.context.evaluate(
+            expression,
+            this
+        );
+    }
+
+    private final AtomicBoolean exited;
+
+    /**
+     * Returns true only for the first call, so concurrent removes produce a single removed event.
+     */
+    boolean markRemoved() {
+        return this.removed.compareAndSet(false, true);
+    }
+
+    private final AtomicBoolean removed;
+
+    // TerminalContextDelegator.........................................................................................
+
+    @Override
+    public TerminalContext terminalContext() {
+        return this.context;
+    }
+
+    private final TerminalContext context;
+
+    // EnvironmentContext...............................................................................................
+
+    @Override
+    public TerminalContext cloneEnvironment() {
+        return new ListenerTerminalContext(
+            this.context.cloneEnvironment(),
+            this.closed,
+            this.exited,
+            this.removed
+        );
+    }
+
+    @Override
+    public TerminalContext setEnvironmentContext(final EnvironmentContext environmentContext) {
+        Objects.requireNonNull(environmentContext, "environmentContext");
+
+        final TerminalContext before = this.context;
+        final TerminalContext after = before.setEnvironmentContext(environmentContext);
+
+        return before == after ?
+            this :
+            new ListenerTerminalContext(
+                after,
+                this.closed,
+                this.exited,
+                this.removed
+            );
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
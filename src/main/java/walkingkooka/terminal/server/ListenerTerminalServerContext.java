@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link TerminalServerContext} that wraps another, sending added, closed and removed events to a
+ * {@link TerminalServerContextListener}. Each event is dispatched on the given {@link Executor} after the wrapped
+ * {@link TerminalServerContext} has returned, so listeners never run while its locks are held. A single threaded
+ * {@link Executor} should be used when listeners require events to arrive in order.
+ */
+@GwtIncompatible
+final class ListenerTerminalServerContext implements TerminalServerContextDelegator {
+
+    static ListenerTerminalServerContext with(final TerminalServerContextListener listener,
+                                              final Executor executor,
+                                              final TerminalServerContext context) {
+        return new ListenerTerminalServerContext(
+            Objects.requireNonNull(listener, "listener"),
+            Objects.requireNonNull(executor, "executor"),
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private ListenerTerminalServerContext(final TerminalServerContextListener listener,
+                                          final Executor executor,
+                                          final TerminalServerContext context) {
+        this.listener = listener;
+        this.executor = executor;
+        this.context = context;
+    }
+
+    @Override
+    public TerminalContext addTerminalContext(final Function<TerminalId, TerminalContext> terminalContextFactory) {
+        Objects.requireNonNull(terminalContextFactory, "terminalContextFactory");
+
+        return this.added(
+            this.context.addTerminalContext(
+                (id) -> ListenerTerminalContext.with(
+                    terminalContextFactory.apply(id),
+                    this::closed
+                )
+            )
+        );
+    }
+
+    @Override
+    public TerminalContext saveTerminalContext(final TerminalContext terminalContext) {
+        Objects.requireNonNull(terminalContext, "terminalContext");
+
+        return this.added(
+            this.context.saveTerminalContext(
+                ListenerTerminalContext.with(
+                    terminalContext,
+                    this::closed
+                )
+            )
+        );
+    }
+
+    private TerminalContext added(final TerminalContext terminalContext) {
+        this.fire(
+            (l) -> l.terminalContextAdded(terminalContext)
+        );
+
+        return terminalContext;
+    }
+
+    private void closed(final TerminalContext terminalContext,
+                        final Object exitValue) {
+        this.fire(
+            (l) -> l.terminalContextClosed(
+                terminalContext,
+                exitValue
+            )
+        );
+    }
+
+    @Override
+    public TerminalServerContext removeTerminalContext(final TerminalId id) {
+        Objects.requireNonNull(id, "id");
+
+        final Optional<TerminalContext> terminalContext = this.context.terminalContext(id);
+        this.context.removeTerminalContext(id);
+
+        if (terminalContext.isPresent()) {
+            final TerminalContext removed = terminalContext.get();
+
+            if (false == removed instanceof ListenerTerminalContext || ((ListenerTerminalContext) removed).markRemoved()) {
+                this.fire(
+                    (l) -> l.terminalContextRemoved(removed)
+                );
+            }
+        }
+
+        return this;
+    }
+
+    private void fire(final Consumer<TerminalServerContextListener> event) {
+        final TerminalServerContextListener listener = this.listener;
+
+        this.executor.execute(
+            () -> event.accept(listener)
+        );
+    }
+
+    private final TerminalServerContextListener listener;
+
+    private final Executor executor;
+
+    // TerminalServerContextDelegator...................................................................................
+
+    @Override
+    public TerminalServerContext terminalServerContext() {
+        return this.context;
+    }
+
+    private final TerminalServerContext context;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A {@link TerminalServerContext} that partitions {@link TerminalContext} across several {@link BasicTerminalServerContext}
+ * stripes, to reduce contention when many terminals are added at the same time.
+ * <br>
+ * Each stripe allocates its own {@link TerminalId} so that the stripe index is the id modulo the stripe count, which means
+ * lookups and removes go directly to a single stripe. Each thread picks stripes for its adds round-robin.
+ */
+@GwtIncompatible
+final class ShardedTerminalServerContext implements TerminalServerContext {
+
+    static ShardedTerminalServerContext with(final int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Invalid stripeCount " + stripeCount + " <= 0");
+        }
+
+        return new ShardedTerminalServerContext(stripeCount);
+    }
+
+    private ShardedTerminalServerContext(final int stripeCount) {
+        super();
+
+        final BasicTerminalServerContext[] stripes = new BasicTerminalServerContext[stripeCount];
+
+        for (int i = 0; i < stripeCount; i++) {
+            final long stripe = i;
+            final AtomicLong next = new AtomicLong();
+
+            stripes[i] = BasicTerminalServerContext.with(
+                () -> TerminalId.with(
+                    next.getAndIncrement() * stripeCount + stripe
+                )
+            );
+        }
+
+        this.stripes = stripes;
+    }
+
+    @Override
+    public TerminalContext addTerminalContext(final Function<TerminalId, TerminalContext> terminalContextFactory) {
+        Objects.requireNonNull(terminalContextFactory, "terminalContextFactory");
+
+        // round-robin per thread, so adds from a single acceptor thread still spread across every stripe, without
+        // threads contending on a shared counter
+        final long[] nextStripe = NEXT_STRIPE.get();
+        return this.stripe(
+            nextStripe[0]++
+        ).addTerminalContext(terminalContextFactory);
+    }
+
+    /**
+     * Each thread starts at a different stripe picked by its thread id, so concurrent adds do not all begin on the
+     * same stripe.
+     */
+    private final static ThreadLocal<long[]> NEXT_STRIPE = ThreadLocal.withInitial(
+        () -> new long[]{
+            Thread.currentThread()
+                .getId()
+        }
+    );
+
+    @Override
+    public TerminalContext saveTerminalContext(final TerminalContext terminalContext) {
+        Objects.requireNonNull(terminalContext, "terminalContext");
+
+        return this.stripe(
+            terminalContext.terminalId()
+                .longValue()
+        ).saveTerminalContext(terminalContext);
+    }
+
+    @Override
+    public Optional<TerminalContext> terminalContext(final TerminalId id) {
+        Objects.requireNonNull(id, "id");
+
+        return this.terminalContext(
+            id.longValue()
+        );
+    }
+
+    @Override
+    public Optional<TerminalContext> terminalContext(final long id) {
+        return this.stripe(id)
+            .terminalContext(id);
+    }
+
+    @Override
+    public TerminalServerContext removeTerminalContext(final TerminalId id) {
+        Objects.requireNonNull(id, "id");
+
+        this.stripe(id.longValue())
+            .removeTerminalContext(id);
+        return this;
+    }
+
+    @Override
+    public List<TerminalContext> terminalContexts(final int offset,
+                                                  final int count) {
+        BasicTerminalServerContext.checkOffsetAndCount(
+            offset,
+            count
+        );
+
+        // each stripe page is already sorted, so only the first offset + count of each are merged
+        final int end = BasicTerminalServerContext.end(
+            offset,
+            count
+        );
+
+        final List<List<TerminalContext>> stripeTerminalContexts = new ArrayList<>();
+        for (final BasicTerminalServerContext stripe : this.stripes) {
+            stripeTerminalContexts.add(
+                stripe.terminalContexts(
+                    0,
+                    end
+                )
+            );
+        }
+
+        return BasicTerminalServerContext.merge(
+            stripeTerminalContexts,
+            offset,
+            count
+        );
+    }
+
+    private BasicTerminalServerContext stripe(final long id) {
+        return this.stripes[
+            (int) Math.floorMod(
+                id,
+                (long) this.stripes.length
+            )
+            ];
+    }
+
+    private final BasicTerminalServerContext[] stripes;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + " " + this.stripes.length;
+    }
+}
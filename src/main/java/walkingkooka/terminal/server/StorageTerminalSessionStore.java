@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import walkingkooka.Cast;
+import walkingkooka.storage.Storage;
+import walkingkooka.storage.StorageContext;
+import walkingkooka.storage.StorageName;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValue;
+import walkingkooka.terminal.TerminalId;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link TerminalSessionStore} that saves each {@link TerminalSession} as a {@link StorageValue} in a
+ * {@link Storage}, under the given directory and named by its {@link TerminalId}. Marshalling and where sessions are
+ * kept is left to the {@link Storage}, so hibernated sessions may live off the heap.
+ */
+final class StorageTerminalSessionStore<C extends StorageContext> implements TerminalSessionStore {
+
+    static <C extends StorageContext> StorageTerminalSessionStore<C> with(final Storage<C> storage,
+                                                                         final StoragePath directory,
+                                                                         final C context) {
+        return new StorageTerminalSessionStore<>(
+            Objects.requireNonNull(storage, "storage"),
+            Objects.requireNonNull(directory, "directory"),
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private StorageTerminalSessionStore(final Storage<C> storage,
+                                        final StoragePath directory,
+                                        final C context) {
+        this.storage = storage;
+        this.directory = directory;
+        this.context = context;
+    }
+
+    @Override
+    public void save(final TerminalSession session) {
+        Objects.requireNonNull(session, "session");
+
+        this.storage.save(
+            StorageValue.with(
+                this.path(
+                    session.terminalId()
+                ),
+                Optional.of(session)
+            ),
+            this.context
+        );
+    }
+
+    @Override
+    public Optional<TerminalSession> load(final TerminalId terminalId) {
+        Objects.requireNonNull(terminalId, "terminalId");
+
+        return this.storage.load(
+                this.path(terminalId),
+                this.context
+            ).flatMap(StorageValue::value)
+            .map((v) -> Cast.to(v));
+    }
+
+    @Override
+    public void delete(final TerminalId terminalId) {
+        Objects.requireNonNull(terminalId, "terminalId");
+
+        this.storage.delete(
+            this.path(terminalId),
+            this.context
+        );
+    }
+
+    /**
+     * The {@link StoragePath} of the {@link TerminalSession} with the given {@link TerminalId}.
+     */
+    // @VisibleForTesting
+    StoragePath path(final TerminalId terminalId) {
+        return this.directory.append(
+            StorageName.with(
+                terminalId.toString()
+            )
+        );
+    }
+
+    private final Storage<C> storage;
+
+    private final StoragePath directory;
+
+    private final C context;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.storage + " " + this.directory;
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import walkingkooka.terminal.TerminalContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A concurrent map of {@link TerminalContext} keyed by the primitive long value of its {@link walkingkooka.terminal.TerminalId}.
+ * Keys are never boxed, and entries are stored in open-addressing tables using linear probing, which means a lookup
+ * is a hash and a short scan of an array.
+ * <br>
+ * The map is split into segments, each guarded by its own lock for writes, so threads touching different terminals
+ * rarely contend. Reads never lock when the key is found, they scan a volatile snapshot of the segment table, which
+ * holds immutable entries so a key and its value are always read together. A concurrent remove may shift an entry
+ * backwards past a reader, so a miss is repeated under the lock before returning null.
+ * Removes use backward shift deletion so tables never fill up with tombstones.
+ */
+final class TerminalContextLongMap {
+
+    static TerminalContextLongMap empty() {
+        return new TerminalContextLongMap();
+    }
+
+    private final static int SEGMENT_BITS = 4;
+
+    private final static int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+
+    private final static int INITIAL_CAPACITY = 16;
+
+    private TerminalContextLongMap() {
+        super();
+
+        final Segment[] segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+        this.segments = segments;
+    }
+
+    /**
+     * Returns the {@link TerminalContext} for the given key or null.
+     */
+    TerminalContext get(final long key) {
+        final long hash = hash(key);
+        final Segment segment = this.segment(hash);
+
+        // optimistic lock free read, the volatile read of table sees every completed write
+        TerminalContext value = find(
+            segment.table,
+            key,
+            hash
+        );
+
+        if (null == value) {
+            synchronized (segment) {
+                value = find(
+                    segment.table,
+                    key,
+                    hash
+                );
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Scans the probe sequence for the key, giving up after visiting every slot, as a racy read may not see any
+     * empty slot.
+     */
+    private static TerminalContext find(final Entry[] table,
+                                        final long key,
+                                        final long hash) {
+        final int mask = table.length - 1;
+
+        int i = (int) hash & mask;
+        for (int probes = 0; probes < table.length; probes++) {
+            final Entry entry = table[i];
+            if (null == entry) {
+                break;
+            }
+            if (key == entry.key) {
+                return entry.value;
+            }
+            i = (i + 1) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Adds the given key and value if absent, returning any existing value, or null if the value was added.
+     */
+    TerminalContext putIfAbsent(final long key,
+                                final TerminalContext value) {
+        final long hash = hash(key);
+        final Segment segment = this.segment(hash);
+
+        synchronized (segment) {
+            final Entry[] table = segment.table;
+            final int mask = table.length - 1;
+
+            int i = (int) hash & mask;
+            for (; ; ) {
+                final Entry existing = table[i];
+                if (null == existing) {
+                    break;
+                }
+                if (key == existing.key) {
+                    return existing.value;
+                }
+                i = (i + 1) & mask;
+            }
+
+            table[i] = new Entry(
+                key,
+                value
+            );
+
+            // keep the load factor at or below 3/4 so probe sequences stay short
+            segment.size++;
+            if (segment.size * 4 > table.length * 3) {
+                segment.resize();
+            } else {
+                segment.publish();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Removes the given key returning the removed value or null.
+     */
+    TerminalContext remove(final long key) {
+        final long hash = hash(key);
+        final Segment segment = this.segment(hash);
+
+        synchronized (segment) {
+            final Entry[] table = segment.table;
+            final int mask = table.length - 1;
+
+            int i = (int) hash & mask;
+            for (; ; ) {
+                final Entry entry = table[i];
+                if (null == entry) {
+                    return null;
+                }
+                if (key == entry.key) {
+                    segment.deleteSlot(i);
+                    segment.size--;
+                    segment.publish();
+                    return entry.value;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+    }
+
+    /**
+     * Returns a new array holding every value in no particular order. Each segment is copied while holding its own lock,
+     * so writes to other segments are never blocked.
+     */
+    TerminalContext[] values() {
+        final List<TerminalContext> values = new ArrayList<>();
+
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                for (final Entry entry : segment.table) {
+                    if (null != entry) {
+                        values.add(entry.value);
+                    }
+                }
+            }
+        }
+
+        return values.toArray(new TerminalContext[0]);
+    }
+
+    /**
+     * Returns the total number of entries.
+     */
+    int size() {
+        int size = 0;
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    private Segment segment(final long hash) {
+        return this.segments[(int) (hash >>> (64 - SEGMENT_BITS))];
+    }
+
+    private final Segment[] segments;
+
+    /**
+     * Mixes all bits of the key, so sequential and strided keys such as those from a sharded or snowflake
+     * {@link walkingkooka.terminal.TerminalId} spread evenly across segments and slots.
+     */
+    static long hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * An immutable key and value, so a racy reader never sees a key paired with another value.
+     */
+    private final static class Entry {
+
+        Entry(final long key,
+              final TerminalContext value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        final long key;
+
+        final TerminalContext value;
+    }
+
+    /**
+     * A single open-addressing table, an empty slot is null. All writes happen while holding the segment lock.
+     */
+    private final static class Segment {
+
+        Segment() {
+            this.table = new Entry[INITIAL_CAPACITY];
+        }
+
+        void resize() {
+            final Entry[] oldTable = this.table;
+
+            final int capacity = oldTable.length * 2;
+            final int mask = capacity - 1;
+
+            final Entry[] table = new Entry[capacity];
+
+            for (final Entry entry : oldTable) {
+                if (null != entry) {
+                    int i = (int) hash(entry.key) & mask;
+                    while (null != table[i]) {
+                        i = (i + 1) & mask;
+                    }
+                    table[i] = entry;
+                }
+            }
+
+            this.table = table;
+        }
+
+        /**
+         * Re-writes the volatile table after updating slots in place, so lock free readers see the completed write.
+         */
+        void publish() {
+            this.table = this.table;
+        }
+
+        /**
+         * Empties the slot and shifts back any following entries in the same probe sequence, so lookups never need
+         * to skip tombstones.
+         */
+        void deleteSlot(final int slot) {
+            final Entry[] table = this.table;
+            final int mask = table.length - 1;
+
+            int i = slot;
+            int j = slot;
+
+            table[i] = null;
+
+            for (; ; ) {
+                j = (j + 1) & mask;
+                final Entry entry = table[j];
+                if (null == entry) {
+                    break;
+                }
+
+                final int home = (int) hash(entry.key) & mask;
+
+                // leave entries whose home slot lies cyclically within (i, j]
+                final boolean stay = i <= j ?
+                    i < home && home <= j :
+                    i < home || home <= j;
+                if (stay) {
+                    continue;
+                }
+
+                // copy before clearing, a reader that misses the moved entry retries under the lock
+                table[i] = entry;
+                table[j] = null;
+                i = j;
+            }
+        }
+
+        volatile Entry[] table;
+
+        int size;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + " " + this.size();
+    }
+}
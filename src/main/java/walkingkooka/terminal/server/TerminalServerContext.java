@@ -18,9 +18,13 @@
 package walkingkooka.terminal.server;
 
 import walkingkooka.Context;
+import walkingkooka.net.email.EmailAddress;
 import walkingkooka.terminal.TerminalContext;
 import walkingkooka.terminal.TerminalId;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -35,11 +39,32 @@ public interface TerminalServerContext extends Context {
      */
     TerminalContext addTerminalContext(final Function<TerminalId, TerminalContext> terminalContextFactory);
 
+    /**
+     * Saves a {@link TerminalContext} keeping its {@link TerminalId}, which must not already be present, for example one
+     * restored after hibernating. The saved {@link TerminalContext} is returned, which may be a wrapper. Only
+     * {@link TerminalServerContext} that can hold a {@link TerminalId} they did not allocate support this.
+     */
+    default TerminalContext saveTerminalContext(final TerminalContext terminalContext) {
+        Objects.requireNonNull(terminalContext, "terminalContext");
+
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Gets a {@link TerminalContext} given its {@link TerminalId}.
      */
     Optional<TerminalContext> terminalContext(final TerminalId id);
 
+    /**
+     * Gets a {@link TerminalContext} given the value of its {@link TerminalId}. Implementations should override this to
+     * avoid creating a {@link TerminalId} for each lookup.
+     */
+    default Optional<TerminalContext> terminalContext(final long id) {
+        return this.terminalContext(
+            TerminalId.with(id)
+        );
+    }
+
     /**
      * Fetches the requested {@link TerminalContext} or throws a {@link IllegalArgumentException}.
      */
@@ -52,4 +77,48 @@ public interface TerminalServerContext extends Context {
      * Removes an existing {@link TerminalContext}.
      */
     TerminalServerContext removeTerminalContext(final TerminalId id);
+
+    /**
+     * Returns a page of {@link TerminalContext} sorted by {@link TerminalId}. Only {@link TerminalServerContext} that
+     * can list their terminals support this.
+     */
+    default List<TerminalContext> terminalContexts(final int offset,
+                                                   final int count) {
+        BasicTerminalServerContext.checkOffsetAndCount(
+            offset,
+            count
+        );
+
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns all {@link TerminalContext} belonging to the given user. The default scans every {@link TerminalContext},
+     * {@link TerminalServerContext} that index users should override.
+     */
+    default List<TerminalContext> userTerminalContexts(final Optional<EmailAddress> user) {
+        Objects.requireNonNull(user, "user");
+
+        final List<TerminalContext> terminalContexts = new ArrayList<>();
+
+        for (final TerminalContext terminalContext : this.terminalContexts(0, Integer.MAX_VALUE)) {
+            if (user.equals(terminalContext.user())) {
+                terminalContexts.add(terminalContext);
+            }
+        }
+
+        return terminalContexts;
+    }
+
+    /**
+     * Removes all {@link TerminalContext} belonging to the given user.
+     */
+    default TerminalServerContext removeUserTerminalContexts(final Optional<EmailAddress> user) {
+        for (final TerminalContext terminalContext : this.userTerminalContexts(user)) {
+            this.removeTerminalContext(
+                terminalContext.terminalId()
+            );
+        }
+        return this;
+    }
 }
@@ -17,13 +17,21 @@
 
 package walkingkooka.terminal.server;
 
+import walkingkooka.net.email.EmailAddress;
 import walkingkooka.terminal.TerminalContext;
 import walkingkooka.terminal.TerminalId;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 
+/**
+ * A {@link TerminalServerContext} that delegates to another.
+ * <br>
+ * Note {@link #terminalContext(long)} is not delegated, the default creates a {@link TerminalId} and calls
+ * {@link #terminalContext(TerminalId)}, so delegators that only override that method also see lookups by value.
+ */
 public interface TerminalServerContextDelegator extends TerminalServerContext {
 
     @Override
@@ -32,6 +40,16 @@ public interface TerminalServerContextDelegator extends TerminalServerContext {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Not delegated for the same reason as {@link #addTerminalContext(Function)}, delegators keeping bookkeeping for
+     * each {@link TerminalContext} must override both.
+     */
+    @Override
+    default TerminalContext saveTerminalContext(final TerminalContext terminalContext) {
+        Objects.requireNonNull(terminalContext, "terminalContext");
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     default Optional<TerminalContext> terminalContext(final TerminalId terminalId) {
         return this.terminalServerContext()
@@ -45,5 +63,25 @@ public interface TerminalServerContextDelegator extends TerminalServerContext {
         return this;
     }
 
+    @Override
+    default List<TerminalContext> terminalContexts(final int offset,
+                                                   final int count) {
+        return this.terminalServerContext()
+            .terminalContexts(
+                offset,
+                count
+            );
+    }
+
+    /**
+     * Note {@link #removeUserTerminalContexts(Optional)} is not delegated, the default removes each
+     * {@link TerminalContext} using {@link #removeTerminalContext(TerminalId)} so any bookkeeping by the delegator happens.
+     */
+    @Override
+    default List<TerminalContext> userTerminalContexts(final Optional<EmailAddress> user) {
+        return this.terminalServerContext()
+            .userTerminalContexts(user);
+    }
+
     TerminalServerContext terminalServerContext();
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import walkingkooka.terminal.TerminalContext;
+
+/**
+ * Receives lifecycle events for the {@link TerminalContext} belonging to a {@link TerminalServerContext}. Events are
+ * dispatched after the {@link TerminalServerContext} has completed the operation, and never while holding its locks.
+ */
+public interface TerminalServerContextListener {
+
+    /**
+     * The given {@link TerminalContext} was added and is open.
+     */
+    default void terminalContextAdded(final TerminalContext terminalContext) {
+        // nop
+    }
+
+    /**
+     * The given {@link TerminalContext} was closed using {@link TerminalContext#exitTerminal(Object)}.
+     */
+    default void terminalContextClosed(final TerminalContext terminalContext,
+                                       final Object exitValue) {
+        // nop
+    }
+
+    /**
+     * The given {@link TerminalContext} was removed.
+     */
+    default void terminalContextRemoved(final TerminalContext terminalContext) {
+        // nop
+    }
+}
@@ -17,13 +17,22 @@
 
 package walkingkooka.terminal.server;
 
+import javaemul.internal.annotations.GwtIncompatible;
 import walkingkooka.net.email.EmailAddress;
 import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.terminal.CancellableTerminalContextEvaluator;
+import walkingkooka.terminal.TerminalContext;
 import walkingkooka.terminal.TerminalId;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 public final class TerminalServerContexts implements PublicStaticHelper {
 
@@ -36,6 +45,61 @@ public final class TerminalServerContexts implements PublicStaticHelper {
         );
     }
 
+    /**
+     * {@see CancellingTerminalServerContext}
+     */
+    @GwtIncompatible
+    public static TerminalServerContext cancelling(final CancellableTerminalContextEvaluator evaluator,
+                                                   final TerminalServerContext context) {
+        return CancellingTerminalServerContext.with(
+            evaluator,
+            context
+        );
+    }
+
+    /**
+     * {@see DrainingTerminalServerContext}
+     */
+    @GwtIncompatible
+    public static DrainableTerminalServerContext draining(final Executor executor,
+                                                          final Function<TerminalServerContextListener, TerminalServerContext> context) {
+        return DrainingTerminalServerContext.with(
+            executor,
+            context
+        );
+    }
+
+    /**
+     * {@see EvictingTerminalServerContext}
+     */
+    public static TerminalServerContext evicting(final long timeToLive,
+                                                 final int maxCount,
+                                                 final LongSupplier now,
+                                                 final TerminalServerContext context) {
+        return EvictingTerminalServerContext.with(
+            timeToLive,
+            maxCount,
+            now,
+            context
+        );
+    }
+
+    /**
+     * {@see FairTerminalContextEvaluator}
+     */
+    @GwtIncompatible
+    public static CloseableTerminalContextEvaluator fairEvaluator(final BiFunction<String, TerminalContext, Object> evaluator,
+                                                                  final int workerCount,
+                                                                  final ToIntFunction<Optional<EmailAddress>> weight,
+                                                                  final int maxConcurrentPerUser) {
+        return FairTerminalContextEvaluator.with(
+            evaluator,
+            workerCount,
+            weight,
+            maxConcurrentPerUser
+        );
+    }
+
     /**
      * {@see FakeTerminalServerContext}
      */
@@ -43,6 +107,59 @@ public final class TerminalServerContexts implements PublicStaticHelper {
         return new FakeTerminalServerContext();
     }
 
+    /**
+     * {@see HibernatingTerminalServerContext}
+     */
+    public static TerminalServerContext hibernating(final long timeToIdle,
+                                                    final LongSupplier now,
+                                                    final Function<TerminalContext, TerminalSession> hibernator,
+                                                    final Function<TerminalSession, TerminalContext> restorer,
+                                                    final TerminalSessionStore store,
+                                                    final TerminalServerContext context) {
+        return HibernatingTerminalServerContext.with(
+            timeToIdle,
+            now,
+            hibernator,
+            restorer,
+            store,
+            context
+        );
+    }
+
+    /**
+     * {@see ListenerTerminalServerContext}
+     */
+    @GwtIncompatible
+    public static TerminalServerContext listener(final TerminalServerContextListener listener,
+                                                 final Executor executor,
+                                                 final TerminalServerContext context) {
+        return ListenerTerminalServerContext.with(
+            listener,
+            executor,
+            context
+        );
+    }
+
+    /**
+     * {@see ShardedTerminalServerContext}
+     */
+    @GwtIncompatible
+    public static TerminalServerContext sharded(final int stripeCount) {
+        return ShardedTerminalServerContext.with(stripeCount);
+    }
+
+    /**
+     * {@see ThreadPerTerminalServerContext}
+     */
+    @GwtIncompatible
+    public static TerminalServerContext threadPerTerminal(final Consumer<TerminalContext> runner,
+                                                          final TerminalServerContext context) {
+        return ThreadPerTerminalServerContext.with(
+            runner,
+            context
+        );
+    }
+
     /**
      * {@see UserFilteredTerminalServerContext}
      */
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.lang.reflect.Method;
+
+/**
+ * Helpers that create threads, preferring virtual threads when the JRE supports them (Java 21+) and falling back
+ * to daemon platform threads. Reflection is used so this project may continue to target Java 11.
+ */
+@GwtIncompatible
+final class TerminalServerThreads {
+
+    /**
+     * Creates but does not start a new {@link Thread} which will execute the given {@link Runnable}.
+     */
+    static Thread unstarted(final String name,
+                            final Runnable runnable) {
+        Thread thread = null;
+
+        if (null != OF_VIRTUAL) {
+            try {
+                thread = (Thread) UNSTARTED.invoke(
+                    NAME.invoke(
+                        OF_VIRTUAL.invoke(null),
+                        name
+                    ),
+                    runnable
+                );
+            } catch (final ReflectiveOperationException ignore) {
+                thread = null;
+            }
+        }
+
+        if (null == thread) {
+            thread = new Thread(
+                runnable,
+                name
+            );
+            thread.setDaemon(true);
+        }
+
+        return thread;
+    }
+
+    /**
+     * Thread.ofVirtual()
+     */
+    private final static Method OF_VIRTUAL;
+
+    /**
+     * Thread.Builder.name(String)
+     */
+    private final static Method NAME;
+
+    /**
+     * Thread.Builder.unstarted(Runnable)
+     */
+    private final static Method UNSTARTED;
+
+    static {
+        Method ofVirtual;
+        Method name;
+        Method unstarted;
+
+        try {
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builder.getMethod(
+                "name",
+                String.class
+            );
+            unstarted = builder.getMethod(
+                "unstarted",
+                Runnable.class
+            );
+        } catch (final ReflectiveOperationException | RuntimeException unsupported) {
+            ofVirtual = null;
+            name = null;
+            unstarted = null;
+        }
+
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        UNSTARTED = unstarted;
+    }
+
+    /**
+     * Stop creation
+     */
+    private TerminalServerThreads() {
+        throw new UnsupportedOperationException();
+    }
+}
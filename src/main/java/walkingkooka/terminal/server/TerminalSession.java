@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import walkingkooka.Cast;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+import walkingkooka.terminal.TerminalScrollback;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A snapshot of a hibernated {@link TerminalContext}, holding its {@link TerminalId}, environment values and
+ * optionally the text and position of its {@link TerminalScrollback}.
+ */
+public final class TerminalSession {
+
+    /**
+     * Takes a snapshot of the given {@link TerminalContext} and its optional {@link TerminalScrollback}.
+     */
+    public static TerminalSession snapshot(final TerminalContext terminalContext,
+                                           final Optional<TerminalScrollback> scrollback) {
+        Objects.requireNonNull(terminalContext, "terminalContext");
+        Objects.requireNonNull(scrollback, "scrollback");
+
+        final Map<EnvironmentValueName<?>, Object> environmentValues = new LinkedHashMap<>();
+        for (final EnvironmentValueName<?> name : terminalContext.environmentValueNames()) {
+            terminalContext.environmentValue(name)
+                .ifPresent(v -> environmentValues.put(name, v));
+        }
+
+        return new TerminalSession(
+            terminalContext.terminalId(),
+            environmentValues,
+            scrollback.map(TerminalScrollback::position)
+                .orElse(0L),
+            scrollback.map(s -> s.replay(0))
+                .orElse("")
+        );
+    }
+
+    public static TerminalSession with(final TerminalId terminalId,
+                                       final Map<EnvironmentValueName<?>, Object> environmentValues,
+                                       final long scrollbackPosition,
+                                       final String scrollback) {
+        Objects.requireNonNull(terminalId, "terminalId");
+        Objects.requireNonNull(environmentValues, "environmentValues");
+        Objects.requireNonNull(scrollback, "scrollback");
+
+        if (scrollbackPosition < scrollback.length()) {
+            throw new IllegalArgumentException("Invalid scrollbackPosition " + scrollbackPosition + " < " + scrollback.length());
+        }
+
+        final Map<EnvironmentValueName<?>, Object> copy = new LinkedHashMap<>();
+        copy.putAll(environmentValues);
+
+        return new TerminalSession(
+            terminalId,
+            copy,
+            scrollbackPosition,
+            scrollback
+        );
+    }
+
+    private TerminalSession(final TerminalId terminalId,
+                            final Map<EnvironmentValueName<?>, Object> environmentValues,
+                            final long scrollbackPosition,
+                            final String scrollback) {
+        this.terminalId = terminalId;
+        this.environmentValues = Collections.unmodifiableMap(environmentValues);
+        this.scrollbackPosition = scrollbackPosition;
+        this.scrollback = scrollback;
+    }
+
+    public TerminalId terminalId() {
+        return this.terminalId;
+    }
+
+    private final TerminalId terminalId;
+
+    public Map<EnvironmentValueName<?>, Object> environmentValues() {
+        return this.environmentValues;
+    }
+
+    private final Map<EnvironmentValueName<?>, Object> environmentValues;
+
+    /**
+     * Sets the environment values of this session upon the given {@link TerminalContext}, skipping
+     * {@link TerminalContext#TERMINAL_ID} which is set by the {@link TerminalContext} itself.
+     */
+    public void restoreEnvironmentValues(final TerminalContext terminalContext) {
+        Objects.requireNonNull(terminalContext, "terminalContext");
+
+        for (final Map.Entry<EnvironmentValueName<?>, Object> nameAndValue : this.environmentValues.entrySet()) {
+            final EnvironmentValueName<?> name = nameAndValue.getKey();
+            if (false == TerminalContext.TERMINAL_ID.equals(name)) {
+                terminalContext.setEnvironmentValue(
+                    Cast.to(name),
+                    nameAndValue.getValue()
+                );
+            }
+        }
+    }
+
+    /**
+     * The {@link TerminalScrollback#position()} when this session was saved.
+     */
+    public long scrollbackPosition() {
+        return this.scrollbackPosition;
+    }
+
+    private final long scrollbackPosition;
+
+    /**
+     * The text held by the {@link TerminalScrollback} when this session was saved, which ends at
+     * {@link #scrollbackPosition()}.
+     */
+    public String scrollback() {
+        return this.scrollback;
+    }
+
+    private final String scrollback;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.terminalId,
+            this.environmentValues,
+            this.scrollbackPosition,
+            this.scrollback
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof TerminalSession &&
+                this.equals0(Cast.to(other));
+    }
+
+    private boolean equals0(final TerminalSession other) {
+        return this.terminalId.equals(other.terminalId) &&
+            this.environmentValues.equals(other.environmentValues) &&
+            this.scrollbackPosition == other.scrollbackPosition &&
+            this.scrollback.equals(other.scrollback);
+    }
+
+    @Override
+    public String toString() {
+        return this.terminalId + " " + this.environmentValues + " " + this.scrollbackPosition;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import walkingkooka.terminal.TerminalId;
+
+import java.util.Optional;
+
+/**
+ * Stores the {@link TerminalSession} of hibernated terminals, for example by marshalling them to a
+ * walkingkooka-storage Storage.
+ */
+public interface TerminalSessionStore {
+
+    /**
+     * Saves or replaces the {@link TerminalSession} with the same {@link TerminalId}.
+     */
+    void save(final TerminalSession session);
+
+    /**
+     * Loads the {@link TerminalSession} for the given {@link TerminalId}, if one was saved.
+     */
+    Optional<TerminalSession> load(final TerminalId terminalId);
+
+    /**
+     * Deletes any {@link TerminalSession} for the given {@link TerminalId}.
+     */
+    void delete(final TerminalId terminalId);
+}
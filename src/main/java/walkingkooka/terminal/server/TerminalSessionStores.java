@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.storage.Storage;
+import walkingkooka.storage.StorageContext;
+import walkingkooka.storage.StoragePath;
+
+public final class TerminalSessionStores implements PublicStaticHelper {
+
+    /**
+     * {@see FakeTerminalSessionStore}
+     */
+    public static TerminalSessionStore fake() {
+        return new FakeTerminalSessionStore();
+    }
+
+    /**
+     * {@see StorageTerminalSessionStore}
+     */
+    public static <C extends StorageContext> TerminalSessionStore storage(final Storage<C> storage,
+                                                                         final StoragePath directory,
+                                                                         final C context) {
+        return StorageTerminalSessionStore.with(
+            storage,
+            directory,
+            context
+        );
+    }
+
+    /**
+     * {@see TreeMapTerminalSessionStore}
+     */
+    public static TerminalSessionStore treeMap() {
+        return TreeMapTerminalSessionStore.empty();
+    }
+
+    /**
+     * Stop creation
+     */
+    private TerminalSessionStores() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.io.TextReader;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+import walkingkooka.terminal.TerminalTextReader;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link TerminalServerContext} that starts a new thread for each added {@link TerminalContext}, which executes the
+ * given runner, typically a shell. Virtual threads are used when available, otherwise platform daemon threads.
+ * <br>
+ * When a {@link TerminalContext} is removed, it is exited and any {@link TerminalTextReader} input closed, waking a
+ * shell parked reading input, and then its thread is interrupted, so runners blocked elsewhere also return.
+ * When a runner returns, its {@link TerminalContext} is also removed from the wrapped {@link TerminalServerContext}.
+ */
+@GwtIncompatible
+final class ThreadPerTerminalServerContext implements TerminalServerContextDelegator {
+
+    static ThreadPerTerminalServerContext with(final Consumer<TerminalContext> runner,
+                                               final TerminalServerContext context) {
+        return new ThreadPerTerminalServerContext(
+            Objects.requireNonNull(runner, "runner"),
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private ThreadPerTerminalServerContext(final Consumer<TerminalContext> runner,
+                                           final TerminalServerContext context) {
+        this.runner = runner;
+        this.context = context;
+    }
+
+    @Override
+    public TerminalContext addTerminalContext(final Function<TerminalId, TerminalContext> terminalContextFactory) {
+        Objects.requireNonNull(terminalContextFactory, "terminalContextFactory");
+
+        return this.start(
+            this.context.addTerminalContext(terminalContextFactory)
+        );
+    }
+
+    @Override
+    public TerminalContext saveTerminalContext(final TerminalContext terminalContext) {
+        Objects.requireNonNull(terminalContext, "terminalContext");
+
+        return this.start(
+            this.context.saveTerminalContext(terminalContext)
+        );
+    }
+
+    /**
+     * Starts a thread running the runner for the given {@link TerminalContext} which was just added or saved.
+     */
+    private TerminalContext start(final TerminalContext terminalContext) {
+        final TerminalId terminalId = terminalContext.terminalId();
+
+        final Thread thread = TerminalServerThreads.unstarted(
+            "terminal-" + terminalId,
+            () -> this.run(terminalContext)
+        );
+
+        // record before starting, so a quick runner cannot finish before the thread is recorded
+        this.terminalIdToThread.put(
+            terminalId,
+            thread
+        );
+        thread.start();
+
+        return terminalContext;
+    }
+
+    private void run(final TerminalContext terminalContext) {
+        try {
+            this.runner.accept(terminalContext);
+        } finally {
+            final TerminalId terminalId = terminalContext.terminalId();
+
+            // runner finished by itself, not by removeTerminalContext, remove the terminal too.
+            if (this.terminalIdToThread.remove(
+                terminalId,
+                Thread.currentThread()
+            )) {
+                this.context.removeTerminalContext(terminalId);
+            }
+        }
+    }
+
+    private final Consumer<TerminalContext> runner;
+
+    @Override
+    public TerminalServerContext removeTerminalContext(final TerminalId id) {
+        Objects.requireNonNull(id, "id");
+
+        final Optional<TerminalContext> terminalContext = this.context.terminalContext(id);
+        this.context.removeTerminalContext(id);
+
+        final Thread thread = this.terminalIdToThread.remove(id);
+
+        terminalContext.ifPresent(
+            (t) -> exit(
+                t,
+                null
+            )
+        );
+
+        if (null != thread) {
+            thread.interrupt();
+        }
+
+        return this;
+    }
+
+    /**
+     * Closes any {@link TerminalTextReader} input, waking a parked shell, and exits the {@link TerminalContext} with
+     * the given value if it is still open.
+     */
+    static void exit(final TerminalContext terminalContext,
+                     final Object exitValue) {
+        if (terminalContext.isTerminalOpen()) {
+            final TextReader input = terminalContext.input();
+            if (input instanceof TerminalTextReader) {
+                ((TerminalTextReader) input).closeInput();
+            }
+
+            terminalContext.exitTerminal(exitValue);
+        }
+    }
+
+    /**
+     * Returns the number of running terminal threads.
+     */
+    int threadCount() {
+        return this.terminalIdToThread.size();
+    }
+
+    private final Map<TerminalId, Thread> terminalIdToThread = Maps.concurrent();
+
+    // TerminalServerContextDelegator...................................................................................
+
+    @Override
+    public TerminalServerContext terminalServerContext() {
+        return this.context;
+    }
+
+    private final TerminalServerContext context;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
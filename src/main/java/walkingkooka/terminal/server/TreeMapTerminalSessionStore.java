@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import walkingkooka.terminal.TerminalId;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * A {@link TerminalSessionStore} that keeps {@link TerminalSession} in a {@link TreeMap}, useful for tests. Sessions
+ * remain on the heap, so hibernating to this store frees only what a terminal holds beyond its session.
+ */
+final class TreeMapTerminalSessionStore implements TerminalSessionStore {
+
+    static TreeMapTerminalSessionStore empty() {
+        return new TreeMapTerminalSessionStore();
+    }
+
+    private TreeMapTerminalSessionStore() {
+        super();
+    }
+
+    @Override
+    public synchronized void save(final TerminalSession session) {
+        Objects.requireNonNull(session, "session");
+
+        this.terminalIdToSession.put(
+            session.terminalId(),
+            session
+        );
+    }
+
+    @Override
+    public synchronized Optional<TerminalSession> load(final TerminalId terminalId) {
+        Objects.requireNonNull(terminalId, "terminalId");
+
+        return Optional.ofNullable(
+            this.terminalIdToSession.get(terminalId)
+        );
+    }
+
+    @Override
+    public synchronized void delete(final TerminalId terminalId) {
+        Objects.requireNonNull(terminalId, "terminalId");
+
+        this.terminalIdToSession.remove(terminalId);
+    }
+
+    private final Map<TerminalId, TerminalSession> terminalIdToSession = new TreeMap<>();
+
+    // Object...........................................................................................................
+
+    @Override
+    public synchronized String toString() {
+        return this.terminalIdToSession.keySet()
+            .toString();
+    }
+}
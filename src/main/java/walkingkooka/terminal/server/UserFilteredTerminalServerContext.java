@@ -21,6 +21,8 @@ import walkingkooka.net.email.EmailAddress;
 import walkingkooka.terminal.TerminalContext;
 import walkingkooka.terminal.TerminalId;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -28,6 +30,10 @@ import java.util.function.Predicate;
 
 /**
  * A {@link TerminalServerContext} that uses a {@link Predicate} to filter all operations.
+ * <br>
+ * This wrapper is cheap and typically created per request, so it keeps no index of its own. Listing a user's
+ * terminals asks the wrapped {@link TerminalServerContext}, which sees every terminal no matter which wrapper added
+ * it, and may use its own user index, then tests each terminal's current user.
  */
 final class UserFilteredTerminalServerContext implements TerminalServerContext {
 
@@ -63,12 +69,32 @@ final class UserFilteredTerminalServerContext implements TerminalServerContext {
         );
     }
 
+    @Override
+    public TerminalContext saveTerminalContext(final TerminalContext terminalContext) {
+        Objects.requireNonNull(terminalContext, "terminalContext");
+
+        final Optional<EmailAddress> user = terminalContext.user();
+        if (this.filter.test(user)) {
+            return this.context.saveTerminalContext(terminalContext);
+        }
+
+        throw new IllegalArgumentException(
+            "Saved TerminalContext belongs to different user: " + user.map(EmailAddress::toString).orElse("Anonymous")
+        );
+    }
+
     @Override
     public Optional<TerminalContext> terminalContext(final TerminalId id) {
         return this.context.terminalContext(id)
             .filter(c -> this.filter.test(c.user()));
     }
 
+    @Override
+    public Optional<TerminalContext> terminalContext(final long id) {
+        return this.context.terminalContext(id)
+            .filter(c -> this.filter.test(c.user()));
+    }
+
     private final Predicate<Optional<EmailAddress>> filter;
 
     @Override
@@ -80,6 +106,93 @@ final class UserFilteredTerminalServerContext implements TerminalServerContext {
         return this;
     }
 
+    @Override
+    public List<TerminalContext> terminalContexts(final int offset,
+                                                  final int count) {
+        BasicTerminalServerContext.checkOffsetAndCount(
+            offset,
+            count
+        );
+
+        final List<TerminalContext> terminalContexts = new ArrayList<>();
+
+        if (count > 0) {
+            // filter before paging so pages only contain visible terminals, fetching the wrapped listing a page at a time
+            // and stopping once the requested page is full
+            final int pageSize = Math.min(
+                BasicTerminalServerContext.end(
+                    offset,
+                    count
+                ),
+                MAX_PAGE_SIZE
+            );
+
+            int skip = offset;
+            int wrappedOffset = 0;
+
+            for (; ; ) {
+                final List<TerminalContext> page = this.context.terminalContexts(
+                    wrappedOffset,
+                    pageSize
+                );
+
+                for (final TerminalContext terminalContext : page) {
+                    if (this.filter.test(terminalContext.user())) {
+                        if (skip > 0) {
+                            skip--;
+                        } else {
+                            terminalContexts.add(terminalContext);
+                            if (terminalContexts.size() == count) {
+                                return terminalContexts;
+                            }
+                        }
+                    }
+                }
+
+                if (page.size() < pageSize) {
+                    break;
+                }
+                wrappedOffset += pageSize;
+            }
+        }
+
+        return terminalContexts;
+    }
+
+    /**
+     * The most {@link TerminalContext} fetched from the wrapped {@link TerminalServerContext} at a time.
+     */
+    // @VisibleForTesting
+    final static int MAX_PAGE_SIZE = 256;
+
+    @Override
+    public List<TerminalContext> userTerminalContexts(final Optional<EmailAddress> user) {
+        Objects.requireNonNull(user, "user");
+
+        final List<TerminalContext> terminalContexts = new ArrayList<>();
+
+        if (this.filter.test(user)) {
+            for (final TerminalContext terminalContext : this.context.userTerminalContexts(user)) {
+                // the user may have changed since the wrapped context listed it
+                if (user.equals(terminalContext.user())) {
+                    terminalContexts.add(terminalContext);
+                }
+            }
+        }
+
+        return terminalContexts;
+    }
+
+    @Override
+    public TerminalServerContext removeUserTerminalContexts(final Optional<EmailAddress> user) {
+        for (final TerminalContext terminalContext : this.userTerminalContexts(user)) {
+            this.context.removeTerminalContext(
+                terminalContext.terminalId()
+            );
+        }
+        return this;
+    }
+
     private final TerminalServerContext context;
 
     // Object...........................................................................................................
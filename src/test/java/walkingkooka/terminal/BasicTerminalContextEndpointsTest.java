@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.io.TextReader;
+import walkingkooka.io.TextReaders;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.printer.Printer;
+import walkingkooka.text.printer.Printers;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class BasicTerminalContextEndpointsTest implements ClassTesting2<BasicTerminalContextEndpoints>,
+    ToStringTesting<BasicTerminalContextEndpoints> {
+
+    private final static TextReader INPUT = TextReaders.fake();
+
+    private final static Printer OUTPUT = Printers.fake();
+
+    private final static Printer ERROR = Printers.fake();
+
+    @Test
+    public void testWithNullInputFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BasicTerminalContextEndpoints.with(
+                null,
+                OUTPUT,
+                ERROR
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullOutputFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BasicTerminalContextEndpoints.with(
+                INPUT,
+                null,
+                ERROR
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullErrorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BasicTerminalContextEndpoints.with(
+                INPUT,
+                OUTPUT,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testAttachNullErrorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BasicTerminalContextEndpoints.with(
+                INPUT,
+                OUTPUT,
+                ERROR
+            ).attach(
+                INPUT,
+                OUTPUT,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testAttach() {
+        final BasicTerminalContextEndpoints endpoints = BasicTerminalContextEndpoints.with(
+            INPUT,
+            OUTPUT,
+            ERROR
+        );
+
+        final TextReader input = TextReaders.fake();
+        final Printer output = Printers.fake();
+        final Printer error = Printers.fake();
+
+        endpoints.attach(
+            input,
+            output,
+            error
+        );
+
+        assertSame(
+            input,
+            endpoints.input(),
+            "input"
+        );
+        assertSame(
+            output,
+            endpoints.output(),
+            "output"
+        );
+        assertSame(
+            error,
+            endpoints.error(),
+            "error"
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            BasicTerminalContextEndpoints.with(
+                INPUT,
+                OUTPUT,
+                ERROR
+            ),
+            "input: " + INPUT + ", output: " + OUTPUT + ", error: " + ERROR
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<BasicTerminalContextEndpoints> type() {
+        return BasicTerminalContextEndpoints.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class BasicTerminalContextOpenTesterTest implements ClassTesting2<BasicTerminalContextOpenTester>,
+    ToStringTesting<BasicTerminalContextOpenTester> {
+
+    @Test
+    public void testOpen() {
+        this.checkEquals(
+            true,
+            BasicTerminalContextOpenTester.open()
+                .getAsBoolean()
+        );
+    }
+
+    @Test
+    public void testClose() {
+        final BasicTerminalContextOpenTester openTester = BasicTerminalContextOpenTester.open();
+        openTester.close();
+
+        this.checkEquals(
+            false,
+            openTester.getAsBoolean()
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToStringOpen() {
+        this.toStringAndCheck(
+            BasicTerminalContextOpenTester.open(),
+            "open"
+        );
+    }
+
+    @Test
+    public void testToStringClosed() {
+        final BasicTerminalContextOpenTester openTester = BasicTerminalContextOpenTester.open();
+        openTester.close();
+
+        this.toStringAndCheck(
+            openTester,
+            "closed"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<BasicTerminalContextOpenTester> type() {
+        return BasicTerminalContextOpenTester.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
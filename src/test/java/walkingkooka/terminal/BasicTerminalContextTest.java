@@ -19,6 +19,7 @@ package walkingkooka.terminal;
 
 import org.junit.jupiter.api.Test;
 import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.environment.EnvironmentValueName;
 import walkingkooka.io.TextReader;
 import walkingkooka.io.TextReaders;
@@ -26,10 +27,13 @@ import walkingkooka.storage.StorageEnvironmentContext;
 import walkingkooka.text.printer.Printer;
 import walkingkooka.text.printer.Printers;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class BasicTerminalContextTest implements TerminalContextTesting2<BasicTerminalContext>,
@@ -189,6 +193,226 @@ public final class BasicTerminalContextTest implements TerminalContextTesting2<B
         );
     }
 
+    @Test
+    public void testWithoutOpenTesterNullExitValueFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BasicTerminalContext.with(
+                TERMINAL_ID,
+                INPUT,
+                OUTPUT,
+                ERROR,
+                EVALUATOR,
+                null,
+                STORAGE_ENVIRONMENT_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testWithoutOpenTesterExitTerminalCloses() {
+        final List<Object> exitValues = Lists.array();
+
+        final BasicTerminalContext context = BasicTerminalContext.with(
+            TERMINAL_ID,
+            INPUT,
+            OUTPUT,
+            ERROR,
+            EVALUATOR,
+            exitValues::add,
+            STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment()
+        );
+        final TerminalContext clone = context.cloneEnvironment();
+
+        this.checkEquals(
+            true,
+            context.isTerminalOpen(),
+            "isTerminalOpen"
+        );
+
+        clone.exitTerminal("Bye");
+
+        this.checkEquals(
+            Lists.of("Bye"),
+            exitValues,
+            "exitValues"
+        );
+        this.checkEquals(
+            false,
+            context.isTerminalOpen(),
+            "isTerminalOpen"
+        );
+        this.checkEquals(
+            false,
+            clone.isTerminalOpen(),
+            "clone isTerminalOpen"
+        );
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            context::output
+        );
+        this.checkEquals(
+            "Terminal 123 is closed",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testExitTerminalClosesTerminalTextReaderInput() {
+        final TerminalTextReader input = TerminalTextReaders.blocking();
+
+        final BasicTerminalContext context = BasicTerminalContext.with(
+            TERMINAL_ID,
+            input,
+            OUTPUT,
+            ERROR,
+            EVALUATOR,
+            (e) -> {},
+            STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment()
+        );
+
+        context.exitTerminal("Bye");
+
+        this.checkEquals(
+            true,
+            input.isInputClosed(),
+            "isInputClosed"
+        );
+    }
+
+    @Test
+    public void testAttachTerminalClosesPreviousTerminalTextReaderInput() {
+        final TerminalTextReader input = TerminalTextReaders.blocking();
+
+        final BasicTerminalContext context = BasicTerminalContext.with(
+            TERMINAL_ID,
+            OPEN_TESTER,
+            input,
+            OUTPUT,
+            ERROR,
+            EVALUATOR,
+            EXIT_VALUE,
+            STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment()
+        );
+
+        final TerminalTextReader input2 = TerminalTextReaders.blocking();
+        context.attachTerminal(
+            input2,
+            OUTPUT,
+            ERROR
+        );
+
+        this.checkEquals(
+            true,
+            input.isInputClosed(),
+            "previous isInputClosed"
+        );
+        this.checkEquals(
+            false,
+            input2.isInputClosed(),
+            "isInputClosed"
+        );
+        assertSame(
+            input2,
+            context.input(),
+            "input"
+        );
+    }
+
+    @Test
+    public void testEvaluateWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createContext()
+                .evaluate(
+                    "1",
+                    null
+                )
+        );
+    }
+
+    @Test
+    public void testEvaluateWithContext() {
+        final TerminalContext wrapper = new FakeTerminalContext();
+
+        final BasicTerminalContext context = BasicTerminalContext.with(
+            TERMINAL_ID,
+            OPEN_TESTER,
+            INPUT,
+            OUTPUT,
+            ERROR,
+            (e, c) -> {
+                assertSame(
+                    wrapper,
+                    c,
+                    "context"
+                );
+                return "evaluated-" + e;
+            },
+            EXIT_VALUE,
+            STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment()
+        );
+
+        this.checkEquals(
+            "evaluated-1",
+            context.evaluate(
+                "1",
+                wrapper
+            )
+        );
+    }
+
+    @Test
+    public void testAttachTerminalNullInputFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createContext()
+                .attachTerminal(
+                    null,
+                    OUTPUT,
+                    ERROR
+                )
+        );
+    }
+
+    @Test
+    public void testAttachTerminal() {
+        final BasicTerminalContext context = this.createContext();
+        final TerminalContext clone = context.cloneEnvironment();
+
+        final TextReader input = TextReaders.fake();
+        final Printer output = Printers.fake();
+        final Printer error = Printers.fake();
+
+        clone.attachTerminal(
+            input,
+            output,
+            error
+        );
+
+        assertSame(
+            input,
+            context.input(),
+            "input"
+        );
+        assertSame(
+            output,
+            context.output(),
+            "output"
+        );
+        assertSame(
+            error,
+            context.error(),
+            "error"
+        );
+        this.checkEquals(
+            TERMINAL_ID,
+            context.terminalId(),
+            "terminalId"
+        );
+    }
+
     @Test
     public void testEnvironmentValueNameTerminalId() {
         this.environmentValueAndCheck(
@@ -218,6 +442,85 @@ public final class BasicTerminalContextTest implements TerminalContextTesting2<B
         );
     }
 
+    @Test
+    public void testCloneEnvironmentReadsShared() {
+        final EnvironmentValueName<String> name = EnvironmentValueName.with(
+            "magic",
+            String.class
+        );
+
+        final BasicTerminalContext context = this.createContext();
+        context.setEnvironmentValue(
+            name,
+            "value123"
+        );
+
+        final TerminalContext clone = context.cloneEnvironment();
+
+        this.environmentValueAndCheck(
+            clone,
+            name,
+            "value123"
+        );
+        this.environmentValueAndCheck(
+            clone,
+            TerminalContext.TERMINAL_ID,
+            TERMINAL_ID
+        );
+    }
+
+    @Test
+    public void testCloneEnvironmentSetOnCloneNotShared() {
+        final EnvironmentValueName<String> name = EnvironmentValueName.with(
+            "magic",
+            String.class
+        );
+
+        final BasicTerminalContext context = this.createContext();
+        final TerminalContext clone = context.cloneEnvironment();
+
+        clone.setEnvironmentValue(
+            name,
+            "clone"
+        );
+
+        this.environmentValueAndCheck(
+            clone,
+            name,
+            "clone"
+        );
+        this.checkEquals(
+            Optional.empty(),
+            context.environmentValue(name)
+        );
+    }
+
+    @Test
+    public void testCloneEnvironmentSetOnOriginalNotShared() {
+        final EnvironmentValueName<String> name = EnvironmentValueName.with(
+            "magic",
+            String.class
+        );
+
+        final BasicTerminalContext context = this.createContext();
+        final TerminalContext clone = context.cloneEnvironment();
+
+        context.setEnvironmentValue(
+            name,
+            "original"
+        );
+
+        this.environmentValueAndCheck(
+            context,
+            name,
+            "original"
+        );
+        this.checkEquals(
+            Optional.empty(),
+            clone.environmentValue(name)
+        );
+    }
+
     @Override
     public BasicTerminalContext createContext() {
         return BasicTerminalContext.with(
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class BlockingTerminalTextReaderTest implements ClassTesting2<BlockingTerminalTextReader>,
+    ToStringTesting<BlockingTerminalTextReader> {
+
+    @Test
+    public void testAddInputWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BlockingTerminalTextReader.empty()
+                .addInput(null)
+        );
+    }
+
+    @Test
+    public void testAddInputAfterCloseFails() {
+        final BlockingTerminalTextReader reader = BlockingTerminalTextReader.empty();
+        reader.closeInput();
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> reader.addInput("closed")
+        );
+    }
+
+    @Test
+    public void testReadLineTimeout() {
+        this.readLineAndCheck(
+            BlockingTerminalTextReader.empty(),
+            null
+        );
+    }
+
+    @Test
+    public void testReadLineIncompleteLine() {
+        final BlockingTerminalTextReader reader = BlockingTerminalTextReader.empty();
+        reader.addInput("incomplete");
+
+        this.readLineAndCheck(
+            reader,
+            null
+        );
+    }
+
+    @Test
+    public void testReadLineLf() {
+        final BlockingTerminalTextReader reader = BlockingTerminalTextReader.empty();
+        reader.addInput("line1\nline2\n");
+
+        this.readLineAndCheck(
+            reader,
+            "line1"
+        );
+        this.readLineAndCheck(
+            reader,
+            "line2"
+        );
+        this.readLineAndCheck(
+            reader,
+            null
+        );
+    }
+
+    @Test
+    public void testReadLineCrLfSplitAcrossAddInput() {
+        final BlockingTerminalTextReader reader = BlockingTerminalTextReader.empty();
+        reader.addInput("line1\r");
+        reader.addInput("\nline2\r");
+
+        this.readLineAndCheck(
+            reader,
+            "line1"
+        );
+        this.readLineAndCheck(
+            reader,
+            "line2"
+        );
+        this.readLineAndCheck(
+            reader,
+            null
+        );
+    }
+
+    @Test
+    public void testReadLineAfterCloseIncludesIncompleteLine() {
+        final BlockingTerminalTextReader reader = BlockingTerminalTextReader.empty();
+        reader.addInput("line1\nincomplete");
+        reader.closeInput();
+
+        this.readLineAndCheck(
+            reader,
+            "line1"
+        );
+        this.readLineAndCheck(
+            reader,
+            "incomplete"
+        );
+        this.readLineAndCheck(
+            reader,
+            null
+        );
+        this.checkEquals(
+            true,
+            reader.isInputClosed(),
+            "isInputClosed"
+        );
+    }
+
+    @Test
+    public void testReadLineWakesUpWhenLineAdded() throws Exception {
+        final BlockingTerminalTextReader reader = BlockingTerminalTextReader.empty();
+
+        final Thread thread = new Thread(
+            () -> {
+                try {
+                    Thread.sleep(50);
+                } catch (final InterruptedException ignore) {
+                    // nop
+                }
+                reader.addInput("hello\n");
+            }
+        );
+        thread.start();
+
+        this.checkEquals(
+            Optional.of("hello"),
+            reader.readLine(Long.MAX_VALUE)
+        );
+
+        thread.join();
+    }
+
+    @Test
+    public void testReadLineWakesUpWhenClosed() throws Exception {
+        final BlockingTerminalTextReader reader = BlockingTerminalTextReader.empty();
+
+        final Thread thread = new Thread(
+            () -> {
+                try {
+                    Thread.sleep(50);
+                } catch (final InterruptedException ignore) {
+                    // nop
+                }
+                reader.closeInput();
+            }
+        );
+        thread.start();
+
+        this.checkEquals(
+            Optional.empty(),
+            reader.readLine(Long.MAX_VALUE)
+        );
+
+        thread.join();
+    }
+
+    @Test
+    public void testReadLineInterruptedFails() {
+        final BlockingTerminalTextReader reader = BlockingTerminalTextReader.empty();
+
+        Thread.currentThread()
+            .interrupt();
+        try {
+            final IllegalStateException thrown = assertThrows(
+                IllegalStateException.class,
+                () -> reader.readLine(Long.MAX_VALUE)
+            );
+            this.checkEquals(
+                "Interrupted",
+                thrown.getMessage()
+            );
+            this.checkEquals(
+                true,
+                Thread.currentThread()
+                    .isInterrupted(),
+                "interrupt restored"
+            );
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private void readLineAndCheck(final BlockingTerminalTextReader reader,
+                                  final String expected) {
+        this.checkEquals(
+            Optional.ofNullable(expected),
+            reader.readLine(1),
+            reader::toString
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final BlockingTerminalTextReader reader = BlockingTerminalTextReader.empty();
+        reader.addInput("line1\nline2\n");
+        reader.closeInput();
+
+        this.toStringAndCheck(
+            reader,
+            "2 line(s) closed"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<BlockingTerminalTextReader> type() {
+        return BlockingTerminalTextReader.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
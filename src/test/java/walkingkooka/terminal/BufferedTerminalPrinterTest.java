@@ -0,0 +1,309 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printer;
+import walkingkooka.text.printer.Printers;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class BufferedTerminalPrinterTest implements ClassTesting2<BufferedTerminalPrinter>,
+    ToStringTesting<BufferedTerminalPrinter> {
+
+    private final static LongSupplier NOW = () -> 0;
+
+    @Test
+    public void testWithNegativeBufferSizeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> BufferedTerminalPrinter.with(
+                -1,
+                0,
+                NOW,
+                Printers.fake()
+            )
+        );
+
+        this.checkEquals(
+            "Invalid bufferSize -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithNegativeFlushIntervalFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> BufferedTerminalPrinter.with(
+                0,
+                -1,
+                NOW,
+                Printers.fake()
+            )
+        );
+
+        this.checkEquals(
+            "Invalid flushInterval -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithNullNowFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BufferedTerminalPrinter.with(
+                0,
+                0,
+                null,
+                Printers.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullPrinterFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BufferedTerminalPrinter.with(
+                0,
+                0,
+                NOW,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testPrintBuffersUntilFlush() {
+        final StringBuilder printed = new StringBuilder();
+        final Printer printer = BufferedTerminalPrinter.with(
+            0,
+            0,
+            NOW,
+            Printers.stringBuilder(
+                printed,
+                LineEnding.NL
+            )
+        );
+
+        printer.print("Hello");
+        printer.println(" World");
+
+        this.checkEquals(
+            "",
+            printed.toString(),
+            "before flush"
+        );
+
+        printer.flush();
+
+        this.checkEquals(
+            "Hello World\n",
+            printed.toString(),
+            "after flush"
+        );
+    }
+
+    @Test
+    public void testPrintBufferSize() {
+        final StringBuilder printed = new StringBuilder();
+        final Printer printer = BufferedTerminalPrinter.with(
+            5,
+            0,
+            NOW,
+            Printers.stringBuilder(
+                printed,
+                LineEnding.NL
+            )
+        );
+
+        printer.print("1234");
+
+        this.checkEquals(
+            "",
+            printed.toString(),
+            "below bufferSize"
+        );
+
+        printer.print("56");
+
+        this.checkEquals(
+            "123456",
+            printed.toString(),
+            "reached bufferSize"
+        );
+    }
+
+    @Test
+    public void testPrintZeroBufferSizeWritesAtMaxBufferSize() {
+        final StringBuilder printed = new StringBuilder();
+        final Printer printer = BufferedTerminalPrinter.with(
+            0,
+            0,
+            NOW,
+            Printers.stringBuilder(
+                printed,
+                LineEnding.NL
+            )
+        );
+
+        final char[] chars = new char[BufferedTerminalPrinter.MAX_BUFFER_SIZE - 1];
+        Arrays.fill(
+            chars,
+            'A'
+        );
+        final String text = new String(chars);
+        printer.print(text);
+
+        this.checkEquals(
+            "",
+            printed.toString(),
+            "below MAX_BUFFER_SIZE"
+        );
+
+        printer.print("B");
+
+        this.checkEquals(
+            text + "B",
+            printed.toString(),
+            "reached MAX_BUFFER_SIZE"
+        );
+    }
+
+    @Test
+    public void testPrintFlushInterval() {
+        final long[] now = new long[1];
+
+        final StringBuilder printed = new StringBuilder();
+        final Printer printer = BufferedTerminalPrinter.with(
+            0,
+            100,
+            () -> now[0],
+            Printers.stringBuilder(
+                printed,
+                LineEnding.NL
+            )
+        );
+
+        printer.print("1");
+        now[0] = 99;
+        printer.print("2");
+
+        this.checkEquals(
+            "",
+            printed.toString(),
+            "before flushInterval"
+        );
+
+        now[0] = 100;
+        printer.print("3");
+
+        this.checkEquals(
+            "123",
+            printed.toString(),
+            "after flushInterval"
+        );
+    }
+
+    @Test
+    public void testPrintFlushIntervalPauseNotWrittenUntilNextPrint() {
+        final long[] now = new long[1];
+
+        final StringBuilder printed = new StringBuilder();
+        final Printer printer = BufferedTerminalPrinter.with(
+            0,
+            100,
+            () -> now[0],
+            Printers.stringBuilder(
+                printed,
+                LineEnding.NL
+            )
+        );
+
+        printer.print("1");
+        now[0] = 1000;
+
+        this.checkEquals(
+            "",
+            printed.toString(),
+            "flushInterval passed but nothing printed"
+        );
+
+        printer.print("2");
+
+        this.checkEquals(
+            "12",
+            printed.toString(),
+            "next print"
+        );
+    }
+
+    @Test
+    public void testLineEnding() {
+        this.checkEquals(
+            LineEnding.CRNL,
+            BufferedTerminalPrinter.with(
+                0,
+                0,
+                NOW,
+                Printers.stringBuilder(
+                    new StringBuilder(),
+                    LineEnding.CRNL
+                )
+            ).lineEnding()
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final Printer printer = Printers.fake();
+
+        this.toStringAndCheck(
+            BufferedTerminalPrinter.with(
+                0,
+                0,
+                NOW,
+                printer
+            ),
+            printer.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<BufferedTerminalPrinter> type() {
+        return BufferedTerminalPrinter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
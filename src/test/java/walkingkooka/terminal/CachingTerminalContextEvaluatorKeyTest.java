@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Locale;
+
+public final class CachingTerminalContextEvaluatorKeyTest implements ClassTesting2<CachingTerminalContextEvaluatorKey>,
+    HashCodeEqualsDefinedTesting2<CachingTerminalContextEvaluatorKey>,
+    ToStringTesting<CachingTerminalContextEvaluatorKey> {
+
+    private final static String TEXT = "hello";
+
+    private final static Locale ENVIRONMENT = Locale.ENGLISH;
+
+    // hashCode/equals..................................................................................................
+
+    @Test
+    public void testEqualsDifferentText() {
+        this.checkNotEquals(
+            CachingTerminalContextEvaluatorKey.with(
+                "different",
+                ENVIRONMENT
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentEnvironment() {
+        this.checkNotEquals(
+            CachingTerminalContextEvaluatorKey.with(
+                TEXT,
+                Locale.FRENCH
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsNullEnvironment() {
+        this.checkNotEquals(
+            CachingTerminalContextEvaluatorKey.with(
+                TEXT,
+                null
+            )
+        );
+    }
+
+    @Override
+    public CachingTerminalContextEvaluatorKey createObject() {
+        return CachingTerminalContextEvaluatorKey.with(
+            TEXT,
+            ENVIRONMENT
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "hello en"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<CachingTerminalContextEvaluatorKey> type() {
+        return CachingTerminalContextEvaluatorKey.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CachingTerminalContextEvaluatorTest implements ClassTesting2<CachingTerminalContextEvaluator<?>>,
+    ToStringTesting<CachingTerminalContextEvaluator<?>> {
+
+    private final static BiFunction<String, TerminalContext, String> PARSER = (t, c) -> "parsed-" + t;
+
+    private final static BiFunction<String, TerminalContext, Object> EVALUATOR = (p, c) -> "evaluated-" + p;
+
+    private final static Function<TerminalContext, Object> ENVIRONMENT_KEY = TerminalContext::locale;
+
+    @Test
+    public void testWithNullParserFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CachingTerminalContextEvaluator.with(
+                null,
+                EVALUATOR,
+                ENVIRONMENT_KEY,
+                1
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullEvaluatorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CachingTerminalContextEvaluator.with(
+                PARSER,
+                null,
+                ENVIRONMENT_KEY,
+                1
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullEnvironmentKeyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CachingTerminalContextEvaluator.with(
+                PARSER,
+                EVALUATOR,
+                null,
+                1
+            )
+        );
+    }
+
+    @Test
+    public void testWithZeroMaxSizeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> CachingTerminalContextEvaluator.with(
+                PARSER,
+                EVALUATOR,
+                ENVIRONMENT_KEY,
+                0
+            )
+        );
+
+        this.checkEquals(
+            "Invalid maxSize 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testApply() {
+        final List<String> parsed = Lists.array();
+
+        final CachingTerminalContextEvaluator<String> evaluator = this.createEvaluator(
+            parsed,
+            10
+        );
+
+        this.checkEquals(
+            "evaluated-parsed-hello",
+            evaluator.apply(
+                "hello",
+                new TestTerminalContext(Locale.ENGLISH)
+            )
+        );
+        this.checkEquals(
+            Lists.of("hello"),
+            parsed
+        );
+    }
+
+    @Test
+    public void testApplySameTextParsedOnce() {
+        final List<String> parsed = Lists.array();
+
+        final CachingTerminalContextEvaluator<String> evaluator = this.createEvaluator(
+            parsed,
+            10
+        );
+        final TerminalContext context = new TestTerminalContext(Locale.ENGLISH);
+
+        evaluator.apply("hello", context);
+        evaluator.apply("hello", context);
+
+        this.checkEquals(
+            "evaluated-parsed-hello",
+            evaluator.apply(
+                "hello",
+                new TestTerminalContext(Locale.ENGLISH)
+            )
+        );
+        this.checkEquals(
+            Lists.of("hello"),
+            parsed
+        );
+    }
+
+    @Test
+    public void testApplyDifferentEnvironmentParsedAgain() {
+        final List<String> parsed = Lists.array();
+
+        final CachingTerminalContextEvaluator<String> evaluator = this.createEvaluator(
+            parsed,
+            10
+        );
+
+        evaluator.apply("hello", new TestTerminalContext(Locale.ENGLISH));
+        evaluator.apply("hello", new TestTerminalContext(Locale.FRENCH));
+
+        this.checkEquals(
+            Lists.of("hello", "hello"),
+            parsed
+        );
+        this.checkEquals(
+            2,
+            evaluator.size()
+        );
+    }
+
+    @Test
+    public void testApplyEvictsLeastRecentlyUsed() {
+        final List<String> parsed = Lists.array();
+
+        final CachingTerminalContextEvaluator<String> evaluator = this.createEvaluator(
+            parsed,
+            2
+        );
+        final TerminalContext context = new TestTerminalContext(Locale.ENGLISH);
+
+        evaluator.apply("a", context);
+        evaluator.apply("b", context);
+        evaluator.apply("a", context); // b is now least recently used
+        evaluator.apply("c", context); // evicts b
+        evaluator.apply("a", context);
+        evaluator.apply("b", context);
+
+        this.checkEquals(
+            Lists.of("a", "b", "c", "b"),
+            parsed
+        );
+        this.checkEquals(
+            2,
+            evaluator.size()
+        );
+    }
+
+    @Test
+    public void testApplySmallCacheSingleSegment() {
+        this.checkEquals(
+            1,
+            this.createEvaluator(
+                Lists.array(),
+                CachingTerminalContextEvaluator.SEGMENT_COUNT * CachingTerminalContextEvaluator.MIN_SEGMENT_SIZE - 1
+            ).segmentCount()
+        );
+    }
+
+    @Test
+    public void testApplyLargeCacheSegmentedMaxSize() {
+        final int maxSize = CachingTerminalContextEvaluator.SEGMENT_COUNT * CachingTerminalContextEvaluator.MIN_SEGMENT_SIZE;
+
+        final CachingTerminalContextEvaluator<String> evaluator = this.createEvaluator(
+            Lists.array(),
+            maxSize
+        );
+        this.checkEquals(
+            CachingTerminalContextEvaluator.SEGMENT_COUNT,
+            evaluator.segmentCount(),
+            "segmentCount"
+        );
+
+        final TerminalContext context = new TestTerminalContext(Locale.ENGLISH);
+        for (int i = 0; i < maxSize * 4; i++) {
+            this.checkEquals(
+                "evaluated-parsed-" + i,
+                evaluator.apply(
+                    String.valueOf(i),
+                    context
+                )
+            );
+        }
+
+        final int size = evaluator.size();
+        this.checkEquals(
+            true,
+            size > 0 && size <= maxSize,
+            () -> "size " + size
+        );
+    }
+
+    @Test
+    public void testApplyParserFailureNotCached() {
+        final List<String> parsed = Lists.array();
+
+        final CachingTerminalContextEvaluator<String> evaluator = CachingTerminalContextEvaluator.with(
+            (t, c) -> {
+                parsed.add(t);
+                throw new IllegalArgumentException("Bad " + t);
+            },
+            EVALUATOR,
+            ENVIRONMENT_KEY,
+            10
+        );
+        final TerminalContext context = new TestTerminalContext(Locale.ENGLISH);
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> evaluator.apply("bad", context)
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> evaluator.apply("bad", context)
+        );
+
+        this.checkEquals(
+            Lists.of("bad", "bad"),
+            parsed
+        );
+        this.checkEquals(
+            0,
+            evaluator.size()
+        );
+    }
+
+    private CachingTerminalContextEvaluator<String> createEvaluator(final List<String> parsed,
+                                                                    final int maxSize) {
+        return CachingTerminalContextEvaluator.with(
+            (t, c) -> {
+                parsed.add(t);
+                return PARSER.apply(t, c);
+            },
+            EVALUATOR,
+            ENVIRONMENT_KEY,
+            maxSize
+        );
+    }
+
+    static final class TestTerminalContext extends FakeTerminalContext {
+
+        TestTerminalContext(final Locale locale) {
+            this.locale = locale;
+        }
+
+        @Override
+        public Locale locale() {
+            return this.locale;
+        }
+
+        private final Locale locale;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            CachingTerminalContextEvaluator.with(
+                PARSER,
+                EVALUATOR,
+                ENVIRONMENT_KEY,
+                10
+            ),
+            PARSER + " " + EVALUATOR + " 0/10"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<CachingTerminalContextEvaluator<?>> type() {
+        return Cast.to(CachingTerminalContextEvaluator.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
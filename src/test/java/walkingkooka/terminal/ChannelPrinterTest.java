@@ -0,0 +1,271 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.LineEnding;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ChannelPrinterTest implements ClassTesting2<ChannelPrinter>,
+    ToStringTesting<ChannelPrinter> {
+
+    @Test
+    public void testWithNullChannelFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ChannelPrinter.with(
+                null,
+                StandardCharsets.UTF_8.newEncoder(),
+                LineEnding.NL
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullEncoderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ChannelPrinter.with(
+                Channels.newChannel(new ByteArrayOutputStream()),
+                null,
+                LineEnding.NL
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullLineEndingFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ChannelPrinter.with(
+                Channels.newChannel(new ByteArrayOutputStream()),
+                StandardCharsets.UTF_8.newEncoder(),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testPrintWithoutFlush() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ChannelPrinter printer = ChannelPrinter.with(
+            Channels.newChannel(bytes),
+            StandardCharsets.UTF_8.newEncoder(),
+            LineEnding.NL
+        );
+        printer.print("abc");
+
+        this.checkEquals(
+            0,
+            bytes.size()
+        );
+    }
+
+    @Test
+    public void testPrintFlush() {
+        this.printAndCheck(
+            "abc",
+            "abc"
+        );
+    }
+
+    @Test
+    public void testPrintNonAsciiFlush() {
+        this.printAndCheck(
+            "\u00e9\u20ac",
+            "\u00e9\u20ac"
+        );
+    }
+
+    @Test
+    public void testPrintSurrogatePairSplitAcrossPrints() {
+        this.printAndCheck(
+            "\ud83d\ude00",
+            "\ud83d",
+            "\ude00"
+        );
+    }
+
+    @Test
+    public void testPrintMoreThanBuffer() {
+        final String text = "0123456789".repeat(ChannelPrinter.BUFFER_SIZE / 4);
+
+        this.printAndCheck(
+            text + text,
+            text,
+            text
+        );
+    }
+
+    @Test
+    public void testPrintln() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ChannelPrinter printer = ChannelPrinter.with(
+            Channels.newChannel(bytes),
+            StandardCharsets.UTF_8.newEncoder(),
+            LineEnding.CRNL
+        );
+        printer.println("abc");
+        printer.flush();
+
+        this.checkEquals(
+            "abc\r\n",
+            new String(
+                bytes.toByteArray(),
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    @Test
+    public void testPrintTrailingHighSurrogateFlushReplaced() {
+        this.printAndCheck(
+            "a?",
+            "a\ud83d"
+        );
+    }
+
+    @Test
+    public void testPrintUnmappableReplaced() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ChannelPrinter printer = ChannelPrinter.with(
+            Channels.newChannel(bytes),
+            StandardCharsets.US_ASCII.newEncoder(),
+            LineEnding.NL
+        );
+        printer.print("a\u00e9b");
+        printer.flush();
+
+        this.checkEquals(
+            "a?b",
+            new String(
+                bytes.toByteArray(),
+                StandardCharsets.US_ASCII
+            )
+        );
+    }
+
+    @Test
+    public void testPrintAfterFlush() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ChannelPrinter printer = ChannelPrinter.with(
+            Channels.newChannel(bytes),
+            StandardCharsets.UTF_8.newEncoder(),
+            LineEnding.NL
+        );
+        printer.print("abc");
+        printer.flush();
+        printer.print("\u00e9");
+        printer.flush();
+
+        this.checkEquals(
+            "abc\u00e9",
+            new String(
+                bytes.toByteArray(),
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    @Test
+    public void testClose() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final WritableByteChannel channel = Channels.newChannel(bytes);
+
+        final ChannelPrinter printer = ChannelPrinter.with(
+            channel,
+            StandardCharsets.UTF_8.newEncoder(),
+            LineEnding.NL
+        );
+        printer.print("abc");
+        printer.close();
+
+        this.checkEquals(
+            "abc",
+            new String(
+                bytes.toByteArray(),
+                StandardCharsets.UTF_8
+            )
+        );
+        this.checkEquals(
+            true,
+            channel.isOpen(),
+            "channel should not be closed"
+        );
+    }
+
+    private void printAndCheck(final String expected,
+                               final String... prints) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ChannelPrinter printer = ChannelPrinter.with(
+            Channels.newChannel(bytes),
+            StandardCharsets.UTF_8.newEncoder(),
+            LineEnding.NL
+        );
+
+        for (final String print : prints) {
+            printer.print(print);
+        }
+        printer.flush();
+
+        this.checkEquals(
+            expected,
+            new String(
+                bytes.toByteArray(),
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final WritableByteChannel channel = Channels.newChannel(new ByteArrayOutputStream());
+
+        this.toStringAndCheck(
+            ChannelPrinter.with(
+                channel,
+                StandardCharsets.UTF_8.newEncoder(),
+                LineEnding.NL
+            ),
+            channel + " UTF-8"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<ChannelPrinter> type() {
+        return ChannelPrinter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.io.TextReaders;
+import walkingkooka.text.printer.Printers;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ExecutorTerminalContextTest implements TerminalContextTesting2<ExecutorTerminalContext>,
+    ToStringTesting<ExecutorTerminalContext> {
+
+    private final static TerminalId TERMINAL_ID = TerminalId.parse("1");
+
+    private final static Executor EXECUTOR = Runnable::run;
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ExecutorTerminalContext.with(
+                null,
+                EXECUTOR
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ExecutorTerminalContext.with(
+                terminalContext((e, c) -> e),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateAsyncNullExpressionFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createContext()
+                .evaluateAsync(null)
+        );
+    }
+
+    @Test
+    public void testEvaluateAsync() {
+        this.checkEquals(
+            "evaluated-hello",
+            this.createContext()
+                .evaluateAsync("hello")
+                .toCompletableFuture()
+                .join()
+        );
+    }
+
+    @Test
+    public void testEvaluateAsyncUsesExecutor() {
+        final List<Runnable> submitted = Lists.array();
+
+        final CompletionStage<Object> stage = ExecutorTerminalContext.with(
+            terminalContext((e, c) -> "evaluated-" + e),
+            submitted::add
+        ).evaluateAsync("hello");
+
+        this.checkEquals(
+            false,
+            stage.toCompletableFuture().isDone(),
+            "done before executor ran"
+        );
+        this.checkEquals(
+            1,
+            submitted.size(),
+            "submitted"
+        );
+
+        submitted.get(0).run();
+
+        this.checkEquals(
+            "evaluated-hello",
+            stage.toCompletableFuture()
+                .join()
+        );
+    }
+
+    @Test
+    public void testEvaluateAsyncFails() {
+        final IllegalArgumentException cause = new IllegalArgumentException("Bad!");
+
+        final CompletionException thrown = assertThrows(
+            CompletionException.class,
+            () -> ExecutorTerminalContext.with(
+                terminalContext(
+                    (e, c) -> {
+                        throw cause;
+                    }
+                ),
+                EXECUTOR
+            ).evaluateAsync("hello")
+                .toCompletableFuture()
+                .join()
+        );
+
+        assertSame(
+            cause,
+            thrown.getCause()
+        );
+    }
+
+    @Test
+    public void testEvaluateAsyncAfterFailure() {
+        final ExecutorTerminalContext context = ExecutorTerminalContext.with(
+            terminalContext(
+                (e, c) -> {
+                    if ("fail".equals(e)) {
+                        throw new IllegalArgumentException("Bad!");
+                    }
+                    return "evaluated-" + e;
+                }
+            ),
+            EXECUTOR
+        );
+
+        context.evaluateAsync("fail");
+
+        this.checkEquals(
+            "evaluated-hello",
+            context.evaluateAsync("hello")
+                .toCompletableFuture()
+                .join()
+        );
+    }
+
+    @Test
+    public void testEvaluateAsyncSequentialPerTerminal() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<String> evaluated = Lists.array();
+            final CountDownLatch release = new CountDownLatch(1);
+
+            final ExecutorTerminalContext context = ExecutorTerminalContext.with(
+                terminalContext(
+                    (e, c) -> {
+                        if ("first".equals(e)) {
+                            try {
+                                release.await();
+                            } catch (final InterruptedException cause) {
+                                throw new IllegalStateException(cause);
+                            }
+                        }
+                        synchronized (evaluated) {
+                            evaluated.add(e);
+                        }
+                        return e;
+                    }
+                ),
+                executor
+            );
+
+            context.evaluateAsync("first");
+            final CompletionStage<Object> second = context.evaluateAsync("second");
+
+            release.countDown();
+            second.toCompletableFuture()
+                .join();
+
+            this.checkEquals(
+                Lists.of("first", "second"),
+                evaluated
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEvaluate() {
+        this.checkEquals(
+            "evaluated-hello",
+            this.createContext()
+                .evaluate("hello")
+        );
+    }
+
+    @Test
+    public void testEvaluateFails() {
+        final IllegalArgumentException cause = new IllegalArgumentException("Bad!");
+
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> ExecutorTerminalContext.with(
+                terminalContext(
+                    (e, c) -> {
+                        throw cause;
+                    }
+                ),
+                EXECUTOR
+            ).evaluate("hello")
+        );
+
+        assertSame(
+            cause,
+            thrown
+        );
+    }
+
+    @Test
+    public void testEvaluateWaitsForEvaluateAsyncOfClone() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<String> evaluated = Lists.array();
+            final CountDownLatch release = new CountDownLatch(1);
+
+            final ExecutorTerminalContext context = ExecutorTerminalContext.with(
+                terminalContext(
+                    (e, c) -> {
+                        if ("first".equals(e)) {
+                            try {
+                                release.await();
+                            } catch (final InterruptedException cause) {
+                                throw new IllegalStateException(cause);
+                            }
+                        }
+                        synchronized (evaluated) {
+                            evaluated.add(e);
+                        }
+                        return e;
+                    }
+                ),
+                executor
+            );
+
+            context.evaluateAsync("first");
+
+            final AsyncTerminalContext clone = context.cloneEnvironment();
+            final Thread session = new Thread(
+                () -> clone.evaluate("second")
+            );
+            session.start();
+
+            session.join(100);
+            this.checkEquals(
+                true,
+                session.isAlive(),
+                "evaluate waiting behind first"
+            );
+
+            release.countDown();
+            session.join(10_000);
+
+            this.checkEquals(
+                Lists.of("first", "second"),
+                evaluated
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEvaluateNestedRunsInline() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final ExecutorTerminalContext[] context = new ExecutorTerminalContext[1];
+            context[0] = ExecutorTerminalContext.with(
+                terminalContext(
+                    (e, c) -> "outer".equals(e) ?
+                        "outer-" + context[0].evaluate("inner") :
+                        e
+                ),
+                executor
+            );
+
+            this.checkEquals(
+                "outer-inner",
+                context[0].evaluate("outer")
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTerminalId() {
+        this.terminalIdAndCheck(
+            this.createContext(),
+            TERMINAL_ID
+        );
+    }
+
+    @Override
+    public ExecutorTerminalContext createContext() {
+        return ExecutorTerminalContext.with(
+            terminalContext((e, c) -> "evaluated-" + e),
+            EXECUTOR
+        );
+    }
+
+    private static TerminalContext terminalContext(final BiFunction<String, TerminalContext, Object> evaluator) {
+        return TerminalContexts.basic(
+            TERMINAL_ID,
+            () -> true, // openTester
+            TextReaders.fake(), // input
+            Printers.fake(), // output
+            Printers.fake(), // error
+            evaluator,
+            (e) -> {
+                throw new UnsupportedOperationException();
+            },
+            STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment()
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TerminalContext context = terminalContext((e, c) -> e);
+
+        this.toStringAndCheck(
+            ExecutorTerminalContext.with(
+                context,
+                EXECUTOR
+            ),
+            context.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<ExecutorTerminalContext> type() {
+        return ExecutorTerminalContext.class;
+    }
+}
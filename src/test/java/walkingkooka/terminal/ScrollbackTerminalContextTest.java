@@ -0,0 +1,232 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.io.TextReaders;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printer;
+import walkingkooka.text.printer.Printers;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ScrollbackTerminalContextTest implements TerminalContextTesting2<ScrollbackTerminalContext>,
+    ToStringTesting<ScrollbackTerminalContext> {
+
+    private final static TerminalId TERMINAL_ID = TerminalId.parse("1");
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ScrollbackTerminalContext.with(
+                null,
+                TerminalScrollback.with(1)
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullScrollbackFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ScrollbackTerminalContext.with(
+                terminalContext(
+                    Printers.fake(),
+                    Printers.fake()
+                ),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testOutputAndError() {
+        final StringBuilder output = new StringBuilder();
+        final StringBuilder error = new StringBuilder();
+        final TerminalScrollback scrollback = TerminalScrollback.with(100);
+
+        final ScrollbackTerminalContext context = ScrollbackTerminalContext.with(
+            terminalContext(
+                Printers.stringBuilder(
+                    output,
+                    LineEnding.NL
+                ),
+                Printers.stringBuilder(
+                    error,
+                    LineEnding.NL
+                )
+            ),
+            scrollback
+        );
+
+        context.output()
+            .println("out1");
+        context.error()
+            .println("err2");
+        context.output()
+            .println("out3");
+
+        this.checkEquals(
+            "out1\nout3\n",
+            output.toString(),
+            "output"
+        );
+        this.checkEquals(
+            "err2\n",
+            error.toString(),
+            "error"
+        );
+        this.checkEquals(
+            "out1\nerr2\nout3\n",
+            scrollback.replay(0),
+            "scrollback"
+        );
+    }
+
+    @Test
+    public void testEvaluatePrintRecorded() {
+        final StringBuilder output = new StringBuilder();
+        final TerminalScrollback scrollback = TerminalScrollback.with(100);
+
+        final ScrollbackTerminalContext context = ScrollbackTerminalContext.with(
+            TerminalContexts.basic(
+                TERMINAL_ID,
+                TextReaders.fake(), // input
+                Printers.stringBuilder(
+                    output,
+                    LineEnding.NL
+                ),
+                Printers.fake(),
+                (e, c) -> {
+                    c.output()
+                        .println(e); // like the print function
+                    return null;
+                },
+                (v) -> {
+                },
+                STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment()
+            ),
+            scrollback
+        );
+
+        context.evaluate("Hello");
+
+        this.checkEquals(
+            "Hello\n",
+            output.toString(),
+            "output"
+        );
+        this.checkEquals(
+            "Hello\n",
+            scrollback.replay(0),
+            "scrollback"
+        );
+    }
+
+    @Test
+    public void testOutputCached() {
+        final ScrollbackTerminalContext context = this.createContext();
+
+        assertSame(
+            context.output(),
+            context.output()
+        );
+    }
+
+    @Test
+    public void testCloneEnvironmentSharesScrollback() {
+        final TerminalScrollback scrollback = TerminalScrollback.with(100);
+
+        final TerminalContext clone = ScrollbackTerminalContext.with(
+            terminalContext(
+                Printers.sink(LineEnding.NL),
+                Printers.fake()
+            ),
+            scrollback
+        ).cloneEnvironment();
+
+        clone.output()
+            .print("Hello");
+
+        this.checkEquals(
+            "Hello",
+            scrollback.replay(0)
+        );
+    }
+
+    @Test
+    public void testTerminalId() {
+        this.terminalIdAndCheck(
+            this.createContext(),
+            TERMINAL_ID
+        );
+    }
+
+    @Override
+    public ScrollbackTerminalContext createContext() {
+        return ScrollbackTerminalContext.with(
+            terminalContext(
+                Printers.fake(),
+                Printers.fake()
+            ),
+            TerminalScrollback.with(100)
+        );
+    }
+
+    private static TerminalContext terminalContext(final Printer output,
+                                                   final Printer error) {
+        return TerminalContexts.basic(
+            TERMINAL_ID,
+            TextReaders.fake(), // input
+            output,
+            error,
+            (e, c) -> e,
+            (v) -> {
+            },
+            STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment()
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TerminalContext context = terminalContext(
+            Printers.fake(),
+            Printers.fake()
+        );
+
+        this.toStringAndCheck(
+            ScrollbackTerminalContext.with(
+                context,
+                TerminalScrollback.with(1)
+            ),
+            context.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<ScrollbackTerminalContext> type() {
+        return ScrollbackTerminalContext.class;
+    }
+}
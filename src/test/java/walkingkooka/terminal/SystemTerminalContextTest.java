@@ -18,7 +18,14 @@
 package walkingkooka.terminal;
 
 import org.junit.jupiter.api.Test;
+import walkingkooka.io.TextReaders;
+import walkingkooka.text.printer.Printers;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
@@ -88,6 +95,145 @@ public final class SystemTerminalContextTest implements TerminalContextTesting2<
         );
     }
 
+    @Test
+    public void testChannelsWithNullTerminalIdFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SystemTerminalContext.channels(
+                null,
+                StandardCharsets.UTF_8,
+                EVALUATOR,
+                EXIT_VALUE,
+                STORAGE_ENVIRONMENT_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testChannelsWithNullCharsetFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SystemTerminalContext.channels(
+                TERMINAL_ID,
+                null,
+                EVALUATOR,
+                EXIT_VALUE,
+                STORAGE_ENVIRONMENT_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testChannelsWithNullEvaluatorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SystemTerminalContext.channels(
+                TERMINAL_ID,
+                StandardCharsets.UTF_8,
+                null,
+                EXIT_VALUE,
+                STORAGE_ENVIRONMENT_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testChannelsWithNullExitValueFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SystemTerminalContext.channels(
+                TERMINAL_ID,
+                StandardCharsets.UTF_8,
+                EVALUATOR,
+                null,
+                STORAGE_ENVIRONMENT_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testChannelsWithNullStorageEnvironmentContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SystemTerminalContext.channels(
+                TERMINAL_ID,
+                StandardCharsets.UTF_8,
+                EVALUATOR,
+                EXIT_VALUE,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testChannelsTerminalId() {
+        this.checkEquals(
+            TERMINAL_ID,
+            SystemTerminalContext.channels(
+                TERMINAL_ID,
+                StandardCharsets.UTF_8,
+                EVALUATOR,
+                EXIT_VALUE,
+                STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment()
+            ).terminalId()
+        );
+    }
+
+    @Test
+    public void testChannelReader() throws IOException {
+        final BufferedReader reader = SystemTerminalContext.channelReader(
+            Channels.newChannel(
+                new ByteArrayInputStream(
+                    "abc\n\u00e9\u20ac\ud83d\ude00\n".getBytes(StandardCharsets.UTF_8)
+                )
+            ),
+            StandardCharsets.UTF_8
+        );
+
+        this.checkEquals(
+            "abc",
+            reader.readLine()
+        );
+        this.checkEquals(
+            "\u00e9\u20ac\ud83d\ude00",
+            reader.readLine()
+        );
+        this.checkEquals(
+            null,
+            reader.readLine()
+        );
+    }
+
+    @Test
+    public void testChannelReaderMalformedReplaced() throws IOException {
+        final BufferedReader reader = SystemTerminalContext.channelReader(
+            Channels.newChannel(
+                new ByteArrayInputStream(
+                    new byte[]{'a', (byte) 0xff, 'b', '\n'}
+                )
+            ),
+            StandardCharsets.UTF_8
+        );
+
+        this.checkEquals(
+            "a\ufffdb",
+            reader.readLine()
+        );
+    }
+
+    @Test
+    public void testAttachTerminalFails() {
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> this.createContext()
+                .attachTerminal(
+                    TextReaders.fake(),
+                    Printers.fake(),
+                    Printers.fake()
+                )
+        );
+    }
+
     @Override
     public SystemTerminalContext createContext() {
         return SystemTerminalContext.with(
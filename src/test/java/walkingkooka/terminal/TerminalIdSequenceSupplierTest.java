@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class TerminalIdSequenceSupplierTest implements ClassTesting2<TerminalIdSequenceSupplier>,
+    ToStringTesting<TerminalIdSequenceSupplier> {
+
+    @Test
+    public void testGet() {
+        final TerminalIdSequenceSupplier supplier = TerminalIdSequenceSupplier.with(10);
+
+        this.checkEquals(
+            TerminalId.with(10),
+            supplier.get()
+        );
+        this.checkEquals(
+            TerminalId.with(11),
+            supplier.get()
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            TerminalIdSequenceSupplier.with(0x1f),
+            "sequence 1f"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TerminalIdSequenceSupplier> type() {
+        return TerminalIdSequenceSupplier.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TerminalIdSnowflakeSupplierTest implements ClassTesting2<TerminalIdSnowflakeSupplier>,
+    ToStringTesting<TerminalIdSnowflakeSupplier> {
+
+    private final static int NODE = 5;
+
+    private final static long NOW = TerminalIdSnowflakeSupplier.EPOCH + 1000;
+
+    @Test
+    public void testWithNegativeNodeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TerminalIdSnowflakeSupplier.with(
+                -1,
+                () -> NOW
+            )
+        );
+
+        this.checkEquals(
+            "Invalid node -1 not between 0 and 1023",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithTooLargeNodeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TerminalIdSnowflakeSupplier.with(
+                1024,
+                () -> NOW
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullNowFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TerminalIdSnowflakeSupplier.with(
+                NODE,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testGet() {
+        this.checkEquals(
+            TerminalId.with((1000L << 22) | (NODE << 12)),
+            TerminalIdSnowflakeSupplier.with(
+                NODE,
+                () -> NOW
+            ).get()
+        );
+    }
+
+    @Test
+    public void testGetSameMillisecondIncrementsSequence() {
+        final TerminalIdSnowflakeSupplier supplier = TerminalIdSnowflakeSupplier.with(
+            NODE,
+            () -> NOW
+        );
+
+        supplier.get();
+
+        this.checkEquals(
+            TerminalId.with((1000L << 22) | (NODE << 12) | 1),
+            supplier.get()
+        );
+    }
+
+    @Test
+    public void testGetSequenceOverflowBorrowsNextMillisecond() {
+        final TerminalIdSnowflakeSupplier supplier = TerminalIdSnowflakeSupplier.with(
+            NODE,
+            () -> NOW
+        );
+
+        for (int i = 0; i < 4096; i++) {
+            supplier.get();
+        }
+
+        this.checkEquals(
+            TerminalId.with((1001L << 22) | (NODE << 12)),
+            supplier.get()
+        );
+    }
+
+    @Test
+    public void testGetClockBackwardsStillIncreases() {
+        final long[] now = new long[]{NOW};
+
+        final TerminalIdSnowflakeSupplier supplier = TerminalIdSnowflakeSupplier.with(
+            NODE,
+            () -> now[0]
+        );
+
+        final TerminalId first = supplier.get();
+        now[0] = NOW - 500;
+
+        this.checkEquals(
+            true,
+            supplier.get().compareTo(first) > 0,
+            "should increase"
+        );
+    }
+
+    @Test
+    public void testGetDifferentNodesUnique() {
+        final TerminalIdSnowflakeSupplier supplier1 = TerminalIdSnowflakeSupplier.with(
+            1,
+            () -> NOW
+        );
+        final TerminalIdSnowflakeSupplier supplier2 = TerminalIdSnowflakeSupplier.with(
+            2,
+            () -> NOW
+        );
+
+        this.checkNotEquals(
+            supplier1.get(),
+            supplier2.get()
+        );
+    }
+
+    @Test
+    public void testGetConcurrentUnique() throws Exception {
+        final TerminalIdSnowflakeSupplier supplier = TerminalIdSnowflakeSupplier.with(
+            NODE,
+            System::currentTimeMillis
+        );
+        final Set<TerminalId> terminalIds = ConcurrentHashMap.newKeySet();
+
+        final int threadCount = 8;
+        final int count = 10000;
+        final Thread[] threads = new Thread[threadCount];
+
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(
+                () -> {
+                    for (int j = 0; j < count; j++) {
+                        terminalIds.add(supplier.get());
+                    }
+                }
+            );
+            threads[i].start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        this.checkEquals(
+            threadCount * count,
+            terminalIds.size()
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            TerminalIdSnowflakeSupplier.with(
+                NODE,
+                () -> NOW
+            ),
+            "snowflake 5"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TerminalIdSnowflakeSupplier> type() {
+        return TerminalIdSnowflakeSupplier.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -31,6 +31,8 @@ import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallerTesting;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
+
 public final class TerminalIdTest implements ClassTesting2<TerminalId>,
     ComparableTesting2<TerminalId>,
     HasNotFoundTextTesting,
@@ -51,6 +53,34 @@ public final class TerminalIdTest implements ClassTesting2<TerminalId>,
             VALUE
         );
         this.checkEquals(VALUE, id.id(), "id");
+        this.checkEquals(VALUE.longValue(), id.longValue(), "longValue");
+    }
+
+    @Test
+    public void testValueNotReboxed() {
+        final TerminalId id = TerminalId.with(VALUE * 1000);
+        assertSame(
+            id.value(),
+            id.value()
+        );
+    }
+
+    @Test
+    public void testWithCached() {
+        assertSame(
+            TerminalId.with(VALUE),
+            TerminalId.with(VALUE)
+        );
+    }
+
+    @Test
+    public void testWithCacheCollision() {
+        final TerminalId id1 = TerminalId.with(1);
+        final TerminalId id2 = TerminalId.with(1 + (256L << 32)); // same cache slot
+
+        this.checkEquals(1L, id1.longValue());
+        this.checkEquals(1 + (256L << 32), id2.longValue());
+        this.checkNotEquals(id1, id2);
     }
 
     // HasNotFoundText..................................................................................................
@@ -83,6 +113,64 @@ public final class TerminalIdTest implements ClassTesting2<TerminalId>,
         );
     }
 
+    @Test
+    public void testParseSignOnlyFails() {
+        this.parseStringFails(
+            "-",
+            IllegalArgumentException.class
+        );
+    }
+
+    @Test
+    public void testParseOverflowFails() {
+        this.parseStringFails(
+            "8000000000000000",
+            IllegalArgumentException.class
+        );
+    }
+
+    @Test
+    public void testParseMaxValue() {
+        this.parseStringAndCheck(
+            "7fffffffffffffff",
+            TerminalId.with(Long.MAX_VALUE)
+        );
+    }
+
+    @Test
+    public void testParseMinValue() {
+        this.parseStringAndCheck(
+            "-8000000000000000",
+            TerminalId.with(Long.MIN_VALUE)
+        );
+    }
+
+    @Test
+    public void testParseNegative() {
+        this.parseStringAndCheck(
+            "-1a",
+            TerminalId.with(-0x1a)
+        );
+    }
+
+    @Test
+    public void testParsePlus() {
+        this.parseStringAndCheck(
+            "+1a",
+            TerminalId.with(0x1a)
+        );
+    }
+
+    @Test
+    public void testParseCharSequence() {
+        this.checkEquals(
+            TerminalId.with(0xabc),
+            TerminalId.parse(
+                new StringBuilder("ABC")
+            )
+        );
+    }
+
     @Test
     public void testParse() {
         this.parseStringAndCheck(
@@ -195,6 +283,16 @@ public final class TerminalIdTest implements ClassTesting2<TerminalId>,
             Long.toHexString(VALUE));
     }
 
+    @Test
+    public void testToStringCached() {
+        final TerminalId id = TerminalId.with(VALUE);
+
+        assertSame(
+            id.toString(),
+            id.toString()
+        );
+    }
+
     // type.............................................................................................................
 
     @Override
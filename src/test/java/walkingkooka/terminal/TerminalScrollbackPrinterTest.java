@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printer;
+import walkingkooka.text.printer.Printers;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TerminalScrollbackPrinterTest implements ClassTesting2<TerminalScrollbackPrinter>,
+    ToStringTesting<TerminalScrollbackPrinter> {
+
+    @Test
+    public void testWithNullPrinterFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TerminalScrollbackPrinter.with(
+                null,
+                TerminalScrollback.with(1)
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullScrollbackFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TerminalScrollbackPrinter.with(
+                Printers.fake(),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testPrint() {
+        final StringBuilder printed = new StringBuilder();
+        final TerminalScrollback scrollback = TerminalScrollback.with(100);
+
+        final Printer printer = TerminalScrollbackPrinter.with(
+            Printers.stringBuilder(
+                printed,
+                LineEnding.NL
+            ),
+            scrollback
+        );
+
+        printer.print("Hello");
+        printer.println(" World");
+
+        this.checkEquals(
+            "Hello World\n",
+            printed.toString(),
+            "printed"
+        );
+        this.checkEquals(
+            "Hello World\n",
+            scrollback.replay(0),
+            "scrollback"
+        );
+    }
+
+    @Test
+    public void testLineEnding() {
+        this.checkEquals(
+            LineEnding.CRNL,
+            TerminalScrollbackPrinter.with(
+                Printers.stringBuilder(
+                    new StringBuilder(),
+                    LineEnding.CRNL
+                ),
+                TerminalScrollback.with(1)
+            ).lineEnding()
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final Printer printer = Printers.fake();
+
+        this.toStringAndCheck(
+            TerminalScrollbackPrinter.with(
+                printer,
+                TerminalScrollback.with(1)
+            ),
+            printer.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TerminalScrollbackPrinter> type() {
+        return TerminalScrollbackPrinter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TerminalScrollbackTest implements ClassTesting2<TerminalScrollback>,
+    ToStringTesting<TerminalScrollback> {
+
+    @Test
+    public void testWithZeroCapacityFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TerminalScrollback.with(0)
+        );
+
+        this.checkEquals(
+            "Invalid capacity 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithNullTextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TerminalScrollback.with(
+                1,
+                0,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWithPositionLessThanTextFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TerminalScrollback.with(
+                10,
+                2,
+                "abc"
+            )
+        );
+
+        this.checkEquals(
+            "Invalid position 2 < 3",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithPositionAndText() {
+        final TerminalScrollback scrollback = TerminalScrollback.with(
+            5,
+            100,
+            "abc"
+        );
+
+        this.checkEquals(
+            100L,
+            scrollback.position(),
+            "position"
+        );
+        this.replayAndCheck(
+            scrollback,
+            98,
+            "bc"
+        );
+
+        scrollback.append("defg");
+
+        this.replayAndCheck(
+            scrollback,
+            0,
+            "cdefg"
+        );
+    }
+
+    @Test
+    public void testAppendNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TerminalScrollback.with(1)
+                .append(null)
+        );
+    }
+
+    @Test
+    public void testReplayNegativeFromFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TerminalScrollback.with(1)
+                .replay(-1)
+        );
+
+        this.checkEquals(
+            "Invalid from -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testReplayFromAfterPositionFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TerminalScrollback.with(1)
+                .replay(1)
+        );
+
+        this.checkEquals(
+            "Invalid from 1 > 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testReplayEmpty() {
+        this.replayAndCheck(
+            TerminalScrollback.with(10),
+            0,
+            ""
+        );
+    }
+
+    @Test
+    public void testAppendAndReplay() {
+        final TerminalScrollback scrollback = TerminalScrollback.with(10);
+        scrollback.append("Hello");
+        scrollback.append(new StringBuilder("123"));
+
+        this.checkEquals(
+            8L,
+            scrollback.position(),
+            "position"
+        );
+        this.replayAndCheck(
+            scrollback,
+            0,
+            "Hello123"
+        );
+        this.replayAndCheck(
+            scrollback,
+            5,
+            "123"
+        );
+        this.replayAndCheck(
+            scrollback,
+            8,
+            ""
+        );
+    }
+
+    @Test
+    public void testAppendWraps() {
+        final TerminalScrollback scrollback = TerminalScrollback.with(5);
+        scrollback.append("abc");
+        scrollback.append("defg");
+
+        this.checkEquals(
+            7L,
+            scrollback.position(),
+            "position"
+        );
+        this.replayAndCheck(
+            scrollback,
+            0,
+            "cdefg"
+        );
+        this.replayAndCheck(
+            scrollback,
+            4,
+            "efg"
+        );
+    }
+
+    @Test
+    public void testAppendLongerThanCapacity() {
+        final TerminalScrollback scrollback = TerminalScrollback.with(4);
+        scrollback.append("a");
+        scrollback.append(new StringBuilder("123456789"));
+
+        this.checkEquals(
+            10L,
+            scrollback.position(),
+            "position"
+        );
+        this.replayAndCheck(
+            scrollback,
+            0,
+            "6789"
+        );
+    }
+
+    private void replayAndCheck(final TerminalScrollback scrollback,
+                                final long from,
+                                final String expected) {
+        this.checkEquals(
+            expected,
+            scrollback.replay(from),
+            "replay " + from
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TerminalScrollback scrollback = TerminalScrollback.with(10);
+        scrollback.append("abc");
+
+        this.toStringAndCheck(
+            scrollback,
+            "capacity 10 position 3"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TerminalScrollback> type() {
+        return TerminalScrollback.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
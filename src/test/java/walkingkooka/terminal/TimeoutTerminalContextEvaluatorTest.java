@@ -0,0 +1,469 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TimeoutTerminalContextEvaluatorTest implements ClassTesting2<TimeoutTerminalContextEvaluator>,
+    ToStringTesting<TimeoutTerminalContextEvaluator> {
+
+    private final static TerminalId TERMINAL_ID = TerminalId.with(1);
+
+    private final static BiFunction<String, TerminalContext, Object> EVALUATOR = (t, c) -> "evaluated-" + t;
+
+    private final static Executor EXECUTOR = (r) -> {
+        final Thread thread = new Thread(r);
+        thread.setDaemon(true);
+        thread.start();
+    };
+
+    @Test
+    public void testWithNullEvaluatorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TimeoutTerminalContextEvaluator.with(
+                null,
+                1000,
+                EXECUTOR
+            )
+        );
+    }
+
+    @Test
+    public void testWithZeroDefaultTimeoutFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TimeoutTerminalContextEvaluator.with(
+                EVALUATOR,
+                0,
+                EXECUTOR
+            )
+        );
+
+        this.checkEquals(
+            "Invalid defaultTimeout 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TimeoutTerminalContextEvaluator.with(
+                EVALUATOR,
+                1000,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testApply() {
+        this.checkEquals(
+            "evaluated-hello",
+            TimeoutTerminalContextEvaluator.with(
+                EVALUATOR,
+                10_000,
+                EXECUTOR
+            ).apply(
+                "hello",
+                new TestTerminalContext(null)
+            )
+        );
+    }
+
+    @Test
+    public void testApplyRunsOnExecutor() {
+        final AtomicReference<Thread> evaluatedBy = new AtomicReference<>();
+
+        TimeoutTerminalContextEvaluator.with(
+            (t, c) -> {
+                evaluatedBy.set(Thread.currentThread());
+                return null;
+            },
+            10_000,
+            EXECUTOR
+        ).apply(
+            "hello",
+            new TestTerminalContext(null)
+        );
+
+        this.checkNotEquals(
+            Thread.currentThread(),
+            evaluatedBy.get()
+        );
+    }
+
+    @Test
+    public void testApplyNestedRunsInlineOnSingleWorker() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final AtomicReference<TimeoutTerminalContextEvaluator> evaluator = new AtomicReference<>();
+            final AtomicReference<Thread> outerThread = new AtomicReference<>();
+            final AtomicReference<Thread> innerThread = new AtomicReference<>();
+
+            evaluator.set(
+                TimeoutTerminalContextEvaluator.with(
+                    (t, c) -> {
+                        if ("outer".equals(t)) {
+                            outerThread.set(Thread.currentThread());
+                            return "outer-" + evaluator.get()
+                                .apply(
+                                    "inner",
+                                    c
+                                );
+                        }
+                        innerThread.set(Thread.currentThread());
+                        return t;
+                    },
+                    10_000,
+                    executor
+                )
+            );
+
+            this.checkEquals(
+                "outer-inner",
+                evaluator.get()
+                    .apply(
+                        "outer",
+                        new TestTerminalContext(null)
+                    )
+            );
+            this.checkEquals(
+                outerThread.get(),
+                innerThread.get(),
+                "nested evaluation should run inline on the same worker"
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testApplyEvaluatorThrows() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TimeoutTerminalContextEvaluator.with(
+                (t, c) -> {
+                    throw new IllegalArgumentException("Bad " + t);
+                },
+                10_000,
+                EXECUTOR
+            ).apply(
+                "hello",
+                new TestTerminalContext(null)
+            )
+        );
+
+        this.checkEquals(
+            "Bad hello",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testApplyTimeoutInterruptsEvaluation() throws Exception {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> TimeoutTerminalContextEvaluator.with(
+                runaway(interrupted),
+                10,
+                EXECUTOR
+            ).apply(
+                "hello",
+                new TestTerminalContext(null)
+            )
+        );
+
+        this.checkEquals(
+            "Evaluation timed out after 10ms: hello",
+            thrown.getMessage()
+        );
+        this.checkEquals(
+            true,
+            interrupted.await(10, TimeUnit.SECONDS),
+            "evaluation interrupted"
+        );
+    }
+
+    @Test
+    public void testApplyEnvironmentTimeout() {
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> TimeoutTerminalContextEvaluator.with(
+                runaway(new CountDownLatch(1)),
+                Long.MAX_VALUE,
+                EXECUTOR
+            ).apply(
+                "hello",
+                new TestTerminalContext(20L)
+            )
+        );
+
+        this.checkEquals(
+            "Evaluation timed out after 20ms: hello",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testApplyEnvironmentZeroTimeoutFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TimeoutTerminalContextEvaluator.with(
+                EVALUATOR,
+                1000,
+                EXECUTOR
+            ).apply(
+                "hello",
+                new TestTerminalContext(0L)
+            )
+        );
+
+        this.checkEquals(
+            "Invalid evaluateTimeout 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testApplyEnvironmentNegativeTimeoutFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TimeoutTerminalContextEvaluator.with(
+                EVALUATOR,
+                1000,
+                EXECUTOR
+            ).apply(
+                "hello",
+                new TestTerminalContext(-1L)
+            )
+        );
+
+        this.checkEquals(
+            "Invalid evaluateTimeout -1 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        final TimeoutTerminalContextEvaluator evaluator = TimeoutTerminalContextEvaluator.with(
+            (t, c) -> {
+                started.countDown();
+                return runaway(interrupted).apply(t, c);
+            },
+            Long.MAX_VALUE,
+            EXECUTOR
+        );
+
+        final AtomicReference<Throwable> thrown = new AtomicReference<>();
+        final Thread session = new Thread(
+            () -> {
+                try {
+                    evaluator.apply(
+                        "hello",
+                        new TestTerminalContext(null)
+                    );
+                } catch (final Throwable cause) {
+                    thrown.set(cause);
+                }
+            }
+        );
+        session.start();
+
+        started.await();
+        this.checkEquals(
+            true,
+            evaluator.cancel(TERMINAL_ID),
+            "cancel"
+        );
+
+        session.join(10_000);
+        this.checkEquals(
+            true,
+            interrupted.await(10, TimeUnit.SECONDS),
+            "evaluation interrupted"
+        );
+        this.checkEquals(
+            "Evaluation cancelled: hello",
+            thrown.get().getMessage()
+        );
+    }
+
+    @Test
+    public void testCancelSeveralEvaluationsSameTerminal() throws Exception {
+        final int count = 2;
+        final CountDownLatch started = new CountDownLatch(count);
+        final CountDownLatch interrupted = new CountDownLatch(count);
+
+        final TimeoutTerminalContextEvaluator evaluator = TimeoutTerminalContextEvaluator.with(
+            (t, c) -> {
+                started.countDown();
+                return runaway(interrupted).apply(t, c);
+            },
+            Long.MAX_VALUE,
+            EXECUTOR
+        );
+
+        final Thread[] sessions = new Thread[count];
+        for (int i = 0; i < count; i++) {
+            sessions[i] = new Thread(
+                () -> {
+                    try {
+                        evaluator.apply(
+                            "hello",
+                            new TestTerminalContext(null)
+                        );
+                    } catch (final IllegalStateException ignore) {
+                        // cancelled
+                    }
+                }
+            );
+            sessions[i].start();
+        }
+
+        started.await();
+        this.checkEquals(
+            true,
+            evaluator.cancel(TERMINAL_ID),
+            "cancel"
+        );
+
+        for (final Thread session : sessions) {
+            session.join(10_000);
+        }
+        this.checkEquals(
+            true,
+            interrupted.await(10, TimeUnit.SECONDS),
+            "every evaluation interrupted"
+        );
+        this.checkEquals(
+            false,
+            evaluator.cancel(TERMINAL_ID),
+            "nothing left to cancel"
+        );
+    }
+
+    @Test
+    public void testCancelNothingRunning() {
+        this.checkEquals(
+            false,
+            TimeoutTerminalContextEvaluator.with(
+                EVALUATOR,
+                1000,
+                EXECUTOR
+            ).cancel(TERMINAL_ID)
+        );
+    }
+
+    @Test
+    public void testCancelNullTerminalIdFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TimeoutTerminalContextEvaluator.with(
+                EVALUATOR,
+                1000,
+                EXECUTOR
+            ).cancel(null)
+        );
+    }
+
+    /**
+     * An evaluator that never completes until interrupted.
+     */
+    private static BiFunction<String, TerminalContext, Object> runaway(final CountDownLatch interrupted) {
+        return (t, c) -> {
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+            } catch (final InterruptedException cause) {
+                interrupted.countDown();
+            }
+            return null;
+        };
+    }
+
+    static final class TestTerminalContext extends FakeTerminalContext {
+
+        TestTerminalContext(final Long timeout) {
+            this.timeout = Optional.ofNullable(timeout);
+        }
+
+        @Override
+        public TerminalId terminalId() {
+            return TERMINAL_ID;
+        }
+
+        @Override
+        public <T> Optional<T> environmentValue(final EnvironmentValueName<T> name) {
+            return TerminalContext.EVALUATE_TIMEOUT.equals(name) ?
+                Cast.to(this.timeout) :
+                Optional.empty();
+        }
+
+        private final Optional<Long> timeout;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            TimeoutTerminalContextEvaluator.with(
+                EVALUATOR,
+                1000,
+                EXECUTOR
+            ),
+            EVALUATOR + " 1000ms"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TimeoutTerminalContextEvaluator> type() {
+        return TimeoutTerminalContextEvaluator.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -22,9 +22,13 @@ import walkingkooka.Cast;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.io.FakeTextReader;
 import walkingkooka.io.TextReader;
+import walkingkooka.terminal.TerminalPrinters;
 import walkingkooka.terminal.expression.FakeTerminalExpressionEvaluationContext;
 import walkingkooka.terminal.expression.TerminalExpressionEvaluationContext;
 import walkingkooka.terminal.expression.TerminalExpressionEvaluationContexts;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printer;
+import walkingkooka.text.printer.Printers;
 import walkingkooka.tree.expression.function.ExpressionFunctionTesting;
 
 import java.util.Optional;
@@ -38,6 +42,16 @@ public final class TerminalExpressionFunctionReadLineTest implements ExpressionF
 
         final TerminalExpressionEvaluationContext context = new FakeTerminalExpressionEvaluationContext() {
 
+            @Override
+            public Printer output() {
+                return Printers.sink(LineEnding.NL);
+            }
+
+            @Override
+            public Printer error() {
+                return Printers.sink(LineEnding.NL);
+            }
+
             @Override
             public TextReader input() {
                 return new FakeTextReader() {
@@ -66,6 +80,16 @@ public final class TerminalExpressionFunctionReadLineTest implements ExpressionF
 
         final TerminalExpressionEvaluationContext context = new FakeTerminalExpressionEvaluationContext() {
 
+            @Override
+            public Printer output() {
+                return Printers.sink(LineEnding.NL);
+            }
+
+            @Override
+            public Printer error() {
+                return Printers.sink(LineEnding.NL);
+            }
+
             @Override
             public TextReader input() {
                 return new FakeTextReader() {
@@ -88,6 +112,57 @@ public final class TerminalExpressionFunctionReadLineTest implements ExpressionF
         );
     }
 
+    @Test
+    public void testApplyFlushesOutputAndErrorBeforeReadLine() {
+        final StringBuilder printed = new StringBuilder();
+
+        final TerminalExpressionEvaluationContext context = new FakeTerminalExpressionEvaluationContext() {
+
+            @Override
+            public Printer output() {
+                return this.output;
+            }
+
+            private final Printer output = TerminalPrinters.buffered(
+                0, // bufferSize
+                0, // flushInterval
+                () -> 0,
+                Printers.stringBuilder(
+                    printed,
+                    LineEnding.NL
+                )
+            );
+
+            @Override
+            public Printer error() {
+                return Printers.sink(LineEnding.NL);
+            }
+
+            @Override
+            public TextReader input() {
+                return new FakeTextReader() {
+
+                    @Override
+                    public Optional<String> readLine(final long timeout) {
+                        return Optional.of(
+                            printed.toString()
+                        );
+                    }
+                };
+            }
+        };
+
+        context.output()
+            .print("Prompt> ");
+
+        this.applyAndCheck(
+            TerminalExpressionFunctionReadLine.instance(),
+            Lists.empty(),
+            context,
+            "Prompt> "
+        );
+    }
+
     @Test
     public void testIsPure() {
         this.isPureAndCheck(
@@ -25,6 +25,8 @@ import walkingkooka.io.FakeTextReader;
 import walkingkooka.io.TextReader;
 import walkingkooka.terminal.HasTerminalErrorText;
 import walkingkooka.terminal.HasTerminalOutputText;
+import walkingkooka.terminal.TerminalTextReader;
+import walkingkooka.terminal.TerminalTextReaders;
 import walkingkooka.terminal.expression.FakeTerminalExpressionEvaluationContext;
 import walkingkooka.terminal.expression.TerminalExpressionEvaluationContext;
 import walkingkooka.text.HasTextWithLineBreaks;
@@ -37,6 +39,8 @@ import java.io.PrintStream;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 public final class TerminalExpressionFunctionShellTest implements ExpressionFunctionTesting<TerminalExpressionFunctionShell<TerminalExpressionEvaluationContext>, Integer, TerminalExpressionEvaluationContext> {
 
@@ -960,6 +964,411 @@ public final class TerminalExpressionFunctionShellTest implements ExpressionFunc
         );
     }
 
+    @Test
+    public void testApplyBlockingWithBlockingTimeout() {
+        final Iterator<String> inputLines = Lists.of(
+            "hello",
+            "exit"
+        ).iterator();
+
+        final StringBuilder printed = new StringBuilder();
+
+        final TerminalExpressionEvaluationContext context = new FakeTerminalExpressionEvaluationContext() {
+
+            @Override
+            public boolean isTerminalOpen() {
+                return this.open;
+            }
+
+            private boolean open = true;
+
+            @Override
+            public TextReader input() {
+                return new FakeTextReader() {
+
+                    @Override
+                    public Optional<String> readLine(final long timeout) {
+                        checkEquals(
+                            (long) TerminalExpressionFunctionShell.BLOCKING_TIMEOUT,
+                            timeout,
+                            "timeout"
+                        );
+
+                        return Optional.ofNullable(
+                            inputLines.hasNext() ?
+                                inputLines.next() :
+                                null
+                        );
+                    }
+                };
+            }
+
+            @Override
+            public Printer output() {
+                return this.output;
+            }
+
+            private final Printer output = Printers.stringBuilder(
+                printed,
+                LineEnding.NL
+            );
+
+            @Override
+            public Printer error() {
+                return Printers.sink(LineEnding.NL);
+            }
+
+            @Override
+            public <T> Either<T, String> convert(final Object value,
+                                                 final Class<T> target) {
+                return this.successfulConversion(
+                    target.cast(value),
+                    target
+                );
+            }
+
+            @Override
+            public Object evaluate(final String expression) {
+                Objects.requireNonNull(expression, "expression");
+
+                Object value;
+                if ("exit".equals(expression)) {
+                    this.open = false;
+                    value = null;
+                } else {
+                    value = expression + expression;
+                }
+                return value;
+            }
+        };
+
+        this.applyAndCheck(
+            TerminalExpressionFunctionShell.blocking(),
+            Lists.of(TerminalExpressionFunctionShell.BLOCKING_TIMEOUT),
+            context,
+            TerminalExpressionFunctionShell.OK_EXIT_CODE
+        );
+
+        this.checkEquals(
+            "hellohello\n",
+            printed.toString(),
+            "output"
+        );
+    }
+
+    @Test
+    public void testApplyBlockingDefaultTimeoutReturnsWhenInputClosed() {
+        final TerminalTextReader input = TerminalTextReaders.blocking();
+        input.addInput("hello\n");
+        input.closeInput();
+
+        final StringBuilder printed = new StringBuilder();
+
+        this.applyAndCheck(
+            TerminalExpressionFunctionShell.blocking(),
+            Lists.empty(),
+            this.createBlockingContext(
+                input,
+                printed
+            ),
+            TerminalExpressionFunctionShell.OK_EXIT_CODE
+        );
+
+        this.checkEquals(
+            "hellohello\n",
+            printed.toString(),
+            "output"
+        );
+    }
+
+    @Test
+    public void testApplyBlockingCloseInputWhileParked() throws Exception {
+        final TerminalTextReader input = TerminalTextReaders.blocking();
+        final StringBuilder printed = new StringBuilder();
+        final TerminalExpressionEvaluationContext context = this.createBlockingContext(
+            input,
+            printed
+        );
+
+        final Thread thread = new Thread(
+            () -> TerminalExpressionFunctionShell.blocking()
+                .apply(
+                    Lists.empty(),
+                    context
+                )
+        );
+        thread.start();
+
+        input.addInput("hello\n");
+        Thread.sleep(100);
+        input.closeInput();
+
+        thread.join(5000);
+
+        this.checkEquals(
+            false,
+            thread.isAlive(),
+            "shell should have returned after input closed"
+        );
+        this.checkEquals(
+            "hellohello\n",
+            printed.toString(),
+            "output"
+        );
+    }
+
+    @Test
+    public void testApplyBlockingInterruptedWhileParked() throws Exception {
+        final TerminalTextReader input = TerminalTextReaders.blocking();
+        final TerminalExpressionEvaluationContext context = this.createBlockingContext(
+            input,
+            new StringBuilder()
+        );
+
+        final Thread thread = new Thread(
+            () -> {
+                try {
+                    TerminalExpressionFunctionShell.blocking()
+                        .apply(
+                            Lists.empty(),
+                            context
+                        );
+                } catch (final IllegalStateException expected) {
+                    // interrupted read ends the shell
+                }
+            }
+        );
+        thread.start();
+        Thread.sleep(100);
+
+        thread.interrupt();
+        thread.join(5000);
+
+        this.checkEquals(
+            false,
+            thread.isAlive(),
+            "shell should have returned after interrupt"
+        );
+    }
+
+    @Test
+    public void testBlockingName() {
+        this.checkEquals(
+            "shellBlocking",
+            TerminalExpressionFunctionShell.blocking()
+                .toString()
+        );
+    }
+
+    @Test
+    public void testApplyBlockingReattachWhileParked() throws Exception {
+        final TerminalTextReader input = TerminalTextReaders.blocking();
+        final AtomicReference<TextReader> attached = new AtomicReference<>(input);
+        final StringBuilder printed = new StringBuilder();
+        final TerminalExpressionEvaluationContext context = this.createBlockingContext(
+            attached::get,
+            printed
+        );
+
+        final Thread thread = new Thread(
+            () -> TerminalExpressionFunctionShell.blocking()
+                .apply(
+                    Lists.empty(),
+                    context
+                )
+        );
+        thread.start();
+
+        input.addInput("hello\n");
+        Thread.sleep(100);
+
+        // re-attach closes the previous input
+        final TerminalTextReader input2 = TerminalTextReaders.blocking();
+        attached.set(input2);
+        input.closeInput();
+
+        input2.addInput("again\n");
+        Thread.sleep(100);
+        input2.closeInput();
+
+        thread.join(5000);
+
+        this.checkEquals(
+            false,
+            thread.isAlive(),
+            "shell should have returned after input closed"
+        );
+        this.checkEquals(
+            "hellohello\nagainagain\n",
+            printed.toString(),
+            "output"
+        );
+    }
+
+    private TerminalExpressionEvaluationContext createBlockingContext(final TextReader input,
+                                                                     final StringBuilder printed) {
+        return this.createBlockingContext(
+            () -> input,
+            printed
+        );
+    }
+
+    private TerminalExpressionEvaluationContext createBlockingContext(final Supplier<TextReader> input,
+                                                                     final StringBuilder printed) {
+        return new FakeTerminalExpressionEvaluationContext() {
+
+            @Override
+            public boolean isTerminalOpen() {
+                return true;
+            }
+
+            @Override
+            public TextReader input() {
+                return input.get();
+            }
+
+            @Override
+            public Printer output() {
+                return this.output;
+            }
+
+            private final Printer output = Printers.stringBuilder(
+                printed,
+                LineEnding.NL
+            );
+
+            @Override
+            public Printer error() {
+                return Printers.sink(LineEnding.NL);
+            }
+
+            @Override
+            public <T> Either<T, String> convert(final Object value,
+                                                 final Class<T> target) {
+                return this.successfulConversion(
+                    target.cast(value),
+                    target
+                );
+            }
+
+            @Override
+            public Object evaluate(final String expression) {
+                return expression + expression;
+            }
+        };
+    }
+
+    // fixText.........................................................................................................
+
+    @Test
+    public void testFixTextWithoutBackspace() {
+        this.fixTextAndCheck(
+            "hello",
+            "hello"
+        );
+    }
+
+    @Test
+    public void testFixTextTrims() {
+        this.fixTextAndCheck(
+            "  hello  ",
+            "hello"
+        );
+    }
+
+    @Test
+    public void testFixTextBackspace() {
+        this.fixTextAndCheck(
+            "hel9\u007flo",
+            "hello"
+        );
+    }
+
+    @Test
+    public void testFixTextTrailingBackspace() {
+        this.fixTextAndCheck(
+            "hello!\u007f",
+            "hello"
+        );
+    }
+
+    @Test
+    public void testFixTextConsecutiveBackspaces() {
+        this.fixTextAndCheck(
+            "hello123\u007f\u007f\u007f",
+            "hello"
+        );
+    }
+
+    @Test
+    public void testFixTextBackspacesDeleteEverything() {
+        this.fixTextAndCheck(
+            "ab\u007f\u007f",
+            ""
+        );
+    }
+
+    @Test
+    public void testFixTextLeadingBackspaceIgnored() {
+        this.fixTextAndCheck(
+            "\u007fhello",
+            "hello"
+        );
+    }
+
+    @Test
+    public void testFixTextMoreBackspacesThanCharacters() {
+        this.fixTextAndCheck(
+            "a\u007f\u007f\u007fhello",
+            "hello"
+        );
+    }
+
+    @Test
+    public void testFixTextBackspaceThenTrim() {
+        this.fixTextAndCheck(
+            " hello x\u007f",
+            "hello"
+        );
+    }
+
+    @Test
+    public void testFixTextLarge() {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            text.append('x')
+                .append('\u007f');
+        }
+        text.append("hello");
+
+        this.fixTextAndCheck(
+            text.toString(),
+            "hello"
+        );
+    }
+
+    @Test
+    public void testFixTextCompactsBuffer() {
+        final StringBuilder text = new StringBuilder("ab\u007fc");
+
+        TerminalExpressionFunctionShell.fixText(text);
+
+        this.checkEquals(
+            "ac",
+            text.toString()
+        );
+    }
+
+    private void fixTextAndCheck(final String text,
+                                 final String expected) {
+        this.checkEquals(
+            expected,
+            TerminalExpressionFunctionShell.fixText(
+                new StringBuilder(text)
+            )
+        );
+    }
+
     @Test
     public void testIsPure() {
         this.isPureAndCheck(
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.io.FakeTextReader;
+import walkingkooka.io.TextReader;
+import walkingkooka.terminal.TerminalTextReader;
+import walkingkooka.terminal.TerminalTextReaders;
+import walkingkooka.terminal.expression.FakeTerminalExpressionEvaluationContext;
+import walkingkooka.terminal.expression.TerminalExpressionEvaluationContext;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.FakePrinter;
+import walkingkooka.text.printer.Printer;
+import walkingkooka.tree.expression.function.ExpressionFunctionTesting;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+public final class TerminalExpressionFunctionSourceTest implements ExpressionFunctionTesting<TerminalExpressionFunctionSource<TerminalExpressionEvaluationContext>, Integer, TerminalExpressionEvaluationContext> {
+
+    @Test
+    public void testApplyScript() {
+        this.applyScriptAndCheck(
+            "hello1\nhello2\r\nhello3\rhello4",
+            "hello1 0",
+            "hello2 0",
+            "hello3 0",
+            "hello4 0",
+            "flush"
+        );
+    }
+
+    @Test
+    public void testApplyScriptSkipsEmptyLines() {
+        this.applyScriptAndCheck(
+            "hello1\n\n   \nhello2\n",
+            "hello1 0",
+            "hello2 0",
+            "flush"
+        );
+    }
+
+    @Test
+    public void testApplyScriptLineContinuation() {
+        this.applyScriptAndCheck(
+            "hello\\\n123\nhello2",
+            "hello123 0",
+            "hello2 0",
+            "flush"
+        );
+    }
+
+    @Test
+    public void testApplyScriptTrailingLineContinuation() {
+        this.applyScriptAndCheck(
+            "hello\\",
+            "hello 0",
+            "flush"
+        );
+    }
+
+    @Test
+    public void testApplyScriptBackspace() {
+        this.applyScriptAndCheck(
+            "hel9\u007flo",
+            "hello 0",
+            "flush"
+        );
+    }
+
+    @Test
+    public void testApplyScriptExitStops() {
+        this.applyScriptAndCheck(
+            "hello1\nexit\nhello2",
+            "hello1 0",
+            "flush"
+        );
+    }
+
+    @Test
+    public void testApplyScriptEvaluateThrows() {
+        this.applyScriptAndCheck(
+            "hello1\nthrow\nhello2",
+            "hello1 0",
+            "error",
+            "hello2 0",
+            "flush"
+        );
+    }
+
+    private void applyScriptAndCheck(final String script,
+                                     final String... expected) {
+        final TestContext context = new TestContext(Lists.empty());
+
+        this.applyAndCheck(
+            TerminalExpressionFunctionSource.instance(),
+            Lists.of(script),
+            context,
+            TerminalExpressionFunctionShell.OK_EXIT_CODE
+        );
+
+        this.checkEquals(
+            Lists.of(expected),
+            context.events
+        );
+    }
+
+    @Test
+    public void testApplyInput() {
+        this.applyInputAndCheck(
+            Lists.of(
+                "hello1",
+                "hello2\\",
+                "3",
+                "hello4"
+            ),
+            "hello1 0",
+            "hello23 0",
+            "hello4 0",
+            "flush"
+        );
+    }
+
+    @Test
+    public void testApplyInputExitStops() {
+        this.applyInputAndCheck(
+            Lists.of(
+                "hello1",
+                "exit",
+                "hello2"
+            ),
+            "hello1 0",
+            "flush"
+        );
+    }
+
+    @Test
+    public void testApplyInputTerminalTextReaderReadsUntilClosed() throws Exception {
+        final TerminalTextReader input = TerminalTextReaders.blocking();
+        input.addInput("hello1\n");
+
+        final TestContext context = new TestContext(Lists.empty()) {
+            @Override
+            public TextReader input() {
+                return input;
+            }
+        };
+
+        final Thread thread = new Thread(
+            () -> TerminalExpressionFunctionSource.instance()
+                .apply(
+                    Lists.empty(),
+                    context
+                )
+        );
+        thread.start();
+
+        // lines arriving after a pause are still part of the script
+        Thread.sleep(100);
+        input.addInput("hello2\n");
+        input.closeInput();
+
+        thread.join(5000);
+
+        this.checkEquals(
+            false,
+            thread.isAlive(),
+            "source should have returned after input closed"
+        );
+        this.checkEquals(
+            Lists.of(
+                "hello1 0",
+                "hello2 0",
+                "flush"
+            ),
+            context.events
+        );
+    }
+
+    private void applyInputAndCheck(final List<String> lines,
+                                    final String... expected) {
+        final TestContext context = new TestContext(lines);
+
+        this.applyAndCheck(
+            TerminalExpressionFunctionSource.instance(),
+            Lists.empty(),
+            context,
+            TerminalExpressionFunctionShell.OK_EXIT_CODE
+        );
+
+        this.checkEquals(
+            Lists.of(expected),
+            context.events
+        );
+    }
+
+    /**
+     * Records each evaluated statement along with the number of flushes that happened before it.
+     */
+    static class TestContext extends FakeTerminalExpressionEvaluationContext {
+
+        TestContext(final List<String> lines) {
+            this.lines = lines.iterator();
+        }
+
+        @Override
+        public boolean isTerminalOpen() {
+            return this.open;
+        }
+
+        private boolean open = true;
+
+        @Override
+        public TextReader input() {
+            final Iterator<String> lines = this.lines;
+
+            return new FakeTextReader() {
+
+                @Override
+                public Optional<String> readLine(final long timeout) {
+                    if (TerminalExpressionFunctionShell.DEFAULT_TIMEOUT != timeout) {
+                        throw new IllegalArgumentException("Invalid timeout " + timeout + " expected " + TerminalExpressionFunctionShell.DEFAULT_TIMEOUT);
+                    }
+
+                    return Optional.ofNullable(
+                        lines.hasNext() ?
+                            lines.next() :
+                            null
+                    );
+                }
+            };
+        }
+
+        private final Iterator<String> lines;
+
+        @Override
+        public Printer output() {
+            return this.printer;
+        }
+
+        @Override
+        public Printer error() {
+            return this.printer;
+        }
+
+        private final Printer printer = new FakePrinter() {
+
+            @Override
+            public void flush() {
+                if (false == events.contains("flush")) {
+                    events.add("flush");
+                }
+            }
+
+            @Override
+            public PrintStream asPrintStream() {
+                return new PrintStream(OutputStream.nullOutputStream());
+            }
+        };
+
+        @Override
+        public LineEnding lineEnding() {
+            return LineEnding.NL;
+        }
+
+        @Override
+        public Object evaluate(final String expression) {
+            switch (expression) {
+                case "exit":
+                    this.open = false;
+                    break;
+                case "throw":
+                    this.events.add("error");
+                    throw new IllegalStateException("Fail!");
+                default:
+                    this.events.add(expression + " " + this.flushCount());
+                    break;
+            }
+
+            return null;
+        }
+
+        private long flushCount() {
+            return this.events.stream()
+                .filter("flush"::equals)
+                .count();
+        }
+
+        final List<String> events = Lists.array();
+    }
+
+    @Test
+    public void testIsPure() {
+        this.isPureAndCheck(
+            TerminalExpressionFunctionSource.instance(),
+            this.createContext(),
+            false
+        );
+    }
+
+    @Override
+    public TerminalExpressionFunctionSource<TerminalExpressionEvaluationContext> createBiFunction() {
+        return TerminalExpressionFunctionSource.instance();
+    }
+
+    @Override
+    public TerminalExpressionEvaluationContext createContext() {
+        return new FakeTerminalExpressionEvaluationContext() {
+
+            @Override
+            public boolean isTerminalOpen() {
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public int minimumParameterCount() {
+        return 0;
+    }
+
+    // Class............................................................................................................
+
+    @Override
+    public Class<TerminalExpressionFunctionSource<TerminalExpressionEvaluationContext>> type() {
+        return Cast.to(TerminalExpressionFunctionSource.class);
+    }
+
+    @Override
+    public void testTypeNaming() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -19,10 +19,18 @@ package walkingkooka.terminal.server;
 
 import org.junit.jupiter.api.Test;
 import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.email.EmailAddress;
 import walkingkooka.terminal.FakeTerminalContext;
 import walkingkooka.terminal.TerminalContext;
 import walkingkooka.terminal.TerminalId;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class BasicTerminalServerContextTest implements TerminalServerContextTesting2<BasicTerminalServerContext> {
@@ -103,6 +111,381 @@ public final class BasicTerminalServerContextTest implements TerminalServerConte
         );
     }
 
+    // terminalContext..................................................................................................
+
+    @Test
+    public void testTerminalContextWithLong() {
+        final TerminalId terminalId = TerminalId.with(999);
+
+        final BasicTerminalServerContext context = BasicTerminalServerContext.with(
+            () -> terminalId
+        );
+
+        final TerminalContext terminalContext = context.addTerminalContext(
+            (i) -> new TestTerminalContext(i)
+        );
+        this.checkEquals(
+            Optional.of(terminalContext),
+            context.terminalContext(999L)
+        );
+    }
+
+    @Test
+    public void testTerminalContextWithLongUnknown() {
+        this.checkEquals(
+            Optional.empty(),
+            this.createContext()
+                .terminalContext(404L)
+        );
+    }
+
+    // saveTerminalContext..............................................................................................
+
+    @Test
+    public void testSaveTerminalContextWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createContext()
+                .saveTerminalContext(null)
+        );
+    }
+
+    @Test
+    public void testSaveTerminalContextKeepsTerminalId() {
+        final BasicTerminalServerContext context = this.createContext();
+
+        final TerminalContext terminalContext = new TestTerminalContext(
+            TerminalId.with(123)
+        );
+
+        this.checkEquals(
+            terminalContext,
+            context.saveTerminalContext(terminalContext),
+            "saved"
+        );
+        this.checkEquals(
+            Optional.of(terminalContext),
+            context.terminalContext(123L)
+        );
+    }
+
+    @Test
+    public void testSaveTerminalContextDuplicateFails() {
+        final BasicTerminalServerContext context = this.createContext();
+
+        final TerminalId terminalId = TerminalId.with(123);
+        context.saveTerminalContext(
+            new TestTerminalContext(terminalId)
+        );
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> context.saveTerminalContext(
+                new TestTerminalContext(terminalId)
+            )
+        );
+        this.checkEquals(
+            "TerminalContext created with duplicate TerminalId: " + terminalId,
+            thrown.getMessage()
+        );
+    }
+
+    // removeTerminalContext............................................................................................
+
+    @Test
+    public void testRemoveTerminalContext() {
+        final TerminalId terminalId = TerminalId.with(999);
+
+        final BasicTerminalServerContext context = BasicTerminalServerContext.with(
+            () -> terminalId
+        );
+
+        context.addTerminalContext(
+            (i) -> new TestTerminalContext(i)
+        );
+        context.removeTerminalContext(terminalId);
+
+        this.checkEquals(
+            Optional.empty(),
+            context.terminalContext(terminalId)
+        );
+    }
+
+    // terminalContexts.................................................................................................
+
+    @Test
+    public void testTerminalContextsWithNegativeOffsetFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createContext()
+                .terminalContexts(-1, 1)
+        );
+
+        this.checkEquals(
+            "Invalid offset -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testTerminalContextsWithNegativeCountFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createContext()
+                .terminalContexts(0, -1)
+        );
+
+        this.checkEquals(
+            "Invalid count -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testTerminalContextsEmpty() {
+        this.terminalContextsAndCheck(
+            this.createContext(),
+            0,
+            10
+        );
+    }
+
+    @Test
+    public void testTerminalContextsSortedByTerminalId() {
+        final BasicTerminalServerContext context = this.createContextWithTerminalIds(30, 10, 20);
+
+        this.terminalContextsAndCheck(
+            context,
+            0,
+            10,
+            10,
+            20,
+            30
+        );
+    }
+
+    @Test
+    public void testTerminalContextsOffsetAndCount() {
+        final BasicTerminalServerContext context = this.createContextWithTerminalIds(50, 40, 30, 20, 10);
+
+        this.terminalContextsAndCheck(
+            context,
+            1,
+            2,
+            20,
+            30
+        );
+    }
+
+    @Test
+    public void testTerminalContextsOffsetAfterLast() {
+        final BasicTerminalServerContext context = this.createContextWithTerminalIds(10, 20);
+
+        this.terminalContextsAndCheck(
+            context,
+            2,
+            10
+        );
+    }
+
+    @Test
+    public void testTerminalContextsCountMaxValue() {
+        final BasicTerminalServerContext context = this.createContextWithTerminalIds(10, 20, 30);
+
+        this.terminalContextsAndCheck(
+            context,
+            1,
+            Integer.MAX_VALUE,
+            20,
+            30
+        );
+    }
+
+    @Test
+    public void testTerminalContextsAfterRemove() {
+        final BasicTerminalServerContext context = this.createContextWithTerminalIds(10, 20, 30);
+        context.removeTerminalContext(TerminalId.with(20));
+
+        this.terminalContextsAndCheck(
+            context,
+            0,
+            10,
+            10,
+            30
+        );
+    }
+
+    // userTerminalContexts.............................................................................................
+
+    private final static Optional<EmailAddress> USER1 = Optional.of(
+        EmailAddress.parse("user1@example.com")
+    );
+
+    private final static Optional<EmailAddress> USER2 = Optional.of(
+        EmailAddress.parse("user2@example.com")
+    );
+
+    @Test
+    public void testUserTerminalContextsWithNullUserFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createContext()
+                .userTerminalContexts(null)
+        );
+    }
+
+    @Test
+    public void testUserTerminalContexts() {
+        final BasicTerminalServerContext context = this.createContextWithTerminalIds(30, 10, 20, 40);
+        this.setUser(context, 30, USER1);
+        this.setUser(context, 10, USER1);
+        this.setUser(context, 20, USER2);
+
+        this.userTerminalContextsAndCheck(
+            context,
+            USER1,
+            10,
+            30
+        );
+        this.userTerminalContextsAndCheck(
+            context,
+            USER2,
+            20
+        );
+        this.userTerminalContextsAndCheck(
+            context,
+            Optional.empty(),
+            40
+        );
+    }
+
+    @Test
+    public void testUserTerminalContextsAfterRemove() {
+        final BasicTerminalServerContext context = this.createContextWithTerminalIds(10, 20);
+        context.removeTerminalContext(TerminalId.with(10));
+
+        this.userTerminalContextsAndCheck(
+            context,
+            Optional.empty(),
+            20
+        );
+    }
+
+    @Test
+    public void testUserTerminalContextsAfterUserChange() {
+        final BasicTerminalServerContext context = this.createContextWithTerminalIds(10, 20);
+
+        ((TestTerminalContext) context.terminalContextOrFail(TerminalId.with(10))).user = USER1;
+
+        this.userTerminalContextsAndCheck(
+            context,
+            USER1
+        );
+        this.userTerminalContextsAndCheck(
+            context,
+            Optional.empty(),
+            20
+        );
+
+        // moved when its old user was listed
+        this.userTerminalContextsAndCheck(
+            context,
+            USER1,
+            10
+        );
+    }
+
+    @Test
+    public void testRemoveUserTerminalContexts() {
+        final BasicTerminalServerContext context = this.createContextWithTerminalIds(10, 20, 30);
+        this.setUser(context, 10, USER1);
+        this.setUser(context, 30, USER1);
+
+        context.removeUserTerminalContexts(USER1);
+
+        this.userTerminalContextsAndCheck(
+            context,
+            USER1
+        );
+        this.terminalContextsAndCheck(
+            context,
+            0,
+            10,
+            20
+        );
+    }
+
+    /**
+     * Replaces the terminal with one belonging to the given user, so it is indexed under that user.
+     */
+    private void setUser(final BasicTerminalServerContext context,
+                         final long terminalId,
+                         final Optional<EmailAddress> user) {
+        final TerminalId id = TerminalId.with(terminalId);
+        context.removeTerminalContext(id);
+
+        final TestTerminalContext terminalContext = new TestTerminalContext(id);
+        terminalContext.user = user;
+        context.saveTerminalContext(terminalContext);
+    }
+
+    private void userTerminalContextsAndCheck(final BasicTerminalServerContext context,
+                                              final Optional<EmailAddress> user,
+                                              final long... expected) {
+        final List<Long> terminalIds = Lists.array();
+        for (final TerminalContext terminalContext : context.userTerminalContexts(user)) {
+            terminalIds.add(
+                terminalContext.terminalId()
+                    .longValue()
+            );
+        }
+
+        this.checkEquals(
+            Arrays.stream(expected)
+                .boxed()
+                .collect(Collectors.toList()),
+            terminalIds,
+            "userTerminalContexts " + user
+        );
+    }
+
+    private BasicTerminalServerContext createContextWithTerminalIds(final long... terminalIds) {
+        final Iterator<Long> next = Arrays.stream(terminalIds)
+            .boxed()
+            .iterator();
+
+        final BasicTerminalServerContext context = BasicTerminalServerContext.with(
+            () -> TerminalId.with(next.next())
+        );
+
+        for (int i = 0; i < terminalIds.length; i++) {
+            context.addTerminalContext(TestTerminalContext::new);
+        }
+
+        return context;
+    }
+
+    private void terminalContextsAndCheck(final TerminalServerContext context,
+                                          final int offset,
+                                          final int count,
+                                          final long... expected) {
+        final List<Long> terminalIds = Lists.array();
+        for (final TerminalContext terminalContext : context.terminalContexts(offset, count)) {
+            terminalIds.add(
+                terminalContext.terminalId()
+                    .longValue()
+            );
+        }
+
+        this.checkEquals(
+            Arrays.stream(expected)
+                .boxed()
+                .collect(Collectors.toList()),
+            terminalIds,
+            "terminalContexts " + offset + ", " + count
+        );
+    }
+
     @Override
     public BasicTerminalServerContext createContext() {
         return BasicTerminalServerContext.with(
@@ -124,6 +507,13 @@ public final class BasicTerminalServerContextTest implements TerminalServerConte
         }
 
         private TerminalId terminalId;
+
+        @Override
+        public Optional<EmailAddress> user() {
+            return this.user;
+        }
+
+        Optional<EmailAddress> user = Optional.empty();
     }
 
     // class............................................................................................................
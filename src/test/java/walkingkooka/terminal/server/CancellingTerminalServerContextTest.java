@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.terminal.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.terminal.CancellableTerminalContextEvaluator;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+import walkingkooka.terminal.server.BasicTerminalServerContextTest.TestTerminalContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CancellingTerminalServerContextTest implements TerminalServerContextTesting2<CancellingTerminalServerContext>,
+    ToStringTesting<CancellingTerminalServerContext> {
+
+    private final static CancellableTerminalContextEvaluator EVALUATOR = new TestCancellableTerminalContextEvaluator(
+        Lists.array()
+    );
+
+    private final static TerminalId TERMINAL_ID = TerminalId.with(1);
+
+    @Test
+    public void testWithNullEvaluatorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CancellingTerminalServerContext.with(
+                null,
+                TerminalServerContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CancellingTerminalServerContext.with(
+                EVALUATOR,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testRemoveTerminalContextCancels() {
+        final List<TerminalId> cancelled = Lists.array();
+
+        final CancellingTerminalServerContext context = CancellingTerminalServerContext.with(
+            new TestCancellableTerminalContextEvaluator(cancelled),
+            TerminalServerContexts.basic(
+                () -> TERMINAL_ID
+            )
+        );
+
+        final TerminalContext terminalContext = context.addTerminalContext(TestTerminalContext::new);
+        context.removeTerminalContext(
+            terminalContext.terminalId()
+        );
+
+        this.checkEquals(
+            Lists.of(TERMINAL_ID),
+            cancelled,
+            "cancelled"
+        );
+        this.checkEquals(
+            false,
+            context.terminalContext(TERMINAL_ID)
+                .isPresent(),
+            "terminalContext removed"
+        );
+    }
+
+    @Override
+    public CancellingTerminalServerContext createContext() {
+        return CancellingTerminalServerContext.with(
+            EVALUATOR,
+            TerminalServerContexts.basic(
+                () -> {
+                    throw new UnsupportedOperationException();
+                }
+            )
+        );
+    }
+
+    final static class TestCancellableTerminalContextEvaluator implements CancellableTerminalContextEvaluator {
+
+        TestCancellableTerminalContextEvaluator(final List<TerminalId> cancelled) {
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public Object apply(final String text,
+                            final TerminalContext context) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean cancel(final TerminalId terminalId) {
+            this.cancelled.add(terminalId);
+            return false;
+        }
+
+        private final List<TerminalId> cancelled;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TerminalServerContext context = TerminalServerContexts.fake();
+
+        this.toStringAndCheck(
+            CancellingTerminalServerContext.with(
+                EVALUATOR,
+                context
+            ),
+            context.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<CancellingTerminalServerContext> type() {
+        return CancellingTerminalServerContext.class;
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.io.TextReader;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.terminal.FakeTerminalContext;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+import walkingkooka.terminal.TerminalIds;
+import walkingkooka.terminal.TerminalTextReader;
+import walkingkooka.terminal.TerminalTextReaders;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class DrainingTerminalServerContextTest implements TerminalServerContextTesting2<DrainingTerminalServerContext>,
+    ToStringTesting<DrainingTerminalServerContext> {
+
+    private final static Executor EXECUTOR = Runnable::run;
+
+    /**
+     * A shell that reads input until it is closed.
+     */
+    private final static Consumer<TerminalContext> SHELL = (c) -> {
+        final TerminalTextReader input = (TerminalTextReader) c.input();
+        while (false == input.isInputClosed()) {
+            input.readLine(Long.MAX_VALUE);
+        }
+    };
+
+    @Test
+    public void testWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> DrainingTerminalServerContext.with(
+                null,
+                (l) -> TerminalServerContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> DrainingTerminalServerContext.with(
+                EXECUTOR,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testDrainWithNegativeTimeoutFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createContext()
+                .drain(
+                    null,
+                    -1
+                )
+        );
+        this.checkEquals(
+            "Invalid timeout -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testDrainExitsAndWaitsForShells() {
+        final DrainingTerminalServerContext context = threadPerTerminal(SHELL);
+
+        final TestTerminalContext terminalContext1 = add(context);
+        final TestTerminalContext terminalContext2 = add(context);
+
+        this.checkEquals(
+            false,
+            context.isDraining(),
+            "isDraining"
+        );
+
+        this.checkEquals(
+            Lists.empty(),
+            context.drain(
+                "Bye",
+                5000
+            ),
+            "stragglers"
+        );
+
+        this.checkEquals(
+            true,
+            context.isDraining(),
+            "isDraining"
+        );
+        this.checkEquals(
+            "Bye",
+            terminalContext1.exitValue,
+            "exitValue"
+        );
+        this.checkEquals(
+            "Bye",
+            terminalContext2.exitValue,
+            "exitValue"
+        );
+        this.checkEquals(
+            Lists.empty(),
+            context.terminalContexts(
+                0,
+                Integer.MAX_VALUE
+            ),
+            "terminalContexts"
+        );
+    }
+
+    @Test
+    public void testDrainReturnsStragglersWhileShellRunning() throws Exception {
+        final TerminalId stragglerId = TerminalId.with(2);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final DrainingTerminalServerContext context = threadPerTerminal(
+            (c) -> {
+                SHELL.accept(c);
+
+                // the straggler shell keeps running after its terminal closed
+                if (stragglerId.equals(c.terminalId())) {
+                    try {
+                        release.await();
+                    } catch (final InterruptedException ignore) {
+                        // nop
+                    }
+                }
+            }
+        );
+
+        final TerminalContext finishes = context.addTerminalContext(TestTerminalContext::new);
+        final TerminalContext straggler = context.addTerminalContext(TestTerminalContext::new);
+
+        try {
+            this.checkEquals(
+                Lists.of(straggler),
+                context.drain(
+                    null,
+                    1000
+                ),
+                "stragglers"
+            );
+            this.checkEquals(
+                Lists.of(straggler),
+                context.terminalContexts(
+                    0,
+                    Integer.MAX_VALUE
+                ),
+                "terminalContexts"
+            );
+            this.checkEquals(
+                false,
+                straggler.isTerminalOpen(),
+                "straggler closed"
+            );
+        } finally {
+            release.countDown();
+        }
+
+        this.checkEquals(
+            false,
+            finishes.isTerminalOpen(),
+            "closed"
+        );
+        this.checkEquals(
+            Lists.empty(),
+            context.drain(
+                null,
+                5000
+            ),
+            "stragglers after shell finished"
+        );
+    }
+
+    @Test
+    public void testAddTerminalContextWhileDrainingFails() {
+        final DrainingTerminalServerContext context = DrainingTerminalServerContext.with(
+            EXECUTOR,
+            (l) -> TerminalServerContexts.basic(
+                TerminalIds.sequence(1)
+            )
+        );
+        context.drain(
+            null,
+            0
+        );
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> context.addTerminalContext(TestTerminalContext::new)
+        );
+        this.checkEquals(
+            "Draining",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testDrainWaitsForAddInProgress() throws Exception {
+        final DrainingTerminalServerContext context = DrainingTerminalServerContext.with(
+            EXECUTOR,
+            (l) -> TerminalServerContexts.basic(
+                TerminalIds.sequence(1)
+            )
+        );
+
+        final CountDownLatch adding = new CountDownLatch(1);
+        final Thread drain = new Thread(
+            () -> {
+                try {
+                    adding.await();
+                } catch (final InterruptedException ignore) {
+                    // nop
+                }
+                context.drain(
+                    "Bye",
+                    0
+                );
+            }
+        );
+        drain.start();
+
+        final TestTerminalContext terminalContext = (TestTerminalContext) context.addTerminalContext(
+            (id) -> {
+                adding.countDown();
+
+                // give drain the chance to run, it must wait for this add to finish
+                try {
+                    drain.join(100);
+                } catch (final InterruptedException ignore) {
+                    // nop
+                }
+                return new TestTerminalContext(id);
+            }
+        );
+
+        drain.join(5000);
+
+        this.checkEquals(
+            "Bye",
+            terminalContext.exitValue,
+            "exitValue"
+        );
+    }
+
+    @Override
+    public DrainingTerminalServerContext createContext() {
+        return DrainingTerminalServerContext.with(
+            EXECUTOR,
+            (l) -> TerminalServerContexts.basic(
+                () -> {
+                    throw new UnsupportedOperationException();
+                }
+            )
+        );
+    }
+
+    /**
+     * Creates a {@link DrainingTerminalServerContext} running each terminal with the given shell, with its removal
+     * listener registered below the shell runner.
+     */
+    private static DrainingTerminalServerContext threadPerTerminal(final Consumer<TerminalContext> shell) {
+        return DrainingTerminalServerContext.with(
+            EXECUTOR,
+            (l) -> TerminalServerContexts.threadPerTerminal(
+                shell,
+                TerminalServerContexts.listener(
+                    l,
+                    EXECUTOR,
+                    TerminalServerContexts.basic(
+                        TerminalIds.sequence(1)
+                    )
+                )
+            )
+        );
+    }
+
+    /**
+     * Adds a {@link TestTerminalContext} returning it rather than the listener wrapper around it.
+     */
+    private static TestTerminalContext add(final DrainingTerminalServerContext context) {
+        final TestTerminalContext[] added = new TestTerminalContext[1];
+
+        context.addTerminalContext(
+            (id) -> {
+                added[0] = new TestTerminalContext(id);
+                return added[0];
+            }
+        );
+        return added[0];
+    }
+
+    static class TestTerminalContext extends FakeTerminalContext {
+
+        TestTerminalContext(final TerminalId terminalId) {
+            this.terminalId = terminalId;
+        }
+
+        @Override
+        public TerminalId terminalId() {
+            return this.terminalId;
+        }
+
+        private final TerminalId terminalId;
+
+        @Override
+        public Optional<EmailAddress> user() {
+            return Optional.empty();
+        }
+
+        @Override
+        public TextReader input() {
+            return this.input;
+        }
+
+        private final TerminalTextReader input = TerminalTextReaders.blocking();
+
+        @Override
+        public void exitTerminal(final Object value) {
+            this.exitValue = value;
+            this.open = false;
+        }
+
+        @Override
+        public boolean isTerminalOpen() {
+            return this.open;
+        }
+
+        volatile boolean open = true;
+
+        volatile Object exitValue;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TerminalServerContext context = TerminalServerContexts.fake();
+
+        this.toStringAndCheck(
+            DrainingTerminalServerContext.with(
+                EXECUTOR,
+                context
+            ),
+            context.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<DrainingTerminalServerContext> type() {
+        return DrainingTerminalServerContext.class;
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.terminal.FakeTerminalContext;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EvictingTerminalServerContextTest implements TerminalServerContextTesting2<EvictingTerminalServerContext>,
+    ToStringTesting<EvictingTerminalServerContext> {
+
+    private final static long TIME_TO_LIVE = 100;
+
+    private final static int MAX_COUNT = 2;
+
+    private final static LongSupplier NOW = () -> 0;
+
+    @Test
+    public void testWithZeroTimeToLiveFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> EvictingTerminalServerContext.with(
+                0,
+                MAX_COUNT,
+                NOW,
+                TerminalServerContexts.fake()
+            )
+        );
+
+        this.checkEquals(
+            "Invalid timeToLive 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithZeroMaxCountFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> EvictingTerminalServerContext.with(
+                TIME_TO_LIVE,
+                0,
+                NOW,
+                TerminalServerContexts.fake()
+            )
+        );
+
+        this.checkEquals(
+            "Invalid maxCount 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithNullNowFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> EvictingTerminalServerContext.with(
+                TIME_TO_LIVE,
+                MAX_COUNT,
+                null,
+                TerminalServerContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> EvictingTerminalServerContext.with(
+                TIME_TO_LIVE,
+                MAX_COUNT,
+                NOW,
+                null
+            )
+        );
+    }
+
+    // addTerminalContext...............................................................................................
+
+    @Test
+    public void testAddTerminalContextEvictsClosed() {
+        final EvictingTerminalServerContext context = this.createContext();
+
+        final TestTerminalContext closed = (TestTerminalContext) context.addTerminalContext(TestTerminalContext::new);
+        closed.open = false;
+
+        final TerminalContext open = context.addTerminalContext(TestTerminalContext::new);
+
+        this.terminalContextAndCheck(
+            context,
+            closed.terminalId(),
+            null
+        );
+        this.terminalContextAndCheck(
+            context,
+            open.terminalId(),
+            open
+        );
+    }
+
+    @Test
+    public void testAddTerminalContextEvictsExpired() {
+        final EvictingTerminalServerContext context = this.createContext();
+
+        final TerminalContext expired = context.addTerminalContext(TestTerminalContext::new);
+        this.now.addAndGet(TIME_TO_LIVE);
+
+        final TerminalContext added = context.addTerminalContext(TestTerminalContext::new);
+
+        this.terminalContextAndCheck(
+            context,
+            expired.terminalId(),
+            null
+        );
+        this.terminalContextAndCheck(
+            context,
+            added.terminalId(),
+            added
+        );
+    }
+
+    @Test
+    public void testAddTerminalContextEvictsLeastRecentlyUsed() {
+        final EvictingTerminalServerContext context = this.createContext();
+
+        final TerminalContext terminalContext1 = context.addTerminalContext(TestTerminalContext::new);
+        this.now.incrementAndGet();
+
+        final TerminalContext terminalContext2 = context.addTerminalContext(TestTerminalContext::new);
+        this.now.incrementAndGet();
+
+        // makes terminalContext2 the least recently used
+        context.terminalContext(terminalContext1.terminalId());
+        this.now.incrementAndGet();
+
+        final TerminalContext terminalContext3 = context.addTerminalContext(TestTerminalContext::new);
+
+        this.terminalContextAndCheck(
+            context,
+            terminalContext1.terminalId(),
+            terminalContext1
+        );
+        this.terminalContextAndCheck(
+            context,
+            terminalContext2.terminalId(),
+            null
+        );
+        this.terminalContextAndCheck(
+            context,
+            terminalContext3.terminalId(),
+            terminalContext3
+        );
+    }
+
+    @Test
+    public void testAddTerminalContextRemovesClosedBeforeLeastRecentlyUsed() {
+        final EvictingTerminalServerContext context = this.createContext();
+
+        final TestTerminalContext terminalContext1 = (TestTerminalContext) context.addTerminalContext(TestTerminalContext::new);
+        this.now.incrementAndGet();
+
+        final TestTerminalContext closed = (TestTerminalContext) context.addTerminalContext(TestTerminalContext::new);
+        closed.open = false;
+        this.now.incrementAndGet();
+
+        final TerminalContext terminalContext3 = context.addTerminalContext(TestTerminalContext::new);
+
+        this.checkEquals(
+            true,
+            terminalContext1.open,
+            "least recently used open terminal should not have been exited"
+        );
+        this.terminalContextAndCheck(
+            context,
+            terminalContext1.terminalId(),
+            terminalContext1
+        );
+        this.terminalContextAndCheck(
+            context,
+            closed.terminalId(),
+            null
+        );
+        this.terminalContextAndCheck(
+            context,
+            terminalContext3.terminalId(),
+            terminalContext3
+        );
+    }
+
+    @Test
+    public void testAddTerminalContextExitsEvictedOpenTerminal() {
+        final EvictingTerminalServerContext context = this.createContext();
+
+        final TestTerminalContext terminalContext1 = (TestTerminalContext) context.addTerminalContext(TestTerminalContext::new);
+        this.now.incrementAndGet();
+
+        context.addTerminalContext(TestTerminalContext::new);
+        this.now.incrementAndGet();
+
+        context.addTerminalContext(TestTerminalContext::new);
+
+        this.checkEquals(
+            false,
+            terminalContext1.open,
+            "evicted terminal should have been exited"
+        );
+    }
+
+    // terminalContext..................................................................................................
+
+    @Test
+    public void testTerminalContextClosedRemoved() {
+        final EvictingTerminalServerContext context = this.createContext();
+
+        final TestTerminalContext closed = (TestTerminalContext) context.addTerminalContext(TestTerminalContext::new);
+        closed.open = false;
+
+        this.terminalContextAndCheck(
+            context,
+            closed.terminalId(),
+            null
+        );
+    }
+
+    @Test
+    public void testTerminalContextSweepsExpiredWithoutAdd() {
+        final TerminalServerContext wrapped = TerminalServerContexts.basic(
+            () -> TerminalId.with(1)
+        );
+        final EvictingTerminalServerContext context = EvictingTerminalServerContext.with(
+            TIME_TO_LIVE,
+            MAX_COUNT,
+            this.now::get,
+            wrapped
+        );
+
+        final TestTerminalContext expired = (TestTerminalContext) context.addTerminalContext(TestTerminalContext::new);
+        this.now.addAndGet(TIME_TO_LIVE);
+
+        // any request sweeps, here a lookup of an unknown terminal
+        context.terminalContext(TerminalId.with(2));
+
+        this.checkEquals(
+            Optional.empty(),
+            wrapped.terminalContext(expired.terminalId()),
+            "expired terminal should have been removed from wrapped"
+        );
+        this.checkEquals(
+            false,
+            expired.open,
+            "expired terminal should have been exited"
+        );
+    }
+
+    @Test
+    public void testRemoveTerminalContext() {
+        final EvictingTerminalServerContext context = this.createContext();
+
+        final TerminalContext terminalContext = context.addTerminalContext(TestTerminalContext::new);
+        context.removeTerminalContext(terminalContext.terminalId());
+
+        this.terminalContextAndCheck(
+            context,
+            terminalContext.terminalId(),
+            null
+        );
+    }
+
+    private void terminalContextAndCheck(final EvictingTerminalServerContext context,
+                                         final TerminalId terminalId,
+                                         final TerminalContext expected) {
+        this.checkEquals(
+            Optional.ofNullable(expected),
+            context.terminalContext(terminalId),
+            () -> "terminalContext " + terminalId
+        );
+    }
+
+    @Override
+    public EvictingTerminalServerContext createContext() {
+        final AtomicLong nextTerminalId = new AtomicLong();
+
+        return EvictingTerminalServerContext.with(
+            TIME_TO_LIVE,
+            MAX_COUNT,
+            this.now::get,
+            TerminalServerContexts.basic(
+                () -> TerminalId.with(
+                    nextTerminalId.incrementAndGet()
+                )
+            )
+        );
+    }
+
+    private final AtomicLong now = new AtomicLong();
+
+    final static class TestTerminalContext extends FakeTerminalContext {
+
+        TestTerminalContext(final TerminalId terminalId) {
+            this.terminalId = terminalId;
+        }
+
+        @Override
+        public TerminalId terminalId() {
+            return this.terminalId;
+        }
+
+        private final TerminalId terminalId;
+
+        @Override
+        public Optional<EmailAddress> user() {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean isTerminalOpen() {
+            return this.open;
+        }
+
+        boolean open = true;
+
+        @Override
+        public void exitTerminal(final Object value) {
+            this.open = false;
+        }
+
+        @Override
+        public String toString() {
+            return this.terminalId.toString();
+        }
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TerminalServerContext context = TerminalServerContexts.fake();
+
+        this.toStringAndCheck(
+            EvictingTerminalServerContext.with(
+                TIME_TO_LIVE,
+                MAX_COUNT,
+                NOW,
+                context
+            ),
+            context.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<EvictingTerminalServerContext> type() {
+        return EvictingTerminalServerContext.class;
+    }
+}
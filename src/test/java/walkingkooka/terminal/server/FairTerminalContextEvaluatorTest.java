@@ -0,0 +1,631 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.terminal.FakeTerminalContext;
+import walkingkooka.terminal.TerminalContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class FairTerminalContextEvaluatorTest implements ClassTesting2<FairTerminalContextEvaluator>,
+    ToStringTesting<FairTerminalContextEvaluator> {
+
+    private final static BiFunction<String, TerminalContext, Object> EVALUATOR = (t, c) -> "evaluated-" + t;
+
+    private final static ToIntFunction<Optional<EmailAddress>> WEIGHT = (u) -> 1;
+
+    private final static Optional<EmailAddress> USER1 = Optional.of(
+        EmailAddress.parse("user1@example.com")
+    );
+
+    private final static Optional<EmailAddress> USER2 = Optional.of(
+        EmailAddress.parse("user2@example.com")
+    );
+
+    @Test
+    public void testWithNullEvaluatorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> FairTerminalContextEvaluator.with(
+                null,
+                1,
+                WEIGHT,
+                1
+            )
+        );
+    }
+
+    @Test
+    public void testWithZeroWorkerCountFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> FairTerminalContextEvaluator.with(
+                EVALUATOR,
+                0,
+                WEIGHT,
+                1
+            )
+        );
+
+        this.checkEquals(
+            "Invalid workerCount 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithNullWeightFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> FairTerminalContextEvaluator.with(
+                EVALUATOR,
+                1,
+                null,
+                1
+            )
+        );
+    }
+
+    @Test
+    public void testWithZeroMaxConcurrentPerUserFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> FairTerminalContextEvaluator.with(
+                EVALUATOR,
+                1,
+                WEIGHT,
+                0
+            )
+        );
+
+        this.checkEquals(
+            "Invalid maxConcurrentPerUser 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testApply() {
+        this.checkEquals(
+            "evaluated-hello",
+            FairTerminalContextEvaluator.with(
+                EVALUATOR,
+                1,
+                WEIGHT,
+                1
+            ).apply(
+                "hello",
+                new TestTerminalContext(USER1)
+            )
+        );
+    }
+
+    @Test
+    public void testApplyEvaluatorThrows() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> FairTerminalContextEvaluator.with(
+                (t, c) -> {
+                    throw new IllegalArgumentException("Bad " + t);
+                },
+                1,
+                WEIGHT,
+                1
+            ).apply(
+                "hello",
+                new TestTerminalContext(USER1)
+            )
+        );
+
+        this.checkEquals(
+            "Bad hello",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testApplyInvalidWeightFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> FairTerminalContextEvaluator.with(
+                EVALUATOR,
+                1,
+                (u) -> 0,
+                1
+            ).apply(
+                "hello",
+                new TestTerminalContext(Optional.empty())
+            )
+        );
+
+        this.checkEquals(
+            "Invalid weight 0 <= 0 for Anonymous",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testApplyWeightGreaterThanStrideFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> FairTerminalContextEvaluator.with(
+                EVALUATOR,
+                1,
+                (u) -> (int) FairTerminalContextEvaluator.STRIDE + 1,
+                1
+            ).apply(
+                "hello",
+                new TestTerminalContext(Optional.empty())
+            )
+        );
+
+        this.checkEquals(
+            "Invalid weight " + (FairTerminalContextEvaluator.STRIDE + 1) + " > " + FairTerminalContextEvaluator.STRIDE + " for Anonymous",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testApplyNestedSameUserRunsInline() {
+        final FairTerminalContextEvaluator[] evaluator = new FairTerminalContextEvaluator[1];
+
+        evaluator[0] = FairTerminalContextEvaluator.with(
+            (t, c) -> "outer".equals(t) ?
+                "outer-" + evaluator[0].apply(
+                    "inner",
+                    c
+                ) :
+                t,
+            1,
+            WEIGHT,
+            1
+        );
+
+        try {
+            this.checkEquals(
+                "outer-inner",
+                evaluator[0].apply(
+                    "outer",
+                    new TestTerminalContext(USER1)
+                )
+            );
+        } finally {
+            evaluator[0].close();
+        }
+    }
+
+    @Test
+    public void testCloseStopsWorkers() throws Exception {
+        final FairTerminalContextEvaluator evaluator = FairTerminalContextEvaluator.with(
+            EVALUATOR,
+            2,
+            WEIGHT,
+            1
+        );
+        evaluator.close();
+
+        final long end = System.currentTimeMillis() + 10_000;
+        while (false == evaluator.isTerminated() && System.currentTimeMillis() < end) {
+            Thread.sleep(1);
+        }
+
+        this.checkEquals(
+            true,
+            evaluator.isTerminated(),
+            "workers stopped"
+        );
+    }
+
+    @Test
+    public void testApplyAfterCloseFails() {
+        final FairTerminalContextEvaluator evaluator = FairTerminalContextEvaluator.with(
+            EVALUATOR,
+            1,
+            WEIGHT,
+            1
+        );
+        evaluator.close();
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> evaluator.apply(
+                "hello",
+                new TestTerminalContext(USER1)
+            )
+        );
+
+        this.checkEquals(
+            "Evaluator closed",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testApplyOtherUserRunsBeforeQueuedCommands() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> evaluated = Lists.array();
+
+        final FairTerminalContextEvaluator evaluator = FairTerminalContextEvaluator.with(
+            (t, c) -> {
+                if ("user1-0".equals(t)) {
+                    started.countDown();
+                    await(release);
+                }
+                synchronized (evaluated) {
+                    evaluated.add(t);
+                }
+                return t;
+            },
+            1, // single worker makes the order deterministic
+            WEIGHT,
+            1
+        );
+
+        final List<Thread> threads = Lists.array();
+
+        // user1-0 occupies the only worker, user1-1..3 are queued
+        threads.add(
+            submit(evaluator, "user1-0", USER1)
+        );
+        await(started);
+
+        for (int i = 1; i < 4; i++) {
+            threads.add(
+                submit(evaluator, "user1-" + i, USER1)
+            );
+            waitUntilQueued(evaluator, i);
+        }
+
+        threads.add(
+            submit(evaluator, "user2-0", USER2)
+        );
+        waitUntilQueued(evaluator, 4);
+
+        release.countDown();
+        for (final Thread thread : threads) {
+            thread.join(10_000);
+        }
+
+        this.checkEquals(
+            Lists.of(
+                "user1-0",
+                "user2-0",
+                "user1-1",
+                "user1-2",
+                "user1-3"
+            ),
+            evaluated
+        );
+    }
+
+    @Test
+    public void testApplyWeights() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> evaluated = Lists.array();
+
+        final FairTerminalContextEvaluator evaluator = FairTerminalContextEvaluator.with(
+            (t, c) -> {
+                if ("blocker".equals(t)) {
+                    started.countDown();
+                    await(release);
+                }
+                synchronized (evaluated) {
+                    evaluated.add(t);
+                }
+                return t;
+            },
+            1,
+            (u) -> USER2.equals(u) ? 2 : 1, // user2 gets twice the share
+            1
+        );
+
+        final List<Thread> threads = Lists.array();
+
+        threads.add(
+            submit(evaluator, "blocker", Optional.empty())
+        );
+        await(started);
+
+        int queued = 0;
+        for (int i = 0; i < 2; i++) {
+            threads.add(
+                submit(evaluator, "user1-" + i, USER1)
+            );
+            waitUntilQueued(evaluator, ++queued);
+        }
+        for (int i = 0; i < 4; i++) {
+            threads.add(
+                submit(evaluator, "user2-" + i, USER2)
+            );
+            waitUntilQueued(evaluator, ++queued);
+        }
+
+        release.countDown();
+        for (final Thread thread : threads) {
+            thread.join(10_000);
+        }
+
+        // both start at the same virtual time, user1 first as it was added first, then user2 runs twice as often
+        this.checkEquals(
+            Lists.of(
+                "blocker",
+                "user1-0",
+                "user2-0",
+                "user2-1",
+                "user1-1",
+                "user2-2",
+                "user2-3"
+            ),
+            evaluated
+        );
+    }
+
+    @Test
+    public void testApplyMaxConcurrentPerUser() throws Exception {
+        final int maxConcurrentPerUser = 2;
+        final int count = 8;
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(maxConcurrentPerUser);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final FairTerminalContextEvaluator evaluator = FairTerminalContextEvaluator.with(
+            (t, c) -> {
+                maxRunning.accumulateAndGet(
+                    running.incrementAndGet(),
+                    Math::max
+                );
+                started.countDown();
+                await(release);
+                running.decrementAndGet();
+                return t;
+            },
+            4,
+            WEIGHT,
+            maxConcurrentPerUser
+        );
+
+        final List<Thread> threads = Lists.array();
+        for (int i = 0; i < count; i++) {
+            threads.add(
+                submit(evaluator, "user1-" + i, USER1)
+            );
+        }
+
+        // the limit holds the rest in the queue even though two workers are idle
+        await(started);
+        waitUntilQueued(evaluator, count - maxConcurrentPerUser);
+
+        this.checkEquals(
+            maxConcurrentPerUser,
+            running.get(),
+            "running"
+        );
+
+        release.countDown();
+        for (final Thread thread : threads) {
+            thread.join(10_000);
+        }
+
+        this.checkEquals(
+            maxConcurrentPerUser,
+            maxRunning.get(),
+            "max running"
+        );
+    }
+
+    @Test
+    public void testApplyInterruptedCancels() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> evaluated = Lists.array();
+
+        final FairTerminalContextEvaluator evaluator = FairTerminalContextEvaluator.with(
+            (t, c) -> {
+                if ("blocker".equals(t)) {
+                    started.countDown();
+                    await(release);
+                }
+                synchronized (evaluated) {
+                    evaluated.add(t);
+                }
+                return t;
+            },
+            1,
+            WEIGHT,
+            1
+        );
+
+        final Thread blocker = submit(evaluator, "blocker", USER1);
+        await(started);
+
+        final Thread cancelled = submit(evaluator, "cancelled", USER2);
+        waitUntilQueued(evaluator, 1);
+
+        cancelled.interrupt();
+        cancelled.join(10_000);
+
+        release.countDown();
+        blocker.join(10_000);
+
+        // queued behind the cancelled command, which the worker skips
+        this.checkEquals(
+            "after",
+            evaluator.apply(
+                "after",
+                new TestTerminalContext(USER2)
+            )
+        );
+
+        synchronized (evaluated) {
+            this.checkEquals(
+                Lists.of("blocker", "after"),
+                evaluated
+            );
+        }
+    }
+
+    @Test
+    public void testApplyInterruptedDoesNotAdvancePass() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> evaluated = Lists.array();
+
+        final FairTerminalContextEvaluator evaluator = FairTerminalContextEvaluator.with(
+            (t, c) -> {
+                if ("blocker".equals(t)) {
+                    started.countDown();
+                    await(release);
+                }
+                synchronized (evaluated) {
+                    evaluated.add(t);
+                }
+                return t;
+            },
+            1,
+            WEIGHT,
+            1
+        );
+
+        final Thread blocker = submit(evaluator, "blocker", USER1);
+        await(started);
+
+        final Thread cancelled = submit(evaluator, "cancelled", USER2);
+        waitUntilQueued(evaluator, 1);
+
+        final Thread user2 = submit(evaluator, "user2", USER2);
+        waitUntilQueued(evaluator, 2);
+
+        final Thread user1 = submit(evaluator, "user1", USER1);
+        waitUntilQueued(evaluator, 3);
+
+        cancelled.interrupt();
+        cancelled.join(10_000);
+        waitUntilQueued(evaluator, 2);
+
+        release.countDown();
+        for (final Thread thread : Lists.of(blocker, user2, user1)) {
+            thread.join(10_000);
+        }
+
+        // USER2 was never charged for the cancelled command, so its pass is still behind USER1
+        synchronized (evaluated) {
+            this.checkEquals(
+                Lists.of("blocker", "user2", "user1"),
+                evaluated
+            );
+        }
+    }
+
+    private static Thread submit(final FairTerminalContextEvaluator evaluator,
+                                 final String text,
+                                 final Optional<EmailAddress> user) {
+        final Thread thread = new Thread(
+            () -> {
+                try {
+                    evaluator.apply(
+                        text,
+                        new TestTerminalContext(user)
+                    );
+                } catch (final IllegalStateException ignore) {
+                    // interrupted
+                }
+            }
+        );
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void waitUntilQueued(final FairTerminalContextEvaluator evaluator,
+                                        final int queued) throws InterruptedException {
+        final long end = System.currentTimeMillis() + 10_000;
+        while (evaluator.queued() != queued) {
+            if (System.currentTimeMillis() > end) {
+                throw new IllegalStateException("Timed out waiting for " + queued + " queued");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException cause) {
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    static final class TestTerminalContext extends FakeTerminalContext {
+
+        TestTerminalContext(final Optional<EmailAddress> user) {
+            this.user = user;
+        }
+
+        @Override
+        public Optional<EmailAddress> user() {
+            return this.user;
+        }
+
+        private final Optional<EmailAddress> user;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            FairTerminalContextEvaluator.with(
+                EVALUATOR,
+                3,
+                WEIGHT,
+                2
+            ),
+            "FairTerminalContextEvaluator 3 2"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<FairTerminalContextEvaluator> type() {
+        return FairTerminalContextEvaluator.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
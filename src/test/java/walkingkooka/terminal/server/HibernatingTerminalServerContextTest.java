@@ -0,0 +1,472 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+import walkingkooka.terminal.TerminalIds;
+import walkingkooka.terminal.server.DrainingTerminalServerContextTest.TestTerminalContext;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HibernatingTerminalServerContextTest implements TerminalServerContextTesting2<HibernatingTerminalServerContext>,
+    ToStringTesting<HibernatingTerminalServerContext> {
+
+    private final static long TIME_TO_IDLE = 100;
+
+    private final static LongSupplier NOW = () -> 0;
+
+    private final static Function<TerminalContext, TerminalSession> HIBERNATOR = (c) -> TerminalSession.with(
+        c.terminalId(),
+        Maps.empty(),
+        0,
+        ""
+    );
+
+    private final static Function<TerminalSession, TerminalContext> RESTORER = (s) -> new TestTerminalContext(s.terminalId());
+
+    @Test
+    public void testWithZeroTimeToIdleFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HibernatingTerminalServerContext.with(
+                0,
+                NOW,
+                HIBERNATOR,
+                RESTORER,
+                TerminalSessionStores.fake(),
+                TerminalServerContexts.fake()
+            )
+        );
+
+        this.checkEquals(
+            "Invalid timeToIdle 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithNullNowFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HibernatingTerminalServerContext.with(
+                TIME_TO_IDLE,
+                null,
+                HIBERNATOR,
+                RESTORER,
+                TerminalSessionStores.fake(),
+                TerminalServerContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullHibernatorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HibernatingTerminalServerContext.with(
+                TIME_TO_IDLE,
+                NOW,
+                null,
+                RESTORER,
+                TerminalSessionStores.fake(),
+                TerminalServerContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullRestorerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HibernatingTerminalServerContext.with(
+                TIME_TO_IDLE,
+                NOW,
+                HIBERNATOR,
+                null,
+                TerminalSessionStores.fake(),
+                TerminalServerContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullStoreFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HibernatingTerminalServerContext.with(
+                TIME_TO_IDLE,
+                NOW,
+                HIBERNATOR,
+                RESTORER,
+                null,
+                TerminalServerContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HibernatingTerminalServerContext.with(
+                TIME_TO_IDLE,
+                NOW,
+                HIBERNATOR,
+                RESTORER,
+                TerminalSessionStores.fake(),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testHibernateAndRestore() {
+        final AtomicLong now = new AtomicLong();
+        final TerminalSessionStore store = TerminalSessionStores.treeMap();
+        final TerminalServerContext wrapped = TerminalServerContexts.basic(
+            TerminalIds.sequence(1)
+        );
+
+        final HibernatingTerminalServerContext context = HibernatingTerminalServerContext.with(
+            TIME_TO_IDLE,
+            now::get,
+            HIBERNATOR,
+            RESTORER,
+            store,
+            wrapped
+        );
+
+        final TerminalContext terminalContext1 = context.addTerminalContext(TestTerminalContext::new);
+        final TerminalId terminalId1 = terminalContext1.terminalId();
+
+        now.set(TIME_TO_IDLE);
+
+        final TerminalContext terminalContext2 = context.addTerminalContext(TestTerminalContext::new);
+
+        this.checkEquals(
+            true,
+            store.load(terminalId1)
+                .isPresent(),
+            "hibernated"
+        );
+        this.checkEquals(
+            false,
+            terminalContext1.isTerminalOpen(),
+            "hibernated terminal exited"
+        );
+        this.checkEquals(
+            Lists.of(terminalContext2),
+            context.terminalContexts(
+                0,
+                Integer.MAX_VALUE
+            ),
+            "terminalContexts after hibernate"
+        );
+
+        final TerminalContext restored = context.terminalContextOrFail(terminalId1);
+
+        assertNotSame(
+            terminalContext1,
+            restored
+        );
+        this.checkEquals(
+            terminalId1,
+            restored.terminalId(),
+            "restored terminalId"
+        );
+        this.checkEquals(
+            Optional.empty(),
+            store.load(terminalId1),
+            "session deleted after restore"
+        );
+        this.checkEquals(
+            Optional.of(restored),
+            wrapped.terminalContext(terminalId1),
+            "restored saved to wrapped"
+        );
+        this.checkEquals(
+            Lists.of(restored, terminalContext2),
+            context.terminalContexts(
+                0,
+                Integer.MAX_VALUE
+            ),
+            "terminalContexts after restore"
+        );
+
+        context.removeTerminalContext(terminalId1);
+
+        this.checkEquals(
+            Optional.empty(),
+            context.terminalContext(terminalId1),
+            "removed"
+        );
+    }
+
+    @Test
+    public void testHibernateClosedTerminalNotSaved() {
+        final AtomicLong now = new AtomicLong();
+        final TerminalSessionStore store = TerminalSessionStores.treeMap();
+
+        final HibernatingTerminalServerContext context = HibernatingTerminalServerContext.with(
+            TIME_TO_IDLE,
+            now::get,
+            HIBERNATOR,
+            RESTORER,
+            store,
+            TerminalServerContexts.basic(
+                TerminalIds.sequence(1)
+            )
+        );
+
+        final TerminalContext terminalContext = context.addTerminalContext(TestTerminalContext::new);
+        terminalContext.exitTerminal(null);
+
+        now.set(TIME_TO_IDLE);
+        context.hibernateIdle();
+
+        this.checkEquals(
+            Optional.empty(),
+            context.terminalContext(
+                terminalContext.terminalId()
+            )
+        );
+    }
+
+    @Test
+    public void testTerminalContextHibernatesIdle() {
+        final AtomicLong now = new AtomicLong();
+        final TerminalSessionStore store = TerminalSessionStores.treeMap();
+
+        final HibernatingTerminalServerContext context = HibernatingTerminalServerContext.with(
+            TIME_TO_IDLE,
+            now::get,
+            HIBERNATOR,
+            RESTORER,
+            store,
+            TerminalServerContexts.basic(
+                TerminalIds.sequence(1)
+            )
+        );
+
+        final TerminalContext idle = context.addTerminalContext(TestTerminalContext::new);
+        final TerminalContext fetched = context.addTerminalContext(TestTerminalContext::new);
+
+        now.set(TIME_TO_IDLE / 2);
+        context.terminalContextOrFail(
+            fetched.terminalId()
+        );
+
+        now.set(TIME_TO_IDLE);
+        context.terminalContextOrFail(
+            fetched.terminalId()
+        );
+
+        this.checkEquals(
+            true,
+            store.load(idle.terminalId())
+                .isPresent(),
+            "idle hibernated"
+        );
+        this.checkEquals(
+            false,
+            idle.isTerminalOpen(),
+            "idle exited"
+        );
+        this.checkEquals(
+            Optional.empty(),
+            store.load(fetched.terminalId()),
+            "fetched not hibernated"
+        );
+        this.checkEquals(
+            true,
+            fetched.isTerminalOpen(),
+            "fetched open"
+        );
+    }
+
+    @Test
+    public void testTerminalContextsHibernatesIdle() {
+        final AtomicLong now = new AtomicLong();
+        final TerminalSessionStore store = TerminalSessionStores.treeMap();
+
+        final HibernatingTerminalServerContext context = HibernatingTerminalServerContext.with(
+            TIME_TO_IDLE,
+            now::get,
+            HIBERNATOR,
+            RESTORER,
+            store,
+            TerminalServerContexts.basic(
+                TerminalIds.sequence(1)
+            )
+        );
+
+        final TerminalContext terminalContext = context.addTerminalContext(TestTerminalContext::new);
+
+        now.set(TIME_TO_IDLE);
+
+        this.checkEquals(
+            Lists.empty(),
+            context.terminalContexts(
+                0,
+                Integer.MAX_VALUE
+            ),
+            "terminalContexts"
+        );
+        this.checkEquals(
+            true,
+            store.load(terminalContext.terminalId())
+                .isPresent(),
+            "hibernated"
+        );
+    }
+
+    @Test
+    public void testHibernateIdleOnlyIdle() {
+        final AtomicLong now = new AtomicLong();
+        final TerminalSessionStore store = TerminalSessionStores.treeMap();
+
+        final HibernatingTerminalServerContext context = HibernatingTerminalServerContext.with(
+            TIME_TO_IDLE,
+            now::get,
+            HIBERNATOR,
+            RESTORER,
+            store,
+            TerminalServerContexts.basic(
+                TerminalIds.sequence(1)
+            )
+        );
+
+        final TerminalContext fetched = context.addTerminalContext(TestTerminalContext::new);
+
+        now.set(TIME_TO_IDLE / 2);
+        final TerminalContext added = context.addTerminalContext(TestTerminalContext::new);
+
+        // fetched is queued ahead of added but refreshed after it
+        now.set(TIME_TO_IDLE - 1);
+        context.terminalContextOrFail(
+            fetched.terminalId()
+        );
+
+        now.set(TIME_TO_IDLE + TIME_TO_IDLE / 2);
+        context.hibernateIdle();
+
+        this.checkEquals(
+            true,
+            store.load(added.terminalId())
+                .isPresent(),
+            "added hibernated"
+        );
+        this.checkEquals(
+            Lists.of(fetched),
+            context.terminalContexts(
+                0,
+                Integer.MAX_VALUE
+            ),
+            "fetched kept"
+        );
+
+        now.set(2 * TIME_TO_IDLE);
+        context.hibernateIdle();
+
+        this.checkEquals(
+            true,
+            store.load(fetched.terminalId())
+                .isPresent(),
+            "fetched hibernated"
+        );
+    }
+
+    @Test
+    public void testSaveTerminalContext() {
+        final TerminalServerContext wrapped = TerminalServerContexts.basic(
+            TerminalIds.sequence(1)
+        );
+
+        final HibernatingTerminalServerContext context = HibernatingTerminalServerContext.with(
+            TIME_TO_IDLE,
+            NOW,
+            HIBERNATOR,
+            RESTORER,
+            TerminalSessionStores.treeMap(),
+            wrapped
+        );
+
+        final TerminalId terminalId = TerminalId.with(123);
+        final TerminalContext terminalContext = new TestTerminalContext(terminalId);
+
+        context.saveTerminalContext(terminalContext);
+
+        this.checkEquals(
+            Optional.of(terminalContext),
+            wrapped.terminalContext(terminalId)
+        );
+    }
+
+    @Override
+    public HibernatingTerminalServerContext createContext() {
+        return HibernatingTerminalServerContext.with(
+            TIME_TO_IDLE,
+            NOW,
+            HIBERNATOR,
+            RESTORER,
+            TerminalSessionStores.treeMap(),
+            TerminalServerContexts.basic(
+                () -> {
+                    throw new UnsupportedOperationException();
+                }
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TerminalServerContext context = TerminalServerContexts.fake();
+
+        this.toStringAndCheck(
+            HibernatingTerminalServerContext.with(
+                TIME_TO_IDLE,
+                NOW,
+                HIBERNATOR,
+                RESTORER,
+                TerminalSessionStores.fake(),
+                context
+            ),
+            context.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HibernatingTerminalServerContext> type() {
+        return HibernatingTerminalServerContext.class;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.io.TextReaders;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalContextTesting2;
+import walkingkooka.terminal.TerminalContexts;
+import walkingkooka.terminal.TerminalId;
+import walkingkooka.text.printer.Printers;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ListenerTerminalContextTest implements TerminalContextTesting2<ListenerTerminalContext>,
+    ToStringTesting<ListenerTerminalContext> {
+
+    private final static TerminalId TERMINAL_ID = TerminalId.parse("1");
+
+    private final static BiConsumer<TerminalContext, Object> CLOSED = (c, v) -> {
+        throw new UnsupportedOperationException();
+    };
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ListenerTerminalContext.with(
+                null,
+                CLOSED
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullClosedFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ListenerTerminalContext.with(
+                terminalContext(),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testExitTerminalOnce() {
+        final List<Object> closed = Lists.array();
+
+        final ListenerTerminalContext context = ListenerTerminalContext.with(
+            terminalContext(),
+            (c, v) -> closed.add(v)
+        );
+
+        context.exitTerminal("Bye");
+        context.exitTerminal("Again");
+
+        this.checkEquals(
+            Lists.of("Bye"),
+            closed
+        );
+    }
+
+    @Test
+    public void testExitTerminalCloneSharesClosed() {
+        final List<TerminalContext> closed = Lists.array();
+
+        final ListenerTerminalContext context = ListenerTerminalContext.with(
+            terminalContext(),
+            (c, v) -> closed.add(c)
+        );
+
+        final TerminalContext clone = context.cloneEnvironment();
+        clone.exitTerminal("Bye");
+        context.exitTerminal("Again");
+
+        this.checkEquals(
+            1,
+            closed.size(),
+            "closed"
+        );
+        assertSame(
+            clone,
+            closed.get(0)
+        );
+    }
+
+    @Test
+    public void testEvaluateExitFiresClosed() {
+        final List<Object> closed = Lists.array();
+        final boolean[] open = {true};
+
+        final ListenerTerminalContext context = ListenerTerminalContext.with(
+            TerminalContexts.basic(
+                TERMINAL_ID,
+                () -> open[0], // openTester
+                TextReaders.fake(), // input
+                Printers.fake(), // output
+                Printers.fake(), // error
+                (e, c) -> {
+                    c.exitTerminal(e); // like the exit function
+                    return null;
+                },
+                (v) -> open[0] = false,
+                STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment()
+            ),
+            (c, v) -> closed.add(v)
+        );
+
+        context.evaluate("Bye");
+
+        this.checkEquals(
+            Lists.of("Bye"),
+            closed
+        );
+        this.checkEquals(
+            false,
+            context.isTerminalOpen(),
+            "isTerminalOpen"
+        );
+    }
+
+    @Test
+    public void testMarkRemoved() {
+        final ListenerTerminalContext context = this.createContext();
+
+        this.checkEquals(
+            true,
+            context.markRemoved(),
+            "first"
+        );
+        this.checkEquals(
+            false,
+            context.markRemoved(),
+            "second"
+        );
+    }
+
+    @Test
+    public void testTerminalId() {
+        this.terminalIdAndCheck(
+            this.createContext(),
+            TERMINAL_ID
+        );
+    }
+
+    @Override
+    public ListenerTerminalContext createContext() {
+        return ListenerTerminalContext.with(
+            terminalContext(),
+            CLOSED
+        );
+    }
+
+    private static TerminalContext terminalContext() {
+        final boolean[] open = {true};
+
+        return TerminalContexts.basic(
+            TERMINAL_ID,
+            () -> open[0], // openTester
+            TextReaders.fake(), // input
+            Printers.fake(), // output
+            Printers.fake(), // error
+            (e, c) -> "evaluated-" + e,
+            (v) -> open[0] = false,
+            STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment()
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TerminalContext context = terminalContext();
+
+        this.toStringAndCheck(
+            ListenerTerminalContext.with(
+                context,
+                CLOSED
+            ),
+            context.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<ListenerTerminalContext> type() {
+        return ListenerTerminalContext.class;
+    }
+}
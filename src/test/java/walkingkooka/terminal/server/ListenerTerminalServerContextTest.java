@@ -0,0 +1,205 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalIds;
+import walkingkooka.terminal.server.DrainingTerminalServerContextTest.TestTerminalContext;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ListenerTerminalServerContextTest implements TerminalServerContextTesting2<ListenerTerminalServerContext>,
+    ToStringTesting<ListenerTerminalServerContext> {
+
+    private final static TerminalServerContextListener LISTENER = new TerminalServerContextListener() {
+    };
+
+    private final static Executor EXECUTOR = Runnable::run;
+
+    @Test
+    public void testWithNullListenerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ListenerTerminalServerContext.with(
+                null,
+                EXECUTOR,
+                TerminalServerContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ListenerTerminalServerContext.with(
+                LISTENER,
+                null,
+                TerminalServerContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ListenerTerminalServerContext.with(
+                LISTENER,
+                EXECUTOR,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testAddExitRemoveEvents() {
+        final List<String> events = Lists.array();
+
+        final ListenerTerminalServerContext context = ListenerTerminalServerContext.with(
+            new TestTerminalServerContextListener(events),
+            EXECUTOR,
+            TerminalServerContexts.basic(
+                TerminalIds.sequence(1)
+            )
+        );
+
+        final TerminalContext terminalContext = context.addTerminalContext(TestTerminalContext::new);
+
+        this.checkEquals(
+            Lists.of("added 1"),
+            events,
+            "added"
+        );
+
+        terminalContext.exitTerminal("Bye");
+        terminalContext.exitTerminal("Again");
+
+        this.checkEquals(
+            Lists.of("added 1", "closed 1 Bye"),
+            events,
+            "closed"
+        );
+
+        context.removeTerminalContext(terminalContext.terminalId());
+        context.removeTerminalContext(terminalContext.terminalId());
+
+        this.checkEquals(
+            Lists.of("added 1", "closed 1 Bye", "removed 1"),
+            events,
+            "removed"
+        );
+    }
+
+    @Test
+    public void testEventsUseExecutor() {
+        final List<String> events = Lists.array();
+        final List<Runnable> submitted = Lists.array();
+
+        final ListenerTerminalServerContext context = ListenerTerminalServerContext.with(
+            new TestTerminalServerContextListener(events),
+            submitted::add,
+            TerminalServerContexts.basic(
+                TerminalIds.sequence(1)
+            )
+        );
+
+        context.addTerminalContext(TestTerminalContext::new);
+
+        this.checkEquals(
+            Lists.empty(),
+            events,
+            "events before executor ran"
+        );
+
+        submitted.forEach(Runnable::run);
+
+        this.checkEquals(
+            Lists.of("added 1"),
+            events,
+            "events after executor ran"
+        );
+    }
+
+    private static class TestTerminalServerContextListener implements TerminalServerContextListener {
+
+        TestTerminalServerContextListener(final List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void terminalContextAdded(final TerminalContext terminalContext) {
+            this.events.add("added " + terminalContext.terminalId());
+        }
+
+        @Override
+        public void terminalContextClosed(final TerminalContext terminalContext,
+                                          final Object exitValue) {
+            this.events.add("closed " + terminalContext.terminalId() + " " + exitValue);
+        }
+
+        @Override
+        public void terminalContextRemoved(final TerminalContext terminalContext) {
+            this.events.add("removed " + terminalContext.terminalId());
+        }
+
+        private final List<String> events;
+    }
+
+    @Override
+    public ListenerTerminalServerContext createContext() {
+        return ListenerTerminalServerContext.with(
+            LISTENER,
+            EXECUTOR,
+            TerminalServerContexts.basic(
+                () -> {
+                    throw new UnsupportedOperationException();
+                }
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TerminalServerContext context = TerminalServerContexts.fake();
+
+        this.toStringAndCheck(
+            ListenerTerminalServerContext.with(
+                LISTENER,
+                EXECUTOR,
+                context
+            ),
+            context.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<ListenerTerminalServerContext> type() {
+        return ListenerTerminalServerContext.class;
+    }
+}
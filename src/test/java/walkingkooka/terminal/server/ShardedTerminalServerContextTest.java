@@ -0,0 +1,254 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+import walkingkooka.terminal.server.BasicTerminalServerContextTest.TestTerminalContext;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ShardedTerminalServerContextTest implements TerminalServerContextTesting2<ShardedTerminalServerContext>,
+    ToStringTesting<ShardedTerminalServerContext> {
+
+    private final static int STRIPE_COUNT = 4;
+
+    @Test
+    public void testWithZeroStripeCountFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> ShardedTerminalServerContext.with(0)
+        );
+
+        this.checkEquals(
+            "Invalid stripeCount 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testAddTerminalContextUniqueTerminalIds() throws Exception {
+        final ShardedTerminalServerContext context = this.createContext();
+        final Set<TerminalId> terminalIds = ConcurrentHashMap.newKeySet();
+
+        final int threadCount = STRIPE_COUNT * 2;
+        final int count = 100;
+        final Thread[] threads = new Thread[threadCount];
+
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(
+                () -> {
+                    for (int j = 0; j < count; j++) {
+                        terminalIds.add(
+                            context.addTerminalContext(TestTerminalContext::new)
+                                .terminalId()
+                        );
+                    }
+                }
+            );
+            threads[i].start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        this.checkEquals(
+            threadCount * count,
+            terminalIds.size(),
+            "unique terminalIds"
+        );
+
+        for (final TerminalId terminalId : terminalIds) {
+            this.checkEquals(
+                terminalId,
+                context.terminalContextOrFail(terminalId)
+                    .terminalId()
+            );
+        }
+    }
+
+    @Test
+    public void testAddTerminalContextSingleThreadSpreadsAcrossStripes() {
+        final ShardedTerminalServerContext context = this.createContext();
+
+        final Set<Long> stripes = new TreeSet<>();
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes.add(
+                context.addTerminalContext(TestTerminalContext::new)
+                    .terminalId()
+                    .longValue() % STRIPE_COUNT
+            );
+        }
+
+        this.checkEquals(
+            STRIPE_COUNT,
+            stripes.size(),
+            "stripes used " + stripes
+        );
+    }
+
+    @Test
+    public void testTerminalContextUnknown() {
+        this.checkEquals(
+            Optional.empty(),
+            this.createContext()
+                .terminalContext(
+                    TerminalId.with(404)
+                )
+        );
+    }
+
+    @Test
+    public void testSaveTerminalContext() {
+        final ShardedTerminalServerContext context = this.createContext();
+
+        final TerminalId terminalId = TerminalId.with(123);
+        final TerminalContext terminalContext = new TestTerminalContext(terminalId);
+
+        context.saveTerminalContext(terminalContext);
+
+        this.checkEquals(
+            Optional.of(terminalContext),
+            context.terminalContext(terminalId)
+        );
+    }
+
+    @Test
+    public void testRemoveTerminalContext() {
+        final ShardedTerminalServerContext context = this.createContext();
+
+        final TerminalContext terminalContext = context.addTerminalContext(TestTerminalContext::new);
+        final TerminalId terminalId = terminalContext.terminalId();
+
+        this.checkEquals(
+            Optional.of(terminalContext),
+            context.terminalContext(terminalId)
+        );
+
+        context.removeTerminalContext(terminalId);
+
+        this.checkEquals(
+            Optional.empty(),
+            context.terminalContext(terminalId)
+        );
+    }
+
+    // terminalContexts.................................................................................................
+
+    @Test
+    public void testTerminalContextsWithNegativeOffsetFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createContext()
+                .terminalContexts(-1, 1)
+        );
+    }
+
+    @Test
+    public void testTerminalContextsSortedAcrossStripes() {
+        final ShardedTerminalServerContext context = this.createContext();
+
+        final List<TerminalId> terminalIds = Lists.array();
+        for (int i = 0; i < STRIPE_COUNT * 3; i++) {
+            terminalIds.add(
+                context.addTerminalContext(TestTerminalContext::new)
+                    .terminalId()
+            );
+        }
+        terminalIds.sort(Comparator.naturalOrder());
+
+        final List<TerminalId> listed = Lists.array();
+        for (final TerminalContext terminalContext : context.terminalContexts(0, Integer.MAX_VALUE)) {
+            listed.add(terminalContext.terminalId());
+        }
+
+        this.checkEquals(
+            terminalIds,
+            listed,
+            "all"
+        );
+
+        final List<TerminalId> page = Lists.array();
+        for (final TerminalContext terminalContext : context.terminalContexts(2, 3)) {
+            page.add(terminalContext.terminalId());
+        }
+
+        this.checkEquals(
+            terminalIds.subList(2, 5),
+            page,
+            "page"
+        );
+    }
+
+    @Test
+    public void testTerminalContextsOffsetAndCountMaxValue() {
+        final ShardedTerminalServerContext context = this.createContext();
+
+        final List<TerminalId> terminalIds = Lists.array();
+        for (int i = 0; i < STRIPE_COUNT * 2; i++) {
+            terminalIds.add(
+                context.addTerminalContext(TestTerminalContext::new)
+                    .terminalId()
+            );
+        }
+        terminalIds.sort(Comparator.naturalOrder());
+
+        final List<TerminalId> page = Lists.array();
+        for (final TerminalContext terminalContext : context.terminalContexts(1, Integer.MAX_VALUE)) {
+            page.add(terminalContext.terminalId());
+        }
+
+        this.checkEquals(
+            terminalIds.subList(1, terminalIds.size()),
+            page
+        );
+    }
+
+    @Override
+    public ShardedTerminalServerContext createContext() {
+        return ShardedTerminalServerContext.with(STRIPE_COUNT);
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createContext(),
+            "ShardedTerminalServerContext 4"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<ShardedTerminalServerContext> type() {
+        return ShardedTerminalServerContext.class;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.storage.FakeStorage;
+import walkingkooka.storage.FakeStorageContext;
+import walkingkooka.storage.Storage;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValue;
+import walkingkooka.terminal.TerminalId;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageTerminalSessionStoreTest implements ClassTesting2<StorageTerminalSessionStore<FakeStorageContext>>,
+    ToStringTesting<StorageTerminalSessionStore<FakeStorageContext>> {
+
+    private final static TerminalId TERMINAL_ID = TerminalId.with(1);
+
+    private final static StoragePath DIRECTORY = StoragePath.parse("/sessions");
+
+    private final static FakeStorageContext CONTEXT = new FakeStorageContext();
+
+    private final static TerminalSession SESSION = TerminalSession.with(
+        TERMINAL_ID,
+        Maps.empty(),
+        0,
+        ""
+    );
+
+    @Test
+    public void testWithNullStorageFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageTerminalSessionStore.with(
+                null,
+                DIRECTORY,
+                CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullDirectoryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageTerminalSessionStore.with(
+                new TestStorage(),
+                null,
+                CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageTerminalSessionStore.with(
+                new TestStorage(),
+                DIRECTORY,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testSaveNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createStore(new TestStorage())
+                .save(null)
+        );
+    }
+
+    @Test
+    public void testLoadNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createStore(new TestStorage())
+                .load(null)
+        );
+    }
+
+    @Test
+    public void testDeleteNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createStore(new TestStorage())
+                .delete(null)
+        );
+    }
+
+    @Test
+    public void testLoadMissing() {
+        this.checkEquals(
+            Optional.empty(),
+            this.createStore(new TestStorage())
+                .load(TERMINAL_ID)
+        );
+    }
+
+    @Test
+    public void testSaveLoadDelete() {
+        final TestStorage storage = new TestStorage();
+        final StorageTerminalSessionStore<FakeStorageContext> store = this.createStore(storage);
+
+        store.save(SESSION);
+
+        this.checkEquals(
+            Optional.of(SESSION),
+            storage.pathToValue.get(
+                store.path(TERMINAL_ID)
+            ),
+            "saved to storage"
+        );
+        this.checkEquals(
+            Optional.of(SESSION),
+            store.load(TERMINAL_ID),
+            "load"
+        );
+
+        store.delete(TERMINAL_ID);
+
+        this.checkEquals(
+            Optional.empty(),
+            store.load(TERMINAL_ID),
+            "load after delete"
+        );
+    }
+
+    @Test
+    public void testPath() {
+        this.checkEquals(
+            StoragePath.parse("/sessions/" + TERMINAL_ID),
+            this.createStore(new TestStorage())
+                .path(TERMINAL_ID)
+        );
+    }
+
+    private StorageTerminalSessionStore<FakeStorageContext> createStore(final Storage<FakeStorageContext> storage) {
+        return StorageTerminalSessionStore.with(
+            storage,
+            DIRECTORY,
+            CONTEXT
+        );
+    }
+
+    /**
+     * A {@link Storage} that keeps values in a {@link TreeMap}.
+     */
+    final static class TestStorage extends FakeStorage<FakeStorageContext> {
+
+        @Override
+        public Optional<StorageValue> load(final StoragePath path,
+                                           final FakeStorageContext context) {
+            final Optional<?> value = this.pathToValue.get(path);
+            return Optional.ofNullable(
+                null == value ?
+                    null :
+                    StorageValue.with(
+                        path,
+                        value
+                    )
+            );
+        }
+
+        @Override
+        public StorageValue save(final StorageValue value,
+                                 final FakeStorageContext context) {
+            this.pathToValue.put(
+                value.path(),
+                value.value()
+            );
+            return value;
+        }
+
+        @Override
+        public void delete(final StoragePath path,
+                           final FakeStorageContext context) {
+            this.pathToValue.remove(path);
+        }
+
+        final Map<StoragePath, Optional<?>> pathToValue = new TreeMap<>();
+
+        @Override
+        public String toString() {
+            return "TestStorage";
+        }
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createStore(new TestStorage()),
+            "TestStorage /sessions"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageTerminalSessionStore<FakeStorageContext>> type() {
+        return Cast.to(StorageTerminalSessionStore.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+import walkingkooka.terminal.server.BasicTerminalServerContextTest.TestTerminalContext;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class TerminalContextLongMapTest implements ClassTesting2<TerminalContextLongMap>,
+    ToStringTesting<TerminalContextLongMap> {
+
+    @Test
+    public void testGetEmpty() {
+        this.getAndCheck(
+            TerminalContextLongMap.empty(),
+            1,
+            null
+        );
+    }
+
+    @Test
+    public void testPutIfAbsentAndGet() {
+        final TerminalContextLongMap map = TerminalContextLongMap.empty();
+        final TerminalContext value = terminalContext(1);
+
+        this.checkEquals(
+            null,
+            map.putIfAbsent(1, value)
+        );
+
+        this.getAndCheck(
+            map,
+            1,
+            value
+        );
+        this.checkEquals(
+            1,
+            map.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testPutIfAbsentExisting() {
+        final TerminalContextLongMap map = TerminalContextLongMap.empty();
+        final TerminalContext value = terminalContext(1);
+
+        map.putIfAbsent(1, value);
+
+        assertSame(
+            value,
+            map.putIfAbsent(
+                1,
+                terminalContext(1)
+            )
+        );
+    }
+
+    @Test
+    public void testRemove() {
+        final TerminalContextLongMap map = TerminalContextLongMap.empty();
+        final TerminalContext value = terminalContext(1);
+
+        map.putIfAbsent(1, value);
+
+        assertSame(
+            value,
+            map.remove(1)
+        );
+        this.getAndCheck(
+            map,
+            1,
+            null
+        );
+        this.checkEquals(
+            null,
+            map.remove(1),
+            "remove again"
+        );
+    }
+
+    @Test
+    public void testValues() {
+        final TerminalContextLongMap map = TerminalContextLongMap.empty();
+
+        final Set<TerminalContext> expected = new HashSet<>();
+        for (int i = 1; i <= 100; i++) {
+            final TerminalContext value = terminalContext(i);
+            map.putIfAbsent(i, value);
+            expected.add(value);
+        }
+
+        expected.remove(
+            map.remove(50)
+        );
+
+        final TerminalContext[] values = map.values();
+        this.checkEquals(
+            99,
+            values.length,
+            "length"
+        );
+        this.checkEquals(
+            expected,
+            new HashSet<>(
+                Arrays.asList(values)
+            ),
+            "values"
+        );
+    }
+
+    @Test
+    public void testManyPutRemoveGet() {
+        final TerminalContextLongMap map = TerminalContextLongMap.empty();
+        final TerminalContext[] values = new TerminalContext[5000];
+
+        final Random random = new Random(1);
+        final long[] keys = new long[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = random.nextLong();
+            values[i] = terminalContext(keys[i]);
+            map.putIfAbsent(keys[i], values[i]);
+        }
+
+        // remove every other key, which exercises backward shift deletion
+        for (int i = 0; i < values.length; i += 2) {
+            assertSame(
+                values[i],
+                map.remove(keys[i])
+            );
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            this.getAndCheck(
+                map,
+                keys[i],
+                0 == i % 2 ?
+                    null :
+                    values[i]
+            );
+        }
+
+        this.checkEquals(
+            values.length / 2,
+            map.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testStridedKeys() {
+        final TerminalContextLongMap map = TerminalContextLongMap.empty();
+        final int stride = 16;
+        final int count = 1000;
+
+        for (int i = 0; i < count; i++) {
+            map.putIfAbsent(
+                i * stride,
+                terminalContext(i * stride)
+            );
+        }
+
+        for (int i = 0; i < count; i++) {
+            this.checkEquals(
+                TerminalId.with(i * stride),
+                map.get(i * stride)
+                    .terminalId()
+            );
+        }
+    }
+
+    private void getAndCheck(final TerminalContextLongMap map,
+                             final long key,
+                             final TerminalContext expected) {
+        assertSame(
+            expected,
+            map.get(key),
+            () -> "get " + key
+        );
+    }
+
+    private static TerminalContext terminalContext(final long value) {
+        return new TestTerminalContext(
+            TerminalId.with(value)
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TerminalContextLongMap map = TerminalContextLongMap.empty();
+        map.putIfAbsent(1, terminalContext(1));
+        map.putIfAbsent(2, terminalContext(2));
+
+        this.toStringAndCheck(
+            map,
+            "TerminalContextLongMap 2"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TerminalContextLongMap> type() {
+        return TerminalContextLongMap.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
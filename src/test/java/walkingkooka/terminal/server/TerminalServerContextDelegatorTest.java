@@ -17,16 +17,51 @@
 
 package walkingkooka.terminal.server;
 
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.terminal.FakeTerminalContext;
 import walkingkooka.terminal.TerminalContext;
 import walkingkooka.terminal.TerminalId;
 import walkingkooka.terminal.server.TerminalServerContextDelegatorTest.TestTerminalServerContext;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 
 public final class TerminalServerContextDelegatorTest implements TerminalServerContextTesting2<TestTerminalServerContext> {
 
+    @Test
+    public void testTerminalContextLongUsesTerminalContextTerminalId() {
+        final TerminalContext terminalContext = new FakeTerminalContext();
+        final List<TerminalId> lookups = Lists.array();
+
+        final TerminalServerContextDelegator context = new TerminalServerContextDelegator() {
+
+            @Override
+            public Optional<TerminalContext> terminalContext(final TerminalId id) {
+                lookups.add(id);
+                return Optional.of(terminalContext);
+            }
+
+            @Override
+            public TerminalServerContext terminalServerContext() {
+                return TerminalServerContexts.fake();
+            }
+        };
+
+        this.checkEquals(
+            Optional.of(terminalContext),
+            context.terminalContext(123L)
+        );
+        this.checkEquals(
+            Lists.of(
+                TerminalId.with(123)
+            ),
+            lookups
+        );
+    }
+
     @Override
     public TestTerminalServerContext createContext() {
         return new TestTerminalServerContext();
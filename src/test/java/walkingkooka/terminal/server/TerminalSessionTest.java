@@ -0,0 +1,217 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.terminal.TerminalId;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TerminalSessionTest implements ClassTesting2<TerminalSession>,
+    HashCodeEqualsDefinedTesting2<TerminalSession>,
+    ToStringTesting<TerminalSession> {
+
+    private final static TerminalId TERMINAL_ID = TerminalId.with(1);
+
+    private final static EnvironmentValueName<String> NAME = EnvironmentValueName.with(
+        "magic",
+        String.class
+    );
+
+    private final static Map<EnvironmentValueName<?>, Object> ENVIRONMENT_VALUES = Maps.of(
+        NAME,
+        "value123"
+    );
+
+    private final static long SCROLLBACK_POSITION = 100;
+
+    private final static String SCROLLBACK = "Hello";
+
+    @Test
+    public void testWithNullTerminalIdFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TerminalSession.with(
+                null,
+                ENVIRONMENT_VALUES,
+                SCROLLBACK_POSITION,
+                SCROLLBACK
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullEnvironmentValuesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TerminalSession.with(
+                TERMINAL_ID,
+                null,
+                SCROLLBACK_POSITION,
+                SCROLLBACK
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullScrollbackFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TerminalSession.with(
+                TERMINAL_ID,
+                ENVIRONMENT_VALUES,
+                SCROLLBACK_POSITION,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWithScrollbackPositionLessThanScrollbackFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TerminalSession.with(
+                TERMINAL_ID,
+                ENVIRONMENT_VALUES,
+                4,
+                SCROLLBACK
+            )
+        );
+
+        this.checkEquals(
+            "Invalid scrollbackPosition 4 < 5",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWith() {
+        final TerminalSession session = this.createObject();
+
+        this.checkEquals(
+            TERMINAL_ID,
+            session.terminalId(),
+            "terminalId"
+        );
+        this.checkEquals(
+            ENVIRONMENT_VALUES,
+            session.environmentValues(),
+            "environmentValues"
+        );
+        this.checkEquals(
+            SCROLLBACK_POSITION,
+            session.scrollbackPosition(),
+            "scrollbackPosition"
+        );
+        this.checkEquals(
+            SCROLLBACK,
+            session.scrollback(),
+            "scrollback"
+        );
+    }
+
+    // hashCode/equals..................................................................................................
+
+    @Test
+    public void testEqualsDifferentTerminalId() {
+        this.checkNotEquals(
+            TerminalSession.with(
+                TerminalId.with(2),
+                ENVIRONMENT_VALUES,
+                SCROLLBACK_POSITION,
+                SCROLLBACK
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentEnvironmentValues() {
+        this.checkNotEquals(
+            TerminalSession.with(
+                TERMINAL_ID,
+                Maps.empty(),
+                SCROLLBACK_POSITION,
+                SCROLLBACK
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentScrollbackPosition() {
+        this.checkNotEquals(
+            TerminalSession.with(
+                TERMINAL_ID,
+                ENVIRONMENT_VALUES,
+                SCROLLBACK_POSITION + 1,
+                SCROLLBACK
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentScrollback() {
+        this.checkNotEquals(
+            TerminalSession.with(
+                TERMINAL_ID,
+                ENVIRONMENT_VALUES,
+                SCROLLBACK_POSITION,
+                "different"
+            )
+        );
+    }
+
+    @Override
+    public TerminalSession createObject() {
+        return TerminalSession.with(
+            TERMINAL_ID,
+            ENVIRONMENT_VALUES,
+            SCROLLBACK_POSITION,
+            SCROLLBACK
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            TERMINAL_ID + " {magic=value123} 100"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TerminalSession> type() {
+        return TerminalSession.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
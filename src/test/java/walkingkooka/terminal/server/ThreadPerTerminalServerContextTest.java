@@ -0,0 +1,290 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.io.TextReader;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.terminal.FakeTerminalContext;
+import walkingkooka.terminal.TerminalContext;
+import walkingkooka.terminal.TerminalId;
+import walkingkooka.terminal.TerminalTextReader;
+import walkingkooka.terminal.TerminalTextReaders;
+import walkingkooka.terminal.server.BasicTerminalServerContextTest.TestTerminalContext;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ThreadPerTerminalServerContextTest implements TerminalServerContextTesting2<ThreadPerTerminalServerContext>,
+    ToStringTesting<ThreadPerTerminalServerContext> {
+
+    private final static Consumer<TerminalContext> RUNNER = (c) -> {
+        throw new UnsupportedOperationException();
+    };
+
+    private final static TerminalId TERMINAL_ID = TerminalId.with(1);
+
+    @Test
+    public void testWithNullRunnerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ThreadPerTerminalServerContext.with(
+                null,
+                TerminalServerContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ThreadPerTerminalServerContext.with(
+                RUNNER,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testAddTerminalContextRunsRunner() throws Exception {
+        final CountDownLatch ran = new CountDownLatch(1);
+        final TerminalContext[] ranWith = new TerminalContext[1];
+
+        final ThreadPerTerminalServerContext context = ThreadPerTerminalServerContext.with(
+            (c) -> {
+                ranWith[0] = c;
+                ran.countDown();
+            },
+            TerminalServerContexts.basic(
+                () -> TERMINAL_ID
+            )
+        );
+
+        final TerminalContext terminalContext = context.addTerminalContext(TestTerminalContext::new);
+
+        this.checkEquals(
+            true,
+            ran.await(5, TimeUnit.SECONDS),
+            "runner not executed"
+        );
+        assertSame(
+            terminalContext,
+            ranWith[0]
+        );
+    }
+
+    @Test
+    public void testRemoveTerminalContextInterruptsThread() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        final ThreadPerTerminalServerContext context = ThreadPerTerminalServerContext.with(
+            (c) -> {
+                started.countDown();
+                try {
+                    Thread.sleep(Long.MAX_VALUE);
+                } catch (final InterruptedException expected) {
+                    interrupted.countDown();
+                }
+            },
+            TerminalServerContexts.basic(
+                () -> TERMINAL_ID
+            )
+        );
+
+        context.addTerminalContext(OpenTerminalContext::new);
+        this.checkEquals(
+            true,
+            started.await(5, TimeUnit.SECONDS),
+            "runner not started"
+        );
+        this.checkEquals(
+            1,
+            context.threadCount(),
+            "threadCount"
+        );
+
+        context.removeTerminalContext(TERMINAL_ID);
+
+        this.checkEquals(
+            true,
+            interrupted.await(5, TimeUnit.SECONDS),
+            "runner not interrupted"
+        );
+        this.checkEquals(
+            0,
+            context.threadCount(),
+            "threadCount"
+        );
+        this.checkEquals(
+            false,
+            context.terminalContext(TERMINAL_ID)
+                .isPresent(),
+            "terminalContext removed"
+        );
+    }
+
+    @Test
+    public void testRemoveTerminalContextExitsTerminalAndClosesInput() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+
+        final ThreadPerTerminalServerContext context = ThreadPerTerminalServerContext.with(
+            (c) -> {
+                started.countDown();
+
+                final TerminalTextReader input = (TerminalTextReader) c.input();
+                while (false == input.isInputClosed()) {
+                    input.readLine(Long.MAX_VALUE);
+                }
+                finished.countDown();
+            },
+            TerminalServerContexts.basic(
+                () -> TERMINAL_ID
+            )
+        );
+
+        final OpenTerminalContext terminalContext = (OpenTerminalContext) context.addTerminalContext(OpenTerminalContext::new);
+        this.checkEquals(
+            true,
+            started.await(5, TimeUnit.SECONDS),
+            "runner not started"
+        );
+
+        context.removeTerminalContext(TERMINAL_ID);
+
+        this.checkEquals(
+            true,
+            finished.await(5, TimeUnit.SECONDS),
+            "runner not finished"
+        );
+        this.checkEquals(
+            false,
+            terminalContext.isTerminalOpen(),
+            "isTerminalOpen"
+        );
+    }
+
+    @Test
+    public void testRunnerFinishedRemovesTerminalContext() throws Exception {
+        final ThreadPerTerminalServerContext context = ThreadPerTerminalServerContext.with(
+            (c) -> {
+            },
+            TerminalServerContexts.basic(
+                () -> TERMINAL_ID
+            )
+        );
+
+        context.addTerminalContext(OpenTerminalContext::new);
+
+        for (int i = 0; i < 500 && context.terminalContext(TERMINAL_ID).isPresent(); i++) {
+            Thread.sleep(10);
+        }
+
+        this.checkEquals(
+            false,
+            context.terminalContext(TERMINAL_ID)
+                .isPresent(),
+            "terminalContext removed"
+        );
+        this.checkEquals(
+            0,
+            context.threadCount(),
+            "threadCount"
+        );
+    }
+
+    final static class OpenTerminalContext extends FakeTerminalContext {
+
+        OpenTerminalContext(final TerminalId terminalId) {
+            this.terminalId = terminalId;
+        }
+
+        @Override
+        public TerminalId terminalId() {
+            return this.terminalId;
+        }
+
+        private final TerminalId terminalId;
+
+        @Override
+        public Optional<EmailAddress> user() {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean isTerminalOpen() {
+            return this.open;
+        }
+
+        private volatile boolean open = true;
+
+        @Override
+        public TextReader input() {
+            return this.input;
+        }
+
+        private final TerminalTextReader input = TerminalTextReaders.blocking();
+
+        @Override
+        public void exitTerminal(final Object value) {
+            this.open = false;
+        }
+    }
+
+    @Override
+    public ThreadPerTerminalServerContext createContext() {
+        return ThreadPerTerminalServerContext.with(
+            RUNNER,
+            TerminalServerContexts.basic(
+                () -> {
+                    throw new UnsupportedOperationException();
+                }
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TerminalServerContext context = TerminalServerContexts.fake();
+
+        this.toStringAndCheck(
+            ThreadPerTerminalServerContext.with(
+                RUNNER,
+                context
+            ),
+            context.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<ThreadPerTerminalServerContext> type() {
+        return ThreadPerTerminalServerContext.class;
+    }
+}
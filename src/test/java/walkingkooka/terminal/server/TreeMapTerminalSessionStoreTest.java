@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.terminal.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.terminal.TerminalId;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TreeMapTerminalSessionStoreTest implements ClassTesting2<TreeMapTerminalSessionStore>,
+    ToStringTesting<TreeMapTerminalSessionStore> {
+
+    private final static TerminalId TERMINAL_ID = TerminalId.with(1);
+
+    private final static TerminalSession SESSION = TerminalSession.with(
+        TERMINAL_ID,
+        Maps.empty(),
+        0,
+        ""
+    );
+
+    @Test
+    public void testSaveNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TreeMapTerminalSessionStore.empty()
+                .save(null)
+        );
+    }
+
+    @Test
+    public void testLoadNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TreeMapTerminalSessionStore.empty()
+                .load(null)
+        );
+    }
+
+    @Test
+    public void testDeleteNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TreeMapTerminalSessionStore.empty()
+                .delete(null)
+        );
+    }
+
+    @Test
+    public void testLoadMissing() {
+        this.checkEquals(
+            Optional.empty(),
+            TreeMapTerminalSessionStore.empty()
+                .load(TERMINAL_ID)
+        );
+    }
+
+    @Test
+    public void testSaveLoadDelete() {
+        final TreeMapTerminalSessionStore store = TreeMapTerminalSessionStore.empty();
+        store.save(SESSION);
+
+        this.checkEquals(
+            Optional.of(SESSION),
+            store.load(TERMINAL_ID),
+            "load"
+        );
+
+        store.delete(TERMINAL_ID);
+
+        this.checkEquals(
+            Optional.empty(),
+            store.load(TERMINAL_ID),
+            "load after delete"
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TreeMapTerminalSessionStore store = TreeMapTerminalSessionStore.empty();
+        store.save(SESSION);
+
+        this.toStringAndCheck(
+            store,
+            "[" + TERMINAL_ID + "]"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TreeMapTerminalSessionStore> type() {
+        return TreeMapTerminalSessionStore.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
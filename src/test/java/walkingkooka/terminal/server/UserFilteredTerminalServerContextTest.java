@@ -19,14 +19,18 @@ package walkingkooka.terminal.server;
 
 import org.junit.jupiter.api.Test;
 import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.net.email.EmailAddress;
 import walkingkooka.predicate.Predicates;
 import walkingkooka.terminal.FakeTerminalContext;
 import walkingkooka.terminal.TerminalContext;
 import walkingkooka.terminal.TerminalId;
+import walkingkooka.terminal.TerminalIds;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -216,6 +220,325 @@ public final class UserFilteredTerminalServerContextTest implements TerminalServ
         );
     }
 
+    // terminalContexts.................................................................................................
+
+    @Test
+    public void testTerminalContextsFiltersBeforePaging() {
+        final TerminalServerContext wrapped = TerminalServerContexts.basic(TerminalIds.sequence(1));
+
+        final TerminalContext terminalContext1 = wrapped.addTerminalContext(userTerminalContext(USER));
+        wrapped.addTerminalContext(userTerminalContext(DIFFERENT_USER));
+        final TerminalContext terminalContext3 = wrapped.addTerminalContext(userTerminalContext(USER));
+        wrapped.addTerminalContext(userTerminalContext(DIFFERENT_USER));
+        final TerminalContext terminalContext5 = wrapped.addTerminalContext(userTerminalContext(USER));
+
+        final UserFilteredTerminalServerContext context = UserFilteredTerminalServerContext.with(
+            (u) -> u.equals(USER),
+            wrapped
+        );
+
+        this.checkEquals(
+            Lists.of(
+                terminalContext1,
+                terminalContext3,
+                terminalContext5
+            ),
+            context.terminalContexts(0, 10),
+            "all"
+        );
+        this.checkEquals(
+            Lists.of(
+                terminalContext3,
+                terminalContext5
+            ),
+            context.terminalContexts(1, 2),
+            "page"
+        );
+    }
+
+    @Test
+    public void testTerminalContextsFetchesWrappedPageAtATime() {
+        final TerminalServerContext basic = TerminalServerContexts.basic(TerminalIds.sequence(1));
+        final List<TerminalContext> visible = Lists.array();
+
+        for (int i = 0; i < UserFilteredTerminalServerContext.MAX_PAGE_SIZE * 3; i++) {
+            final TerminalContext terminalContext = basic.addTerminalContext(
+                userTerminalContext(
+                    0 == i % 2 ?
+                        USER :
+                        DIFFERENT_USER
+                )
+            );
+            if (0 == i % 2) {
+                visible.add(terminalContext);
+            }
+        }
+
+        final List<Integer> counts = Lists.array();
+        final TerminalServerContext wrapped = new TerminalServerContextDelegator() {
+
+            @Override
+            public List<TerminalContext> terminalContexts(final int offset,
+                                                          final int count) {
+                counts.add(count);
+                return basic.terminalContexts(
+                    offset,
+                    count
+                );
+            }
+
+            @Override
+            public TerminalServerContext terminalServerContext() {
+                return basic;
+            }
+        };
+
+        // every other terminal is visible, so the page starts in the third wrapped page
+        final int offset = UserFilteredTerminalServerContext.MAX_PAGE_SIZE;
+        this.checkEquals(
+            visible.subList(
+                offset,
+                offset + 10
+            ),
+            UserFilteredTerminalServerContext.with(
+                (u) -> u.equals(USER),
+                wrapped
+            ).terminalContexts(
+                offset,
+                10
+            ),
+            "page"
+        );
+        this.checkEquals(
+            Lists.of(
+                UserFilteredTerminalServerContext.MAX_PAGE_SIZE,
+                UserFilteredTerminalServerContext.MAX_PAGE_SIZE,
+                UserFilteredTerminalServerContext.MAX_PAGE_SIZE
+            ),
+            counts,
+            "wrapped counts"
+        );
+    }
+
+    // userTerminalContexts.............................................................................................
+
+    @Test
+    public void testUserTerminalContextsWithNullUserFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createContext()
+                .userTerminalContexts(null)
+        );
+    }
+
+    @Test
+    public void testUserTerminalContextsNone() {
+        this.userTerminalContextsAndCheck(
+            UserFilteredTerminalServerContext.with(
+                (u) -> true,
+                TerminalServerContexts.basic(TerminalIds.sequence(1))
+            ),
+            USER
+        );
+    }
+
+    @Test
+    public void testUserTerminalContexts() {
+        final UserFilteredTerminalServerContext context = UserFilteredTerminalServerContext.with(
+            (u) -> true,
+            TerminalServerContexts.basic(TerminalIds.sequence(1))
+        );
+
+        final TerminalContext terminalContext1 = context.addTerminalContext(userTerminalContext(USER));
+        context.addTerminalContext(userTerminalContext(DIFFERENT_USER));
+        final TerminalContext terminalContext3 = context.addTerminalContext(userTerminalContext(USER));
+
+        this.userTerminalContextsAndCheck(
+            context,
+            USER,
+            terminalContext1,
+            terminalContext3
+        );
+    }
+
+    @Test
+    public void testUserTerminalContextsFilteredUser() {
+        final UserFilteredTerminalServerContext context = UserFilteredTerminalServerContext.with(
+            (u) -> u.equals(USER),
+            TerminalServerContexts.basic(TerminalIds.sequence(1))
+        );
+
+        context.addTerminalContext(userTerminalContext(USER));
+
+        this.userTerminalContextsAndCheck(
+            context,
+            DIFFERENT_USER
+        );
+    }
+
+    @Test
+    public void testUserTerminalContextsAfterRemoveTerminalContext() {
+        final UserFilteredTerminalServerContext context = UserFilteredTerminalServerContext.with(
+            (u) -> true,
+            TerminalServerContexts.basic(TerminalIds.sequence(1))
+        );
+
+        final TerminalContext terminalContext1 = context.addTerminalContext(userTerminalContext(USER));
+        final TerminalContext terminalContext2 = context.addTerminalContext(userTerminalContext(USER));
+
+        context.removeTerminalContext(terminalContext1.terminalId());
+
+        this.userTerminalContextsAndCheck(
+            context,
+            USER,
+            terminalContext2
+        );
+    }
+
+    @Test
+    public void testUserTerminalContextsAfterWrappedRemove() {
+        final TerminalServerContext wrapped = TerminalServerContexts.basic(TerminalIds.sequence(1));
+        final UserFilteredTerminalServerContext context = UserFilteredTerminalServerContext.with(
+            (u) -> true,
+            wrapped
+        );
+
+        final TerminalContext terminalContext1 = context.addTerminalContext(userTerminalContext(USER));
+        final TerminalContext terminalContext2 = context.addTerminalContext(userTerminalContext(USER));
+
+        wrapped.removeTerminalContext(terminalContext2.terminalId());
+
+        this.userTerminalContextsAndCheck(
+            context,
+            USER,
+            terminalContext1
+        );
+    }
+
+    @Test
+    public void testUserTerminalContextsAddedByAnotherWrapper() {
+        final TerminalServerContext wrapped = TerminalServerContexts.basic(TerminalIds.sequence(1));
+
+        final TerminalContext terminalContext = UserFilteredTerminalServerContext.with(
+            (u) -> true,
+            wrapped
+        ).addTerminalContext(userTerminalContext(USER));
+
+        // wrappers are typically created per request
+        this.userTerminalContextsAndCheck(
+            UserFilteredTerminalServerContext.with(
+                (u) -> true,
+                wrapped
+            ),
+            USER,
+            terminalContext
+        );
+    }
+
+    @Test
+    public void testUserTerminalContextsAfterUserChange() {
+        final AtomicReference<Optional<EmailAddress>> user = new AtomicReference<>(USER);
+
+        final UserFilteredTerminalServerContext context = UserFilteredTerminalServerContext.with(
+            (u) -> true,
+            TerminalServerContexts.basic(TerminalIds.sequence(1))
+        );
+
+        final TerminalContext terminalContext = context.addTerminalContext(
+            (terminalId) -> new FakeTerminalContext() {
+
+                @Override
+                public TerminalId terminalId() {
+                    return terminalId;
+                }
+
+                @Override
+                public Optional<EmailAddress> user() {
+                    return user.get();
+                }
+            }
+        );
+
+        user.set(DIFFERENT_USER);
+
+        this.userTerminalContextsAndCheck(
+            context,
+            USER
+        );
+        this.userTerminalContextsAndCheck(
+            context,
+            DIFFERENT_USER,
+            terminalContext
+        );
+    }
+
+    private void userTerminalContextsAndCheck(final UserFilteredTerminalServerContext context,
+                                              final Optional<EmailAddress> user,
+                                              final TerminalContext... expected) {
+        this.checkEquals(
+            Lists.of(expected),
+            context.userTerminalContexts(user)
+        );
+    }
+
+    // removeUserTerminalContexts.......................................................................................
+
+    @Test
+    public void testRemoveUserTerminalContexts() {
+        final TerminalServerContext wrapped = TerminalServerContexts.basic(TerminalIds.sequence(1));
+        final UserFilteredTerminalServerContext context = UserFilteredTerminalServerContext.with(
+            (u) -> true,
+            wrapped
+        );
+
+        final TerminalContext terminalContext1 = context.addTerminalContext(userTerminalContext(USER));
+        final TerminalContext terminalContext2 = context.addTerminalContext(userTerminalContext(DIFFERENT_USER));
+        final TerminalContext terminalContext3 = context.addTerminalContext(userTerminalContext(USER));
+
+        context.removeUserTerminalContexts(USER);
+
+        this.checkEquals(
+            Optional.empty(),
+            wrapped.terminalContext(terminalContext1.terminalId()),
+            "removed"
+        );
+        this.checkEquals(
+            Optional.of(terminalContext2),
+            wrapped.terminalContext(terminalContext2.terminalId()),
+            "different user"
+        );
+        this.checkEquals(
+            Optional.empty(),
+            wrapped.terminalContext(terminalContext3.terminalId()),
+            "removed"
+        );
+
+        this.userTerminalContextsAndCheck(
+            context,
+            USER
+        );
+        this.userTerminalContextsAndCheck(
+            context,
+            DIFFERENT_USER,
+            terminalContext2
+        );
+    }
+
+    private static Function<TerminalId, TerminalContext> userTerminalContext(final Optional<EmailAddress> user) {
+        return (terminalId) -> new FakeTerminalContext() {
+
+            @Override
+            public TerminalId terminalId() {
+                return terminalId;
+            }
+
+            @Override
+            public Optional<EmailAddress> user() {
+                return user;
+            }
+        };
+    }
+
     private final static String TO_STRING = "ToString123";
 
     @Override